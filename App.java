@@ -7,7 +7,13 @@
  * - LE 5.2: Hangman Game
  * - LE 5.3: Password Encryption Programm
 */
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -32,6 +38,24 @@ public class App extends Application {
     /** The fixed window width for the application. */
     public static final int WIDTH_WINDOW = 600;
 
+    /** File holding the views' saved state between launches. */
+    private static final Path SESSION_FILE = Paths.get(System.getProperty("user.home"), ".le5-session.bin");
+
+    /** Session slots, one per view. */
+    private static final int SLOT_LE51 = 0, SLOT_LE52 = 1, SLOT_LE53 = 2, SLOTS = 3;
+
+    /** Journal of every move, guess and encryption, so a crash loses at most the last second of play. */
+    private static final Path JOURNAL_DIR = Paths.get(System.getProperty("user.home"), ".le5-journal");
+
+    /** Views held strongly at once; the least recently used one beyond this is only softly reachable. */
+    private static final int LIVE_VIEWS = 2;
+
+    /** One view per exercise, built once and kept (with its game) across navigation. */
+    private ViewCache<VBox> views;
+
+    /** Open journal the views record into (null if it could not be opened). */
+    private GameJournal journal;
+
     /**
      * Main entry point of the program. Launches the JavaFX application.
      *
@@ -49,6 +73,35 @@ public class App extends Application {
      */
     @Override
     public void start(Stage stage) {
+        byte[][] saved = GameSnapshot.readSession(SESSION_FILE, SLOTS);
+        boolean recovered = false;
+        try {
+            // Events after each view's last checkpoint are newer than the session file if the last run crashed
+            saved = GameJournal.recover(JOURNAL_DIR, saved, App::newView);
+            recovered = true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not replay game journal: " + e.getMessage());
+        }
+        try {
+            journal = GameJournal.open(JOURNAL_DIR, 1 << 20, 32, 1000);
+        } catch (IOException e) {
+            System.err.println("Game journal unavailable: " + e.getMessage());
+        }
+        if (journal != null && recovered) {
+            try {
+                journal.compact(saved); // the next launch replays only what this run writes
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not compact game journal: " + e.getMessage());
+            }
+        }
+        views = new ViewCache<>(LIVE_VIEWS, 1 + GameSnapshot.MAX_RECORD, List.of(
+                () -> new LE51View(journal, SLOT_LE51),
+                () -> new LE52View(journal, SLOT_LE52),
+                () -> new LE53View(journal, SLOT_LE53)));
+        for (int slot = 0; slot < SLOTS; slot++) {
+            views.restore(slot, saved[slot]);
+        }
+
         // Stage settings
         stage.setTitle("Lab Exercises 5 || Arrays ");
         stage.setWidth(WIDTH_WINDOW);
@@ -93,9 +146,9 @@ public class App extends Application {
         ButtonStyler.styleExitButton(btn4);
 
         // Navigation actions
-        btn1.setOnAction(e -> root.setCenter(new LE51View().getContent()));
-        btn2.setOnAction(e -> root.setCenter(new LE52View().getContent()));
-        btn3.setOnAction(e -> root.setCenter(new LE53View().getContent()));
+        btn1.setOnAction(e -> root.setCenter(views.get(SLOT_LE51)));
+        btn2.setOnAction(e -> root.setCenter(views.get(SLOT_LE52)));
+        btn3.setOnAction(e -> root.setCenter(views.get(SLOT_LE53)));
         btn4.setOnAction(e -> stage.close());
 
         bottomBox.getChildren().addAll(btn1, btn2, btn3, btn4);
@@ -103,5 +156,49 @@ public class App extends Application {
 
         stage.setScene(scene);
         stage.show();
+
+        // Build views in the background once the window is up, one per event-queue turn so input is never held up
+        Platform.runLater(this::preloadNext);
+    }
+
+    /** A view with no journal, used to replay journal events for a slot. */
+    private static GameJournal.Recoverable newView(int slot) {
+        switch (slot) {
+            case SLOT_LE51: return new LE51View();
+            case SLOT_LE52: return new LE52View();
+            default: return new LE53View();
+        }
+    }
+
+    /** Builds one more view if there is room and queues the next. */
+    private void preloadNext() {
+        if (views.preload()) {
+            Platform.runLater(this::preloadNext);
+        }
+    }
+
+    /**
+     * Saves the state of every view (live, freed or not yet opened) to the session file,
+     * and compacts the journal down to a checkpoint of the same states, so both agree on the next launch.
+     */
+    @Override
+    public void stop() {
+        if (!LE53View.awaitPendingHash(2_000)) {
+            System.err.println("PIN hash not saved; it will be recomputed on the next launch");
+        }
+        byte[][] records = views.snapshots();
+        try {
+            GameSnapshot.writeSession(SESSION_FILE, records);
+        } catch (IOException e) {
+            System.err.println("Could not save session: " + e.getMessage());
+        }
+        if (journal != null) {
+            try {
+                journal.compact(records);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not compact game journal: " + e.getMessage());
+            }
+            journal.close();
+        }
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Class: AttemptLimiter
+ * -> This class limits failed PIN attempts per key (an account or session ID) with exponential backoff and lockout.
+ *    Failures are counted in a sliding window made of time buckets, each bucket one AtomicLongArray cell updated by CAS.
+ *    Entries live in a ConcurrentHashMap, so checks take no lock, and idle entries are removed by a background
+ *    evictor that never blocks callers.
+ *
+ * Exclusive Functions:
+ * AttemptLimiter() - Creates a limiter: freeFailures failures cost nothing, each further failure doubles the delay
+ *                    from baseDelayMillis, and lockoutFailures failures within the window lock the key for lockoutMillis.
+ * @param - int freeFailures, int lockoutFailures, long windowMillis, long baseDelayMillis, long lockoutMillis, @return - none
+ *
+ * acquire() - Returns 0 if the key may attempt now, otherwise the milliseconds until it may.
+ * @param - String key, @return - long
+ *
+ * recordFailure() - Counts a failed attempt and returns the resulting wait in milliseconds (0 if none).
+ * @param - String key, @return - long
+ *
+ * recordSuccess() - Clears the key's failures.
+ * @param - String key, @return - void
+ *
+ * getFailures() - Failures counted in the current window for the key.
+ * @param - String key, @return - int
+ *
+ * evictExpired() - Removes entries with no failures in the window and no wait pending; returns how many were removed.
+ * @param - none, @return - int
+ *
+ * startEvictor() / shutdown() - Runs evictExpired() periodically on a daemon thread / stops it.
+ * @param - long periodMillis / none, @return - void
+ *
+ * size() / getChecks() / getDenied() / getFailuresRecorded() - Live entries and totals (LongAdder counters).
+ * @param - none, @return - int / long / long / long
+ *
+ * Notes:
+ * - The window is split into BUCKETS buckets; a bucket cell packs [bucket number:48][count:16], and a failure that
+ *   lands in a cell holding an older bucket number starts it over. Failures older than the window drop out
+ *   without any sweeping.
+ * - Delay after f failures in the window: 0 while f < freeFailures, then baseDelay * 2^(f - freeFailures) capped at
+ *   lockoutMillis, and a full lockout once f >= lockoutFailures.
+ * - An entry is retired by CAS on its last-failure time before it is removed, so a failure recorded at the same
+ *   moment either keeps the entry alive or goes to a fresh entry; it is never lost.
+ */
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class AttemptLimiter {
+
+	/** Buckets per window. */
+	public static final int BUCKETS = 8;
+
+	private static final long RETIRED = Long.MIN_VALUE;
+	private static final long COUNT_MASK = 0xFFFF;
+	private static final long BUCKET_MASK = 0xFFFF_FFFF_FFFFL; // bucket numbers are kept mod 2^48
+
+	private final ConcurrentHashMap<String, Failures> entries = new ConcurrentHashMap<>();
+	private final int freeFailures;
+	private final int lockoutFailures;
+	private final long bucketNanos;
+	private final long baseDelayNanos;
+	private final long lockoutNanos;
+	private final LongSupplier clock;
+	private final LongAdder checks = new LongAdder();
+	private final LongAdder denied = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private ScheduledExecutorService evictor;
+
+	public AttemptLimiter(int freeFailures, int lockoutFailures, long windowMillis, long baseDelayMillis, long lockoutMillis) {
+		this(freeFailures, lockoutFailures, windowMillis, baseDelayMillis, lockoutMillis, System::nanoTime);
+	}
+
+	/** Same, with the nanosecond clock supplied (for tests). */
+	AttemptLimiter(int freeFailures, int lockoutFailures, long windowMillis, long baseDelayMillis, long lockoutMillis, LongSupplier clock) {
+		if (freeFailures < 0 || lockoutFailures <= freeFailures) {
+			throw new IllegalArgumentException("Need 0 <= freeFailures < lockoutFailures");
+		}
+		if (windowMillis < BUCKETS || baseDelayMillis < 0 || lockoutMillis < baseDelayMillis) {
+			throw new IllegalArgumentException("Invalid window or delays");
+		}
+		this.freeFailures = freeFailures;
+		this.lockoutFailures = Math.min(lockoutFailures, (int) COUNT_MASK);
+		this.bucketNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis) / BUCKETS;
+		this.baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(baseDelayMillis);
+		this.lockoutNanos = TimeUnit.MILLISECONDS.toNanos(lockoutMillis);
+		this.clock = clock;
+	}
+
+	/** Returns 0 if the key may attempt now, otherwise the milliseconds to wait. */
+	public long acquire(String key) {
+		checks.increment();
+		Failures entry = entries.get(key);
+		if (entry == null) return 0;
+		long wait = entry.blockedUntil.get() - clock.getAsLong();
+		if (wait <= 0) return 0;
+		denied.increment();
+		return toMillisRoundedUp(wait);
+	}
+
+	/** Counts a failure; returns the wait it imposes in milliseconds. */
+	public long recordFailure(String key) {
+		failures.increment();
+		long now = clock.getAsLong();
+		while (true) {
+			Failures entry = entries.computeIfAbsent(key, k -> new Failures(now));
+			if (!entry.touch(now)) { // retired by the evictor; replace it with a fresh entry
+				entries.remove(key, entry);
+				continue;
+			}
+
+			long bucket = Math.floorDiv(now, bucketNanos);
+			int cell = (int) Math.floorMod(bucket, (long) BUCKETS);
+			while (true) {
+				long packed = entry.buckets.get(cell);
+				long count = (packed >>> 16) == (bucket & BUCKET_MASK) ? packed & COUNT_MASK : 0;
+				long next = (bucket << 16) | Math.min(count + 1, COUNT_MASK);
+				if (entry.buckets.compareAndSet(cell, packed, next)) break;
+			}
+
+			long delay = delayFor(entry.count(bucket));
+			if (delay > 0) {
+				long until = now + delay;
+				entry.blockedUntil.accumulateAndGet(until, (a, b) -> b - a > 0 ? b : a);
+			}
+			return toMillisRoundedUp(delay);
+		}
+	}
+
+	/** Clears the key's failures after a successful attempt. */
+	public void recordSuccess(String key) {
+		entries.remove(key);
+	}
+
+	/** Failures counted in the window for the key. */
+	public int getFailures(String key) {
+		Failures entry = entries.get(key);
+		return entry == null ? 0 : entry.count(Math.floorDiv(clock.getAsLong(), bucketNanos));
+	}
+
+	/** Removes entries with nothing left to enforce; returns how many. */
+	public int evictExpired() {
+		long now = clock.getAsLong();
+		long windowNanos = bucketNanos * BUCKETS;
+		int evicted = 0;
+		for (Map.Entry<String, Failures> e : entries.entrySet()) {
+			Failures entry = e.getValue();
+			long last = entry.lastFailure.get();
+			if (last == RETIRED || now - last < windowNanos || entry.blockedUntil.get() - now > 0) continue;
+			if (entry.lastFailure.compareAndSet(last, RETIRED)) {
+				entries.remove(e.getKey(), entry);
+				evicted++;
+			}
+		}
+		return evicted;
+	}
+
+	/** Starts a daemon thread that calls evictExpired() every period. */
+	public synchronized void startEvictor(long periodMillis) {
+		if (evictor != null) return;
+		evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "attempt-evictor");
+			t.setDaemon(true);
+			return t;
+		});
+		evictor.scheduleAtFixedRate(this::evictExpired, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/** Stops the background evictor. */
+	public synchronized void shutdown() {
+		if (evictor != null) {
+			evictor.shutdownNow();
+			evictor = null;
+		}
+	}
+
+	public int size() { return entries.size(); }
+	public long getChecks() { return checks.sum(); }
+	public long getDenied() { return denied.sum(); }
+	public long getFailuresRecorded() { return failures.sum(); }
+
+	private long delayFor(int failuresInWindow) {
+		if (failuresInWindow >= lockoutFailures) return lockoutNanos;
+		if (failuresInWindow < freeFailures) return 0;
+		int doublings = failuresInWindow - freeFailures;
+		if (doublings >= 62 || baseDelayNanos > lockoutNanos >> doublings) return lockoutNanos;
+		return baseDelayNanos << doublings;
+	}
+
+	private static long toMillisRoundedUp(long nanos) {
+		return nanos <= 0 ? 0 : (nanos + 999_999) / 1_000_000;
+	}
+
+	/** Failure buckets and backoff state for one key. */
+	private static final class Failures {
+
+		final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		final AtomicLong blockedUntil;
+		final AtomicLong lastFailure;
+
+		Failures(long now) {
+			blockedUntil = new AtomicLong(now);
+			lastFailure = new AtomicLong(now);
+		}
+
+		/** Sets the last failure time; false if the entry was retired. */
+		boolean touch(long now) {
+			while (true) {
+				long last = lastFailure.get();
+				if (last == RETIRED) return false;
+				if (lastFailure.compareAndSet(last, now - last > 0 ? now : last)) return true;
+			}
+		}
+
+		/** Sum of the buckets that are still inside the window ending at bucket. */
+		int count(long bucket) {
+			int total = 0;
+			for (int cell = 0; cell < BUCKETS; cell++) {
+				long packed = buckets.get(cell);
+				long age = (bucket - (packed >>> 16)) & BUCKET_MASK;
+				if (packed != 0 && age < BUCKETS) total += (int) (packed & COUNT_MASK);
+			}
+			return total;
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Class: AttemptLimiterTest
+ * -> This class contains JUnit 5 tests for AttemptLimiter.
+ *    A fake clock drives the windows and delays, so the tests are exact and do not sleep.
+ *
+ * Exclusive Functions:
+ * testBackoffDoublesThenLocksOut() - Free failures cost nothing, then the delay doubles, then the key is locked out.
+ * @param - none, @return - void
+ *
+ * testWindowForgetsOldFailures() - Failures older than the window no longer count.
+ * @param - none, @return - void
+ *
+ * testSuccessClearsAndKeysAreIndependent() - A success resets its key only.
+ * @param - none, @return - void
+ *
+ * testEvictExpired() - Idle entries are removed, locked-out and recent entries are kept.
+ * @param - none, @return - void
+ *
+ * testConcurrentFailuresAllCounted() - Failures from several threads on one key are all counted.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class AttemptLimiterTest {
+
+	private static final long MS = 1_000_000;
+
+	private final AtomicLong now = new AtomicLong(-5_000 * MS); // nanoTime may be negative
+	private final AttemptLimiter limiter = new AttemptLimiter(3, 8, 80_000, 1_000, 60_000, now::get);
+
+	@Test
+	void testBackoffDoublesThenLocksOut() {
+		String key = "account-1";
+		assertEquals(0, limiter.acquire(key));
+		assertEquals(0, limiter.recordFailure(key));
+		assertEquals(0, limiter.recordFailure(key));
+		assertEquals(1_000, limiter.recordFailure(key));
+		assertEquals(1_000, limiter.acquire(key));
+		assertEquals(2_000, limiter.recordFailure(key));
+		assertEquals(4_000, limiter.recordFailure(key));
+		assertEquals(8_000, limiter.recordFailure(key));
+		assertEquals(16_000, limiter.recordFailure(key));
+		assertEquals(60_000, limiter.recordFailure(key)); // 8th failure: lockout
+		assertEquals(8, limiter.getFailures(key));
+
+		now.addAndGet(59_999 * MS);
+		assertEquals(1, limiter.acquire(key));
+		now.addAndGet(MS);
+		assertEquals(0, limiter.acquire(key));
+		assertEquals(2, limiter.getDenied());
+	}
+
+	@Test
+	void testWindowForgetsOldFailures() {
+		String key = "s";
+		for (int i = 0; i < 3; i++) limiter.recordFailure(key);
+		assertEquals(3, limiter.getFailures(key));
+		now.addAndGet(50_000 * MS);
+		limiter.recordFailure(key);
+		assertEquals(4, limiter.getFailures(key));
+		now.addAndGet(40_000 * MS); // the first three are now outside the 80 s window
+		assertEquals(1, limiter.getFailures(key));
+		assertEquals(0, limiter.recordFailure(key));
+	}
+
+	@Test
+	void testSuccessClearsAndKeysAreIndependent() {
+		for (int i = 0; i < 5; i++) {
+			limiter.recordFailure("a");
+			limiter.recordFailure("b");
+		}
+		limiter.recordSuccess("a");
+		assertEquals(0, limiter.getFailures("a"));
+		assertEquals(0, limiter.acquire("a"));
+		assertEquals(5, limiter.getFailures("b"));
+		assertTrue(limiter.acquire("b") > 0);
+		assertEquals(0, limiter.acquire("c"));
+	}
+
+	@Test
+	void testEvictExpired() {
+		AttemptLimiter limiter = new AttemptLimiter(3, 8, 80_000, 1_000, 200_000, now::get);
+		limiter.recordFailure("idle");
+		for (int i = 0; i < 8; i++) limiter.recordFailure("locked");
+		now.addAndGet(30_000 * MS);
+		limiter.recordFailure("recent");
+		now.addAndGet(55_000 * MS);
+		assertEquals(1, limiter.evictExpired()); // "idle" only
+		assertEquals(2, limiter.size());
+		assertEquals(1, limiter.getFailures("recent"));
+		now.addAndGet(100_000 * MS);
+		assertEquals(1, limiter.evictExpired()); // "recent"; "locked" is still locked out
+		now.addAndGet(100_000 * MS);
+		assertEquals(1, limiter.evictExpired());
+		assertEquals(0, limiter.size());
+		limiter.recordFailure("idle");
+		assertEquals(1, limiter.getFailures("idle"));
+	}
+
+	@Test
+	void testConcurrentFailuresAllCounted() throws InterruptedException {
+		AttemptLimiter wide = new AttemptLimiter(1000, 60_000, 80_000, 1, 60_000, now::get);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 5_000; i++) {
+					wide.acquire("shared");
+					wide.recordFailure("shared");
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) thread.join();
+		assertEquals(20_000, wide.getFailures("shared"));
+		assertEquals(20_000, wide.getFailuresRecorded());
+		assertEquals(20_000, wide.getChecks());
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Class: EvilHangman
+ * -> This class is an adversarial Hangman that never commits to a word.
+ *    It keeps every dictionary word that fits the guesses so far. On each new letter it splits those
+ *    candidates into families by where the letter appears (a packed position mask, 0 when absent) and
+ *    keeps the largest family, so the player is told "not in the word" whenever that is the biggest group.
+ *
+ * Exclusive Functions:
+ * EvilHangman() - Constructors matching Hangman's; the game plays from the built-in list or the given dictionary.
+ * @param - none / WordDictionary dictionary / WordDictionary dictionary, RandomSource random, @return - none
+ *
+ * guessLetter() - Narrows the candidates to the largest family for the letter, then applies the guess as Hangman does.
+ * @param - char c, @return - String
+ *
+ * getCandidateCount() - Returns how many words are still possible.
+ * @param - none, @return - int
+ *
+ * restoreGame() - Restores a saved game and rebuilds the candidates that match its guesses.
+ * @param - int i, int guessedMask, @return - void
+ *
+ * Notes:
+ * - The split is one pass over the candidates: each word's position mask is computed once, counted in a
+ *   primitive open-addressing table (long keys, int counts) and kept in a scratch array for the compaction.
+ *   No String keys are built.
+ * - Ties prefer the "absent" family, then the family revealing fewer positions.
+ * - The current secret word is always a member of the kept family, so getWord(), getDisplayWord(),
+ *   isWordComplete() and getMisses() behave exactly like Hangman's, and LE52View drives it through the same API.
+ * - A game started from a word outside the dictionary (startNewGame(String)) plays as plain Hangman.
+ */
+import java.util.Arrays;
+
+public class EvilHangman extends Hangman {
+
+	private int[] candidates = new int[0];
+	private int candidateCount;
+	private long[] familyOf = new long[0]; // position mask of each candidate for the current letter
+	private long[] tableKeys = new long[0]; // key + 1, 0 = empty slot
+	private int[] tableCounts = new int[0];
+
+	public EvilHangman() {
+		super();
+	}
+
+	public EvilHangman(WordDictionary dictionary) {
+		super(dictionary);
+	}
+
+	public EvilHangman(WordDictionary dictionary, RandomSource random) {
+		super(dictionary, random);
+	}
+
+	@Override
+	public String guessLetter(char c) {
+		int l = Character.toLowerCase(c) - 'a';
+		if (l >= 0 && l < 26 && getWordIndex() >= 0 && (getGuessedMask() & (1 << l)) == 0) {
+			if (getGuessedMask() == 0) loadCandidates();
+			keepLargestFamily(l);
+		}
+		return super.guessLetter(c);
+	}
+
+	public int getCandidateCount() {
+		return (getGuessedMask() == 0) ? countOfLength() : candidateCount;
+	}
+
+	private int countOfLength() {
+		int length = getWord().length();
+		return getDictionary().endOfLength(length) - getDictionary().firstOfLength(length);
+	}
+
+	/** Starts the candidates as every word with the current word's length. */
+	private void loadCandidates() {
+		WordDictionary dictionary = getDictionary();
+		int length = getWord().length();
+		int first = dictionary.firstOfLength(length);
+		candidateCount = dictionary.endOfLength(length) - first;
+		if (candidates.length < candidateCount) {
+			candidates = new int[candidateCount];
+			familyOf = new long[candidateCount];
+		}
+		for (int k = 0; k < candidateCount; k++) candidates[k] = first + k;
+	}
+
+	/** Splits the candidates by where letter l appears and keeps the largest family. */
+	private void keepLargestFamily(int l) {
+		WordDictionary dictionary = getDictionary();
+		int length = getWord().length();
+		prepareTable(Math.min(candidateCount, length >= 20 ? Integer.MAX_VALUE : 1 << length));
+		int mask = tableKeys.length - 1;
+
+		long bestKey = 0;
+		int bestCount = -1;
+		for (int k = 0; k < candidateCount; k++) {
+			int i = candidates[k];
+			long key = positionsOf(dictionary, i, l, length);
+			familyOf[k] = key;
+
+			int slot = (int) (mix(key) & mask);
+			while (tableKeys[slot] != 0 && tableKeys[slot] != key + 1) slot = (slot + 1) & mask;
+			tableKeys[slot] = key + 1;
+			int count = ++tableCounts[slot];
+			if (count > bestCount || (count == bestCount && better(key, bestKey))) {
+				bestKey = key;
+				bestCount = count;
+			}
+		}
+
+		int kept = 0;
+		boolean wordKept = false;
+		for (int k = 0; k < candidateCount; k++) {
+			if (familyOf[k] == bestKey) {
+				wordKept |= candidates[k] == getWordIndex();
+				candidates[kept++] = candidates[k];
+			}
+		}
+		candidateCount = kept;
+		if (kept > 0 && !wordKept) switchWord(candidates[0]);
+	}
+
+	/** Restores the game, then rebuilds the candidates as every word matching the restored guesses. */
+	@Override
+	public void restoreGame(int i, int guessedMask) {
+		super.restoreGame(i, guessedMask);
+		if (getGuessedMask() == 0) return;
+		loadCandidates();
+		WordDictionary dictionary = getDictionary();
+		int length = getWord().length();
+		int kept = 0;
+		for (int k = 0; k < candidateCount; k++) {
+			boolean fits = true;
+			for (int m = getGuessedMask(); m != 0 && fits; m &= m - 1) {
+				int l = Integer.numberOfTrailingZeros(m);
+				fits = positionsOf(dictionary, candidates[k], l, length) == positionsOf(dictionary, i, l, length);
+			}
+			if (fits) candidates[kept++] = candidates[k];
+		}
+		candidateCount = kept;
+	}
+
+	/** Returns the positions of letter l in word i as a bit mask. */
+	private static long positionsOf(WordDictionary dictionary, int i, int l, int length) {
+		long key = 0;
+		if ((dictionary.letterMask(i) & (1 << l)) != 0) {
+			char c = (char) ('a' + l);
+			for (int p = 0; p < length; p++) {
+				if (dictionary.charAt(i, p) == c) key |= 1L << p;
+			}
+		}
+		return key;
+	}
+
+	/** Tie-break: the absent family first, then the one revealing fewer positions. */
+	private static boolean better(long key, long current) {
+		if (current == 0) return false;
+		if (key == 0) return true;
+		return Long.bitCount(key) < Long.bitCount(current);
+	}
+
+	/** Clears (and grows if needed) the family table for up to n distinct keys. */
+	private void prepareTable(int n) {
+		int size = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;
+		if (tableKeys.length < size) {
+			tableKeys = new long[size];
+			tableCounts = new int[size];
+		} else {
+			Arrays.fill(tableKeys, 0L);
+			Arrays.fill(tableCounts, 0);
+		}
+	}
+
+	private static long mix(long key) {
+		key *= 0x9E3779B97F4A7C15L;
+		return key ^ (key >>> 29);
+	}
+
+}
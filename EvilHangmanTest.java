@@ -0,0 +1,100 @@
+/*
+ * Class: EvilHangmanTest
+ * -> This class contains JUnit 5 tests for EvilHangman.
+ *    It checks each family choice against a brute-force split over the same candidates, and checks that
+ *    the game stays consistent with Hangman's API (display, misses and completion match the final word).
+ *
+ * Exclusive Functions:
+ * testKeepsLargestFamily() - After every guess the candidate count equals the largest family found by brute force.
+ * @param - none, @return - void
+ *
+ * testPrefersMiss() - With the dictionary {"aa", "ab", "bb", "cc", "dc"}, guessing 'a' is a miss and keeps three words.
+ * @param - none, @return - void
+ *
+ * testGameStaysConsistent() - Display, misses and completion always agree with getWord(), through to the end of the game.
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Brute force groups candidate Strings by their position pattern in a HashMap, the approach EvilHangman avoids.
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EvilHangmanTest {
+
+	private WordDictionary dictionary;
+
+	@BeforeEach
+	void setUp() {
+		Random rand = new Random(11);
+		String[] words = new String[3000];
+		for (int i = 0; i < words.length; i++) {
+			char[] w = new char[4 + rand.nextInt(3)];
+			for (int p = 0; p < w.length; p++) w[p] = (char) ('a' + rand.nextInt(8));
+			words[i] = new String(w);
+		}
+		dictionary = WordDictionary.of(words);
+	}
+
+	@Test
+	void testKeepsLargestFamily() {
+		EvilHangman game = new EvilHangman(dictionary);
+		game.startNewGame(5);
+		List<String> remaining = new ArrayList<>();
+		for (int i = dictionary.firstOfLength(5); i < dictionary.endOfLength(5); i++) remaining.add(dictionary.wordAt(i));
+
+		for (char c : "eabhcgdf".toCharArray()) {
+			Map<String, List<String>> families = new HashMap<>();
+			for (String word : remaining) {
+				StringBuilder key = new StringBuilder();
+				for (int p = 0; p < word.length(); p++) key.append(word.charAt(p) == c ? c : '-');
+				families.computeIfAbsent(key.toString(), k -> new ArrayList<>()).add(word);
+			}
+			int largest = families.values().stream().mapToInt(List::size).max().getAsInt();
+
+			game.guessLetter(c);
+			assertEquals(largest, game.getCandidateCount());
+			remaining = families.values().stream().filter(f -> f.contains(game.getWord())).findFirst().get();
+			assertEquals(largest, remaining.size());
+		}
+	}
+
+	@Test
+	void testPrefersMiss() {
+		EvilHangman game = new EvilHangman(WordDictionary.of("aa", "ab", "bb", "cc", "dc"));
+		game.startNewGame(2);
+		assertEquals("a is not in the word.", game.guessLetter('a'));
+		assertEquals(3, game.getCandidateCount());
+		assertEquals(1, game.getMisses());
+		assertEquals(-1, game.getWord().indexOf('a'));
+	}
+
+	@Test
+	void testGameStaysConsistent() {
+		EvilHangman game = new EvilHangman(dictionary);
+		for (int round = 0; round < 20; round++) {
+			game.startNewGame();
+			int misses = 0;
+			for (char c = 'a'; c <= 'h' && !game.isWordComplete(); c++) {
+				String result = game.guessLetter(c);
+				if (game.getWord().indexOf(c) < 0) misses++;
+				assertEquals(misses, game.getMisses());
+				assertEquals(result.equals("Good guess!"), game.getWord().indexOf(c) >= 0);
+				for (int p = 0; p < game.getWord().length(); p++) {
+					char shown = game.getDisplayWord().charAt(p);
+					assertTrue(shown == '*' || shown == game.getWord().charAt(p));
+				}
+				assertTrue(game.getCandidateCount() > 0);
+			}
+			assertTrue(game.isWordComplete());
+			assertEquals(game.getWord(), game.getDisplayWord());
+		}
+	}
+
+}
@@ -0,0 +1,551 @@
+/*
+ * Class: GameJournal
+ * -> This class is an append-only binary event journal that makes game sessions crash-safe.
+ *    Every TicTacToe move, Hangman guess and Password encryption is written as a few bytes into a
+ *    memory-mapped segment file. Writes are forced to disk in groups (every batchSize events or every flush
+ *    interval), and after a crash the sessions are rebuilt by replaying the segments in order.
+ *
+ * Exclusive Functions:
+ * open() - Opens (or creates) a journal directory, positioning after the last complete record.
+ * @param - Path dir, int segmentSize, int batchSize, long flushIntervalMillis, @return - GameJournal
+ *
+ * newGame() - Resets a TicTacToe game and records its board size and win length.
+ * @param - int session, TicTacToe game, @return - void
+ *
+ * addMove() - Applies TicTacToe.addMove and records the move if it was accepted.
+ * @param - int session, TicTacToe game, int row, int col, @return - boolean
+ *
+ * undo() / redo() - Applies TicTacToe.undo / redo and records it if there was a move to take back or replay.
+ * @param - int session, TicTacToe game, @return - int
+ *
+ * newGame() - Starts a new Hangman game and records its word.
+ * @param - int session, Hangman game, @return - void
+ *
+ * guessLetter() - Applies Hangman.guessLetter and records the letter.
+ * @param - int session, Hangman game, char c, @return - String
+ *
+ * encrypt() - Creates a Password for the PIN and records the encrypted PIN (never the true PIN).
+ * @param - int session, int pin, @return - Password
+ *
+ * checkpoint() - Records a full saved state of a session (e.g. an LE5x view's saveState()); later events apply on top of it.
+ * @param - int session, byte[] state, @return - void
+ *
+ * compact() - Starts a new segment holding a checkpoint of every session, then deletes the older segments.
+ * @param - byte[][] states, @return - void
+ *
+ * sync() - Forces all appended records to disk now.
+ * @param - none, @return - void
+ *
+ * close() - Stops the flusher and syncs the remaining records.
+ * @param - none, @return - void
+ *
+ * replay() - Reads every record in the journal directory in order and passes it to the listener.
+ * @param - Path dir, Listener listener, @return - void
+ *
+ * restoreSessions() - Rebuilds the TicTacToe and Hangman sessions whose games were started in the journal.
+ * @param - Path dir, @return - Map<Integer, Object>
+ *
+ * recover() - For sessions 0..saved.length-1, returns the latest state: the last checkpoint (or the saved state)
+ *             with the events recorded after it applied to a Recoverable from the factory.
+ * @param - Path dir, byte[][] saved, IntFunction<? extends Recoverable> factory, @return - byte[][]
+ *
+ * Notes:
+ * - Record layout: [type:1][session:4][payload]. Payloads: TicTacToe new = size:1, winLength:1;
+ *   move = cell:2; undo / redo = none; Hangman new = length:1 (unsigned), ASCII word; guess = letter:2 (UTF-16);
+ *   encryption = encrypted PIN:4; checkpoint = length:2, state bytes (at most MAX_STATE).
+ * - Hangman words must be 1-255 ASCII characters; any other word is not journaled and newGame() throws
+ *   IllegalArgumentException. Guesses are stored at full width, so letters outside a-z replay too.
+ * - New segment files are zero-filled, so a 0 type byte marks the end of the data. The type byte is
+ *   written last, so a half-written record is never replayed.
+ * - Session IDs are ints to keep records small; callers map their own IDs onto them.
+ * - restoreSessions() only knows games started by newGame(). A checkpoint holds a caller's own state (the LE5x
+ *   views start every session with one), so it ends the session's game there; events for a session with no game,
+ *   or with a game of the other type, are skipped. Use recover() to rebuild sessions that checkpoint.
+ * - compact() bounds the journal: once every session's state is checkpointed (App does this after recover() at
+ *   launch and again in stop()), the segments before it are deleted, so replay reads only what was written since.
+ *   The new segment is forced before anything is deleted, and a segment that cannot be deleted (e.g. still mapped
+ *   on Windows) is only replayed again under the newer checkpoints, so a crash at any point loses nothing.
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class GameJournal implements AutoCloseable {
+
+	/** Receives replayed records; override only the events of interest. */
+	public interface Listener {
+		default void onTicTacToeNew(int session, int size, int winLength) {}
+		default void onTicTacToeMove(int session, int cell) {}
+		default void onTicTacToeUndo(int session) {}
+		default void onTicTacToeRedo(int session) {}
+		default void onHangmanNew(int session, String word) {}
+		default void onHangmanGuess(int session, char letter) {}
+		default void onEncryption(int session, int encryptedPin) {}
+		default void onCheckpoint(int session, byte[] state) {}
+	}
+
+	/** A session that can be restored from a checkpoint, replay events, and save its state again (the LE5x views). */
+	public interface Recoverable extends Listener {
+		void restoreState(ByteBuffer in);
+		void saveState(ByteBuffer out);
+	}
+
+	public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+	private static final byte TTT_NEW = 1;
+	private static final byte TTT_MOVE = 2;
+	private static final byte HANGMAN_NEW = 3;
+	private static final byte HANGMAN_GUESS = 4;
+	private static final byte ENCRYPTION = 5;
+	private static final byte TTT_UNDO = 6;
+	private static final byte TTT_REDO = 7;
+	private static final byte CHECKPOINT = 8;
+
+	/** Largest state a checkpoint can hold. */
+	public static final int MAX_STATE = 1024;
+
+	/** Largest record: type + session + length + checkpoint state. */
+	private static final int MAX_RECORD = 1 + 4 + 2 + MAX_STATE;
+
+	private final Path dir;
+	private final int segmentSize;
+	private final int batchSize;
+	private final ScheduledExecutorService flusher;
+
+	private int segmentNumber;
+	private MappedByteBuffer segment;
+	private int pending; // records appended since the last force
+
+	private GameJournal(Path dir, int segmentSize, int batchSize, long flushIntervalMillis) throws IOException {
+		this.dir = dir;
+		this.segmentSize = segmentSize;
+		this.batchSize = batchSize;
+
+		List<Path> existing = segments(dir);
+		if (existing.isEmpty()) {
+			mapSegment(0);
+		} else {
+			Path last = existing.get(existing.size() - 1);
+			mapSegment(segmentNumber(last));
+			segment.position(endOfData(segment));
+		}
+
+		flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "journal-flusher");
+			t.setDaemon(true);
+			return t;
+		});
+		flusher.scheduleWithFixedDelay(this::sync, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/** Opens or creates the journal in the directory. */
+	public static GameJournal open(Path dir, int segmentSize, int batchSize, long flushIntervalMillis) throws IOException {
+		Files.createDirectories(dir);
+		return new GameJournal(dir, segmentSize, batchSize, flushIntervalMillis);
+	}
+
+	/** Resets the game and records a new TicTacToe session. */
+	public void newGame(int session, TicTacToe game) {
+		game.resetGame();
+		synchronized (this) {
+			int start = reserve(7);
+			segment.put(start + 5, (byte) game.getSize());
+			segment.put(start + 6, (byte) game.getWinLength());
+			commit(start, TTT_NEW, session, 7);
+		}
+	}
+
+	/** Applies the move and records it if it was accepted. */
+	public boolean addMove(int session, TicTacToe game, int row, int col) {
+		if (!game.addMove(row, col)) return false;
+		synchronized (this) {
+			int start = reserve(7);
+			segment.putShort(start + 5, (short) (row * game.getSize() + col));
+			commit(start, TTT_MOVE, session, 7);
+		}
+		return true;
+	}
+
+	/** Takes back the last move and records it; returns the cell or -1 if there was none. */
+	public int undo(int session, TicTacToe game) {
+		int cell = game.undo();
+		if (cell >= 0) record(session, TTT_UNDO);
+		return cell;
+	}
+
+	/** Replays the last undone move and records it; returns the cell or -1 if there was none. */
+	public int redo(int session, TicTacToe game) {
+		int cell = game.redo();
+		if (cell >= 0) record(session, TTT_REDO);
+		return cell;
+	}
+
+	/** Starts a new Hangman game and records its word. */
+	public void newGame(int session, Hangman game) {
+		game.startNewGame();
+		byte[] word = asciiWord(game.getWord());
+		synchronized (this) {
+			int start = reserve(6 + word.length);
+			segment.put(start + 5, (byte) word.length);
+			for (int i = 0; i < word.length; i++) segment.put(start + 6 + i, word[i]);
+			commit(start, HANGMAN_NEW, session, 6 + word.length);
+		}
+	}
+
+	/** Applies the guess and records the letter. */
+	public String guessLetter(int session, Hangman game, char c) {
+		String result = game.guessLetter(c);
+		synchronized (this) {
+			int start = reserve(7);
+			segment.putChar(start + 5, Character.toLowerCase(c));
+			commit(start, HANGMAN_GUESS, session, 7);
+		}
+		return result;
+	}
+
+	/** Encrypts the PIN and records the encrypted PIN. */
+	public Password encrypt(int session, int pin) {
+		return recordEncryption(session, new Password(pin));
+	}
+
+	/** Records a full state of the session. */
+	public void checkpoint(int session, byte[] state) {
+		if (state.length > MAX_STATE) throw new IllegalArgumentException("State too large to journal: " + state.length);
+		synchronized (this) {
+			int start = reserve(7 + state.length);
+			segment.putShort(start + 5, (short) state.length);
+			for (int i = 0; i < state.length; i++) segment.put(start + 7 + i, state[i]);
+			commit(start, CHECKPOINT, session, 7 + state.length);
+		}
+	}
+
+	private Password recordEncryption(int session, Password password) {
+		synchronized (this) {
+			int start = reserve(9);
+			segment.putInt(start + 5, password.getEncryptedValue());
+			commit(start, ENCRYPTION, session, 9);
+		}
+		return password;
+	}
+
+	/** Records an event with no payload. */
+	private synchronized void record(int session, byte type) {
+		int start = reserve(5);
+		commit(start, type, session, 5);
+	}
+
+	/** The word as ASCII bytes; refuses words the 1-byte length or ASCII payload cannot hold. */
+	private static byte[] asciiWord(String word) {
+		if (word.isEmpty() || word.length() > 255) {
+			throw new IllegalArgumentException("Word length must be 1-255 to journal: " + word.length());
+		}
+		for (int i = 0; i < word.length(); i++) {
+			if (word.charAt(i) > 127) throw new IllegalArgumentException("Only ASCII words can be journaled: " + word);
+		}
+		return word.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/** Returns the write position for a record of the given length, rolling to a new segment if needed. */
+	private int reserve(int length) {
+		if (segment.remaining() < length + 1) { // keep a 0 byte after the last record
+			try {
+				segment.force();
+				mapSegment(segmentNumber + 1);
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot roll journal segment", e);
+			}
+		}
+		return segment.position();
+	}
+
+	/** Writes the session, then publishes the record by writing its type byte, and counts it for group commit. */
+	private void commit(int start, byte type, int session, int length) {
+		segment.putInt(start + 1, session);
+		segment.put(start, type);
+		segment.position(start + length);
+		if (++pending >= batchSize) {
+			segment.force();
+			pending = 0;
+		}
+	}
+
+	/** Checkpoints states[s] (null: no state) for sessions 0..states.length-1 in a new segment and drops the older segments. */
+	public synchronized void compact(byte[][] states) throws IOException {
+		segment.force();
+		pending = 0;
+		int first = segmentNumber + 1;
+		mapSegment(first);
+		for (int session = 0; session < states.length; session++) {
+			checkpoint(session, states[session] != null ? states[session] : new byte[0]);
+		}
+		segment.force();
+		pending = 0;
+		for (Path file : segments(dir)) {
+			if (segmentNumber(file) < first) {
+				try {
+					Files.deleteIfExists(file);
+				} catch (IOException e) {
+					// replayed again next time, under the checkpoints above
+				}
+			}
+		}
+	}
+
+	/** Forces appended records to disk. */
+	public synchronized void sync() {
+		if (pending > 0) {
+			segment.force();
+			pending = 0;
+		}
+	}
+
+	/** Syncs and stops the background flusher. */
+	@Override
+	public void close() {
+		flusher.shutdownNow();
+		sync();
+	}
+
+	/** Maps segment number n, creating a zero-filled file if it does not exist. */
+	private void mapSegment(int n) throws IOException {
+		Path file = dir.resolve(String.format("journal-%08d.seg", n));
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, MAX_RECORD + 1));
+		}
+		segmentNumber = n;
+	}
+
+	/** Replays every record in the journal directory in write order. */
+	public static void replay(Path dir, Listener listener) throws IOException {
+		for (Path file : segments(dir)) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				int end = endOfData(buf);
+				int pos = 0;
+				while (pos < end) {
+					byte type = buf.get(pos);
+					int session = buf.getInt(pos + 1);
+					switch (type) {
+						case TTT_NEW:
+							listener.onTicTacToeNew(session, buf.get(pos + 5) & 0xFF, buf.get(pos + 6) & 0xFF);
+							pos += 7;
+							break;
+						case TTT_MOVE:
+							listener.onTicTacToeMove(session, buf.getShort(pos + 5) & 0xFFFF);
+							pos += 7;
+							break;
+						case TTT_UNDO:
+							listener.onTicTacToeUndo(session);
+							pos += 5;
+							break;
+						case TTT_REDO:
+							listener.onTicTacToeRedo(session);
+							pos += 5;
+							break;
+						case HANGMAN_NEW:
+							int length = buf.get(pos + 5) & 0xFF;
+							byte[] word = new byte[length];
+							for (int i = 0; i < length; i++) word[i] = buf.get(pos + 6 + i);
+							listener.onHangmanNew(session, new String(word, StandardCharsets.US_ASCII));
+							pos += 6 + length;
+							break;
+						case HANGMAN_GUESS:
+							listener.onHangmanGuess(session, buf.getChar(pos + 5));
+							pos += 7;
+							break;
+						case ENCRYPTION:
+							listener.onEncryption(session, buf.getInt(pos + 5));
+							pos += 9;
+							break;
+						case CHECKPOINT:
+							byte[] state = new byte[buf.getShort(pos + 5) & 0xFFFF];
+							buf.get(pos + 7, state);
+							listener.onCheckpoint(session, state);
+							pos += 7 + state.length;
+							break;
+						default:
+							throw new IOException("Corrupt journal record at " + file + ":" + pos);
+					}
+				}
+			}
+		}
+	}
+
+	/** Rebuilds TicTacToe and Hangman sessions by replaying their events; sessions without a known game are left out. */
+	public static Map<Integer, Object> restoreSessions(Path dir) throws IOException {
+		Map<Integer, Object> sessions = new HashMap<>();
+		replay(dir, new Listener() {
+			private TicTacToe ticTacToe(int session) {
+				Object game = sessions.get(session);
+				return game instanceof TicTacToe ? (TicTacToe) game : null;
+			}
+
+			@Override
+			public void onTicTacToeNew(int session, int size, int winLength) {
+				sessions.put(session, new TicTacToe(size, winLength));
+			}
+
+			@Override
+			public void onTicTacToeMove(int session, int cell) {
+				TicTacToe game = ticTacToe(session);
+				if (game != null) game.addMove(cell / game.getSize(), cell % game.getSize());
+			}
+
+			@Override
+			public void onTicTacToeUndo(int session) {
+				TicTacToe game = ticTacToe(session);
+				if (game != null) game.undo();
+			}
+
+			@Override
+			public void onTicTacToeRedo(int session) {
+				TicTacToe game = ticTacToe(session);
+				if (game != null) game.redo();
+			}
+
+			@Override
+			public void onHangmanNew(int session, String word) {
+				Hangman game = new Hangman();
+				game.startNewGame(word);
+				sessions.put(session, game);
+			}
+
+			@Override
+			public void onHangmanGuess(int session, char letter) {
+				Object game = sessions.get(session);
+				if (game instanceof Hangman) ((Hangman) game).guessLetter(letter);
+			}
+
+			@Override
+			public void onCheckpoint(int session, byte[] state) {
+				sessions.remove(session); // the caller's state, not a game this method can rebuild
+			}
+		});
+		return sessions;
+	}
+
+	/** Returns each session's state with the events after its last checkpoint applied. */
+	public static byte[][] recover(Path dir, byte[][] saved, IntFunction<? extends Recoverable> factory) throws IOException {
+		byte[][] latest = Arrays.copyOf(saved, saved.length);
+		List<List<Consumer<Listener>>> events = new ArrayList<>();
+		for (int i = 0; i < saved.length; i++) events.add(new ArrayList<>());
+
+		replay(dir, new Listener() {
+			private void add(int session, Consumer<Listener> event) {
+				if (session >= 0 && session < saved.length) events.get(session).add(event);
+			}
+
+			@Override
+			public void onCheckpoint(int session, byte[] state) {
+				if (session < 0 || session >= saved.length) return;
+				latest[session] = state.length == 0 ? null : state;
+				events.get(session).clear();
+			}
+
+			@Override
+			public void onTicTacToeNew(int session, int size, int winLength) {
+				add(session, l -> l.onTicTacToeNew(session, size, winLength));
+			}
+
+			@Override
+			public void onTicTacToeMove(int session, int cell) {
+				add(session, l -> l.onTicTacToeMove(session, cell));
+			}
+
+			@Override
+			public void onTicTacToeUndo(int session) {
+				add(session, l -> l.onTicTacToeUndo(session));
+			}
+
+			@Override
+			public void onTicTacToeRedo(int session) {
+				add(session, l -> l.onTicTacToeRedo(session));
+			}
+
+			@Override
+			public void onHangmanNew(int session, String word) {
+				add(session, l -> l.onHangmanNew(session, word));
+			}
+
+			@Override
+			public void onHangmanGuess(int session, char letter) {
+				add(session, l -> l.onHangmanGuess(session, letter));
+			}
+
+			@Override
+			public void onEncryption(int session, int encryptedPin) {
+				add(session, l -> l.onEncryption(session, encryptedPin));
+			}
+		});
+
+		ByteBuffer buf = ByteBuffer.allocate(MAX_STATE);
+		for (int session = 0; session < saved.length; session++) {
+			if (events.get(session).isEmpty()) continue;
+			Recoverable target = factory.apply(session);
+			if (latest[session] != null) {
+				try {
+					target.restoreState(ByteBuffer.wrap(latest[session]));
+				} catch (RuntimeException e) {
+					target = factory.apply(session); // unreadable checkpoint: replay onto a fresh session
+				}
+			}
+			for (Consumer<Listener> event : events.get(session)) event.accept(target);
+			buf.clear();
+			target.saveState(buf);
+			latest[session] = Arrays.copyOf(buf.array(), buf.position());
+		}
+		return latest;
+	}
+
+	/** Returns the offset of the first unwritten byte: records are walked until a 0 type byte. */
+	private static int endOfData(MappedByteBuffer buf) {
+		int pos = 0;
+		int limit = buf.capacity();
+		while (pos < limit) {
+			byte type = buf.get(pos);
+			if (type == 0) return pos;
+			if (type == TTT_NEW || type == TTT_MOVE) pos += 7;
+			else if (type == HANGMAN_NEW) pos += 6 + (buf.get(pos + 5) & 0xFF);
+			else if (type == TTT_UNDO || type == TTT_REDO) pos += 5;
+			else if (type == HANGMAN_GUESS) pos += 7;
+			else if (type == ENCRYPTION) pos += 9;
+			else if (type == CHECKPOINT) pos += 7 + (buf.getShort(pos + 5) & 0xFFFF);
+			else return pos; // unknown byte: treat the rest as unwritten
+		}
+		return limit;
+	}
+
+	/** Lists segment files in the directory in order. */
+	private static List<Path> segments(Path dir) throws IOException {
+		if (!Files.isDirectory(dir)) return new ArrayList<>();
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(f -> f.getFileName().toString().matches("journal-\\d{8}\\.seg"))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	private static int segmentNumber(Path file) {
+		String name = file.getFileName().toString();
+		return Integer.parseInt(name.substring(8, 16));
+	}
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Class: GameJournalTest
+ * -> This class contains JUnit 5 tests for the GameJournal append-only event journal.
+ *    It records TicTacToe, Hangman and Password events into a temporary directory and checks that
+ *    replay rebuilds the same sessions, across segment rollovers and reopened journals.
+ *
+ * Exclusive Functions:
+ * setUp() - JUnit @BeforeEach method that creates an empty temporary journal directory.
+ * @param - none, @return - void
+ *
+ * tearDown() - JUnit @AfterEach method that deletes the journal directory and its segment files.
+ * @param - none, @return - void
+ *
+ * testRestoreRebuildsSessions() - Plays a TicTacToe and a Hangman session, then restores both from disk.
+ * @param - none, @return - void
+ *
+ * testRolloverAcrossSegments() - With tiny segments, thousands of moves span many files and still replay in order.
+ * @param - none, @return - void
+ *
+ * testReopenAppendsAfterExistingRecords() - A reopened journal continues after the last record instead of overwriting it.
+ * @param - none, @return - void
+ *
+ * testEncryptionRecordsEncryptedPin() - Encryption events replay the encrypted PIN digits.
+ * @param - none, @return - void
+ *
+ * testUndoRedoReplay() - Undo and redo are journaled, so the restored board and redo history match.
+ * @param - none, @return - void
+ *
+ * testCheckpointAndWideGuess() - Checkpoints replay their bytes in order with the events, and a guess outside a-z keeps its letter.
+ * @param - none, @return - void
+ *
+ * testRecoverAppliesEventsAfterLastCheckpoint() - recover() starts each session from its last checkpoint (or the saved
+ *                                                 state) and applies only the events recorded after it.
+ * @param - none, @return - void
+ *
+ * testRestoreSkipsCheckpointedAndMismatchedSessions() - restoreSessions() on a journal like App's (sessions that start with
+ *                                                       a checkpoint, a session ID reused for another game) skips what it cannot rebuild.
+ * @param - none, @return - void
+ *
+ * testCompactDropsOlderSegments() - compact() leaves one segment of checkpoints, and recover() reads the same states from it.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GameJournalTest {
+
+	private Path dir;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		dir = Files.createTempDirectory("journal");
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) Files.delete(file);
+		}
+	}
+
+	@Test
+	void testRestoreRebuildsSessions() throws IOException {
+		TicTacToe ttt = new TicTacToe();
+		Hangman hangman = new Hangman();
+		try (GameJournal journal = GameJournal.open(dir, 1 << 16, 8, 10)) {
+			journal.newGame(1, ttt);
+			journal.addMove(1, ttt, 1, 1);
+			journal.addMove(1, ttt, 0, 0);
+			assertFalse(journal.addMove(1, ttt, 1, 1)); // rejected moves are not journaled
+			journal.newGame(2, hangman);
+			journal.guessLetter(2, hangman, hangman.getWord().charAt(0));
+			journal.guessLetter(2, hangman, 'q');
+		}
+
+		Map<Integer, Object> restored = GameJournal.restoreSessions(dir);
+		TicTacToe replayedTtt = (TicTacToe) restored.get(1);
+		Hangman replayedHangman = (Hangman) restored.get(2);
+		assertEquals(ttt.displayBoard(), replayedTtt.displayBoard());
+		assertEquals(ttt.getTurn(), replayedTtt.getTurn());
+		assertEquals(hangman.getWord(), replayedHangman.getWord());
+		assertEquals(hangman.getDisplayWord(), replayedHangman.getDisplayWord());
+		assertEquals(hangman.getMisses(), replayedHangman.getMisses());
+	}
+
+	@Test
+	void testRolloverAcrossSegments() throws IOException {
+		TicTacToe game = new TicTacToe(15, 5);
+		try (GameJournal journal = GameJournal.open(dir, 1024, 64, 10)) {
+			for (int round = 0; round < 40; round++) {
+				journal.newGame(7, game);
+				for (int cell = 0; cell < 100; cell++) {
+					journal.addMove(7, game, cell / 15, cell % 15);
+				}
+			}
+		}
+		assertTrue(Files.list(dir).count() > 1);
+
+		List<Integer> cells = new ArrayList<>();
+		GameJournal.replay(dir, new GameJournal.Listener() {
+			@Override
+			public void onTicTacToeMove(int session, int cell) {
+				cells.add(cell);
+			}
+		});
+		assertEquals(4000, cells.size());
+		for (int i = 0; i < cells.size(); i++) assertEquals(i % 100, (int) cells.get(i));
+	}
+
+	@Test
+	void testReopenAppendsAfterExistingRecords() throws IOException {
+		TicTacToe game = new TicTacToe();
+		try (GameJournal journal = GameJournal.open(dir, 1 << 16, 1, 10)) {
+			journal.newGame(3, game);
+			journal.addMove(3, game, 0, 0);
+		}
+		try (GameJournal journal = GameJournal.open(dir, 1 << 16, 1, 10)) {
+			journal.addMove(3, game, 2, 2);
+		}
+		TicTacToe restored = (TicTacToe) GameJournal.restoreSessions(dir).get(3);
+		assertEquals(game.displayBoard(), restored.displayBoard());
+	}
+
+	@Test
+	void testEncryptionRecordsEncryptedPin() throws IOException {
+		Password password;
+		try (GameJournal journal = GameJournal.open(dir, 1 << 16, 8, 10)) {
+			password = journal.encrypt(9, 123456789);
+		}
+		int expected = 0;
+		for (int digit : password.getEncryptedPIN()) expected = expected * 10 + digit;
+		int[] seen = new int[1];
+		GameJournal.replay(dir, new GameJournal.Listener() {
+			@Override
+			public void onEncryption(int session, int encryptedPin) {
+				seen[0] = encryptedPin;
+			}
+		});
+		assertEquals(expected, seen[0]);
+	}
+
+	@Test
+	void testUndoRedoReplay() throws IOException {
+		TicTacToe game = new TicTacToe();
+		try (GameJournal journal = GameJournal.open(dir, 1 << 16, 8, 10)) {
+			journal.newGame(4, game);
+			journal.addMove(4, game, 0, 0);
+			journal.addMove(4, game, 1, 1);
+			journal.addMove(4, game, 2, 2);
+			assertEquals(8, journal.undo(4, game));
+			assertEquals(4, journal.undo(4, game));
+			assertEquals(4, journal.redo(4, game));
+			assertEquals(-1, journal.undo(6, new TicTacToe())); // nothing to undo: not journaled
+		}
+		Map<Integer, Object> sessions = GameJournal.restoreSessions(dir);
+		assertFalse(sessions.containsKey(6));
+		TicTacToe restored = (TicTacToe) sessions.get(4);
+		assertEquals(game.displayBoard(), restored.displayBoard());
+		assertEquals(game.getTurn(), restored.getTurn());
+		assertTrue(restored.canRedo());
+		assertEquals(8, restored.redo());
+	}
+
+	@Test
+	void testCheckpointAndWideGuess() throws IOException {
+		Hangman game = new Hangman(WordDictionary.of("cafe"));
+		try (GameJournal journal = GameJournal.open(dir, 1 << 16, 8, 10)) {
+			journal.checkpoint(5, new byte[] {1, 2, 3});
+			journal.newGame(5, game);
+			journal.guessLetter(5, game, '\u00e9');
+			journal.checkpoint(6, new byte[0]); // another session: a checkpoint ends session 5 for restoreSessions()
+			assertThrows(IllegalArgumentException.class, () -> journal.checkpoint(5, new byte[GameJournal.MAX_STATE + 1]));
+		}
+		List<String> events = new ArrayList<>();
+		GameJournal.replay(dir, new GameJournal.Listener() {
+			@Override
+			public void onCheckpoint(int session, byte[] state) {
+				events.add("checkpoint " + state.length + (state.length > 0 ? " " + state[2] : ""));
+			}
+
+			@Override
+			public void onHangmanGuess(int session, char letter) {
+				events.add("guess " + letter);
+			}
+		});
+		assertEquals(List.of("checkpoint 3 3", "guess \u00e9", "checkpoint 0"), events);
+		Hangman restored = (Hangman) GameJournal.restoreSessions(dir).get(5);
+		assertEquals(game.getMisses(), restored.getMisses());
+		assertEquals(1, restored.getMisses());
+	}
+
+	/** Counts replayed moves; its state is that count. */
+	private static final class MoveCounter implements GameJournal.Recoverable {
+		int moves;
+
+		@Override
+		public void onTicTacToeMove(int session, int cell) {
+			moves++;
+		}
+
+		@Override
+		public void restoreState(ByteBuffer in) {
+			moves = in.getInt();
+		}
+
+		@Override
+		public void saveState(ByteBuffer out) {
+			out.putInt(moves);
+		}
+	}
+
+	private static byte[] count(int moves) {
+		return ByteBuffer.allocate(4).putInt(moves).array();
+	}
+
+	@Test
+	void testRecoverAppliesEventsAfterLastCheckpoint() throws IOException {
+		try (GameJournal journal = GameJournal.open(dir, 1 << 16, 8, 10)) {
+			TicTacToe a = new TicTacToe();
+			TicTacToe b = new TicTacToe();
+			journal.checkpoint(0, count(1));
+			journal.addMove(0, a, 0, 0);               // before the last checkpoint: ignored
+			journal.checkpoint(0, count(10));
+			journal.addMove(0, a, 1, 1);
+			journal.addMove(0, a, 2, 2);
+			journal.addMove(1, b, 0, 0);               // no checkpoint: applied to the saved state
+			journal.checkpoint(2, count(42));          // checkpoint only
+			journal.addMove(7, new TicTacToe(), 0, 0); // not a recovered session
+		}
+		byte[][] saved = {count(0), count(100), count(0), null};
+		int[] built = new int[1];
+		byte[][] latest = GameJournal.recover(dir, saved, session -> {
+			built[0]++;
+			return new MoveCounter();
+		});
+		assertEquals(12, ByteBuffer.wrap(latest[0]).getInt());
+		assertEquals(101, ByteBuffer.wrap(latest[1]).getInt());
+		assertEquals(42, ByteBuffer.wrap(latest[2]).getInt());
+		assertNull(latest[3]);
+		assertEquals(2, built[0]);
+		assertEquals(100, ByteBuffer.wrap(saved[1]).getInt()); // the input is not modified
+	}
+
+	@Test
+	void testRestoreSkipsCheckpointedAndMismatchedSessions() throws IOException {
+		TicTacToe viewGame = new TicTacToe();
+		TicTacToe reused = new TicTacToe();
+		Hangman hangman = new Hangman(WordDictionary.of("cafe"));
+		try (GameJournal journal = GameJournal.open(dir, 1 << 16, 8, 10)) {
+			journal.checkpoint(0, count(0));          // as LE51View starts its session
+			journal.addMove(0, viewGame, 1, 1);
+			journal.undo(0, viewGame);
+			journal.newGame(1, reused);
+			journal.addMove(1, reused, 0, 0);
+			journal.newGame(1, hangman);              // session 1 now plays Hangman
+			journal.guessLetter(1, hangman, 'a');
+			journal.addMove(1, reused, 2, 2);         // a stray TicTacToe event for it
+			journal.newGame(2, new TicTacToe());
+			journal.checkpoint(2, count(5));          // ends the game the journal knew
+		}
+		Map<Integer, Object> sessions = GameJournal.restoreSessions(dir);
+		assertFalse(sessions.containsKey(0));
+		assertFalse(sessions.containsKey(2));
+		Hangman restored = (Hangman) sessions.get(1);
+		assertEquals(hangman.getDisplayWord(), restored.getDisplayWord());
+	}
+
+	@Test
+	void testCompactDropsOlderSegments() throws IOException {
+		try (GameJournal journal = GameJournal.open(dir, 1024, 64, 10)) {
+			for (int i = 0; i < 500; i++) journal.checkpoint(i % 3, count(i));
+			assertTrue(segmentFiles() > 3);
+			journal.compact(new byte[][] {count(7), null, count(3)});
+			assertEquals(1, segmentFiles());
+			journal.addMove(0, new TicTacToe(), 0, 0);
+		}
+		try (GameJournal journal = GameJournal.open(dir, 1024, 64, 10)) {
+			journal.addMove(2, new TicTacToe(), 1, 1); // a reopened journal appends after the checkpoints
+		}
+		byte[][] saved = {count(0), count(100), count(0)};
+		byte[][] latest = GameJournal.recover(dir, saved, session -> new MoveCounter());
+		assertEquals(8, ByteBuffer.wrap(latest[0]).getInt());
+		assertNull(latest[1]); // checkpointed with no state
+		assertEquals(4, ByteBuffer.wrap(latest[2]).getInt());
+	}
+
+	private long segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.count();
+		}
+	}
+
+}
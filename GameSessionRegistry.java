@@ -0,0 +1,197 @@
+/*
+ * Class: GameSessionRegistry
+ * -> This class hosts many live game sessions (TicTacToe, Hangman, ...) in one JVM, keyed by session ID.
+ *    Lookups go through a ConcurrentHashMap and take no lock. Each session has its own lock, so mutations
+ *    of one game are serialized while different games never contend. Sessions idle longer than the timeout
+ *    are evicted, either on demand or by a background evictor.
+ *
+ * Exclusive Functions:
+ * GameSessionRegistry() - Creates a registry that builds new games with the factory and evicts after the idle timeout.
+ * @param - Supplier<T> factory, long idleTimeoutMillis, @return - none
+ * A package-private overload also takes the nanosecond clock (LongSupplier), so tests can advance time directly.
+ *
+ * open() - Returns the session for the ID, creating a new game if it does not exist yet, and marks it as used.
+ * @param - String id, @return - Session<T>
+ *
+ * get() - Returns the session for the ID or null, without locking.
+ * @param - String id, @return - Session<T>
+ *
+ * execute() - Runs an action on the session's game while holding that session's lock and returns its result.
+ * @param - String id, Function<T, R> action, @return - R
+ *
+ * close() - Removes a session; returns whether it existed.
+ * @param - String id, @return - boolean
+ *
+ * evictIdle() - Removes sessions idle longer than the timeout and returns how many were evicted.
+ * @param - none, @return - int
+ *
+ * startEvictor() - Runs evictIdle() periodically on a daemon thread.
+ * @param - long periodMillis, @return - void
+ *
+ * shutdown() - Stops the background evictor if running.
+ * @param - none, @return - void
+ *
+ * size() - Returns the number of live sessions.
+ * @param - none, @return - int
+ *
+ * Notes:
+ * - The game classes are not thread-safe; always mutate them through execute() or Session.execute().
+ * - Eviction only takes a session whose lock is free (tryLock), so it never waits behind a running move.
+ *   A Session reference that was evicted throws IllegalStateException on its next execute().
+ * - open() refreshes the idle time under the session lock, so the session it returns is not evicted before the
+ *   caller's first execute() unless a whole timeout passes in between.
+ */
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class GameSessionRegistry<T> {
+
+	private final ConcurrentHashMap<String, Session<T>> sessions = new ConcurrentHashMap<>();
+	private final Supplier<T> factory;
+	private final long idleTimeoutNanos;
+	private final LongSupplier clock;
+	private ScheduledExecutorService evictor;
+
+	public GameSessionRegistry(Supplier<T> factory, long idleTimeoutMillis) {
+		this(factory, idleTimeoutMillis, System::nanoTime);
+	}
+
+	/** Same, with the nanosecond clock supplied (for tests). */
+	GameSessionRegistry(Supplier<T> factory, long idleTimeoutMillis, LongSupplier clock) {
+		this.factory = factory;
+		this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+		this.clock = clock;
+	}
+
+	/** Returns the session for the ID, creating it if needed, and refreshes its idle time. */
+	public Session<T> open(String id) {
+		while (true) {
+			Session<T> session = sessions.get(id);
+			if (session == null) session = sessions.computeIfAbsent(id, key -> new Session<>(key, factory.get(), clock));
+			if (session.touch()) return session;
+			sessions.remove(id, session); // evicted while we looked it up: open a fresh one
+		}
+	}
+
+	/** Returns the session for the ID, or null if there is none. */
+	public Session<T> get(String id) {
+		return sessions.get(id);
+	}
+
+	/** Runs the action on the session's game under the session lock. */
+	public <R> R execute(String id, Function<T, R> action) {
+		Session<T> session = sessions.get(id);
+		if (session == null) throw new NoSuchElementException("No session: " + id);
+		return session.execute(action);
+	}
+
+	/** Removes the session; returns true if it existed. */
+	public boolean close(String id) {
+		Session<T> session = sessions.remove(id);
+		if (session == null) return false;
+		session.lock.lock();
+		try {
+			session.closed = true;
+		} finally {
+			session.lock.unlock();
+		}
+		return true;
+	}
+
+	/** Evicts sessions idle longer than the timeout; returns the number evicted. */
+	public int evictIdle() {
+		long now = clock.getAsLong();
+		int evicted = 0;
+		for (Session<T> session : sessions.values()) {
+			if (now - session.lastAccess < idleTimeoutNanos) continue;
+			if (!session.lock.tryLock()) continue; // busy, so not idle
+			try {
+				if (now - session.lastAccess >= idleTimeoutNanos && sessions.remove(session.id, session)) {
+					session.closed = true;
+					evicted++;
+				}
+			} finally {
+				session.lock.unlock();
+			}
+		}
+		return evicted;
+	}
+
+	/** Starts a daemon thread that calls evictIdle() every period. */
+	public synchronized void startEvictor(long periodMillis) {
+		if (evictor != null) return;
+		evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "session-evictor");
+			t.setDaemon(true);
+			return t;
+		});
+		evictor.scheduleAtFixedRate(this::evictIdle, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/** Stops the background evictor. */
+	public synchronized void shutdown() {
+		if (evictor != null) {
+			evictor.shutdownNow();
+			evictor = null;
+		}
+	}
+
+	/** Returns the number of live sessions. */
+	public int size() {
+		return sessions.size();
+	}
+
+	/** One hosted game and the lock that serializes its moves. */
+	public static class Session<T> {
+
+		private final String id;
+		private final T game;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final LongSupplier clock;
+		private volatile long lastAccess;
+		private boolean closed; // guarded by lock
+
+		Session(String id, T game, LongSupplier clock) {
+			this.id = id;
+			this.game = game;
+			this.clock = clock;
+			this.lastAccess = clock.getAsLong();
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		/** Refreshes the idle time; false if the session has been closed. */
+		boolean touch() {
+			lock.lock();
+			try {
+				if (closed) return false;
+				lastAccess = clock.getAsLong();
+				return true;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/** Runs the action on this session's game while holding its lock. */
+		public <R> R execute(Function<T, R> action) {
+			lock.lock();
+			try {
+				if (closed) throw new IllegalStateException("Session closed: " + id);
+				lastAccess = clock.getAsLong();
+				return action.apply(game);
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+}
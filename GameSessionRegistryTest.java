@@ -0,0 +1,156 @@
+/*
+ * Class: GameSessionRegistryTest
+ * -> This class contains JUnit 5 tests for GameSessionRegistry, including a multi-threaded stress test.
+ *    Many threads hammer TicTacToe.addMove and Hangman.guessLetter on shared sessions, and the final
+ *    state of every game must account for exactly the moves and guesses that reported success.
+ *
+ * Exclusive Functions:
+ * testTicTacToeStress() - 16 threads play random moves on 2000 sessions; each board's move count must equal the accepted moves.
+ * @param - none, @return - void
+ *
+ * testHangmanStress() - 16 threads guess random letters on 2000 sessions; misses plus revealed letters must equal the new guesses.
+ * @param - none, @return - void
+ *
+ * testIdleEviction() - Sessions untouched past the timeout are evicted, and an evicted Session rejects further use.
+ * @param - none, @return - void
+ *
+ * testOpenReturnsSameSession() - Opening an existing ID returns the same session and game.
+ * @param - none, @return - void
+ *
+ * testOpenRefreshesIdleTime() - Re-opening an old session keeps the evictor from taking it before the next execute().
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Per-session counters use AtomicIntegerArray so the test itself adds no locking around the registry.
+ * - The idle-time tests drive the registry's clock directly instead of sleeping, so they cannot flake.
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class GameSessionRegistryTest {
+
+	private static final int THREADS = 16;
+	private static final int SESSIONS = 2000;
+	private static final int OPS_PER_THREAD = 50_000;
+
+	@Test
+	void testTicTacToeStress() throws Exception {
+		GameSessionRegistry<TicTacToe> registry = new GameSessionRegistry<>(() -> new TicTacToe(5, 4), 60_000);
+		for (int i = 0; i < SESSIONS; i++) registry.open("ttt-" + i);
+		AtomicIntegerArray accepted = new AtomicIntegerArray(SESSIONS);
+
+		runConcurrently(() -> {
+			ThreadLocalRandom rng = ThreadLocalRandom.current();
+			for (int op = 0; op < OPS_PER_THREAD; op++) {
+				int s = rng.nextInt(SESSIONS);
+				int row = rng.nextInt(5);
+				int col = rng.nextInt(5);
+				if (registry.execute("ttt-" + s, game -> game.addMove(row, col))) {
+					accepted.incrementAndGet(s);
+				}
+			}
+		});
+
+		for (int s = 0; s < SESSIONS; s++) {
+			int moves = registry.execute("ttt-" + s, TicTacToe::getMoveCount);
+			assertEquals(accepted.get(s), moves, "session " + s);
+		}
+	}
+
+	@Test
+	void testHangmanStress() throws Exception {
+		GameSessionRegistry<Hangman> registry = new GameSessionRegistry<>(Hangman::new, 60_000);
+		for (int i = 0; i < SESSIONS; i++) registry.open("hm-" + i);
+		AtomicIntegerArray newGuesses = new AtomicIntegerArray(SESSIONS);
+
+		runConcurrently(() -> {
+			ThreadLocalRandom rng = ThreadLocalRandom.current();
+			for (int op = 0; op < OPS_PER_THREAD; op++) {
+				int s = rng.nextInt(SESSIONS);
+				char letter = (char) ('a' + rng.nextInt(26));
+				String result = registry.execute("hm-" + s, game -> game.guessLetter(letter));
+				if (!result.contains("already")) newGuesses.incrementAndGet(s);
+			}
+		});
+
+		for (int s = 0; s < SESSIONS; s++) {
+			int expected = registry.execute("hm-" + s, game -> {
+				long revealed = game.getDisplayWord().chars().filter(ch -> ch != '*').distinct().count();
+				return game.getMisses() + (int) revealed;
+			});
+			assertEquals(newGuesses.get(s), expected, "session " + s);
+		}
+	}
+
+	@Test
+	void testIdleEviction() {
+		AtomicLong now = new AtomicLong();
+		GameSessionRegistry<TicTacToe> registry = new GameSessionRegistry<>(TicTacToe::new, 20, now::get);
+		GameSessionRegistry.Session<TicTacToe> idle = registry.open("idle");
+		registry.open("busy");
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(19));
+		assertEquals(0, registry.evictIdle());
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+		registry.execute("busy", game -> game.addMove(0, 0));
+
+		assertEquals(1, registry.evictIdle());
+		assertNull(registry.get("idle"));
+		assertNotNull(registry.get("busy"));
+		assertThrows(IllegalStateException.class, () -> idle.execute(TicTacToe::getTurn));
+		assertThrows(NoSuchElementException.class, () -> registry.execute("idle", TicTacToe::getTurn));
+	}
+
+	@Test
+	void testOpenReturnsSameSession() {
+		GameSessionRegistry<TicTacToe> registry = new GameSessionRegistry<>(TicTacToe::new, 60_000);
+		GameSessionRegistry.Session<TicTacToe> first = registry.open("a");
+		first.execute(game -> game.addMove(1, 1));
+		assertSame(first, registry.open("a"));
+		assertEquals('O', (char) registry.execute("a", TicTacToe::getTurn));
+		assertTrue(registry.close("a"));
+		assertEquals(0, registry.size());
+	}
+
+	@Test
+	void testOpenRefreshesIdleTime() {
+		AtomicLong now = new AtomicLong();
+		GameSessionRegistry<TicTacToe> registry = new GameSessionRegistry<>(TicTacToe::new, 50, now::get);
+		GameSessionRegistry.Session<TicTacToe> first = registry.open("a");
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(80));
+		GameSessionRegistry.Session<TicTacToe> again = registry.open("a");
+		assertSame(first, again);
+		assertEquals(0, registry.evictIdle());
+		assertTrue(again.execute(game -> game.addMove(0, 0)));
+
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(49));
+		assertEquals(0, registry.evictIdle());
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+		assertEquals(1, registry.evictIdle());
+		GameSessionRegistry.Session<TicTacToe> fresh = registry.open("a");
+		assertNotSame(first, fresh);
+		assertEquals('X', (char) fresh.execute(TicTacToe::getTurn));
+	}
+
+	/** Runs the task on THREADS threads at once and rethrows any failure. */
+	private void runConcurrently(Runnable task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) futures.add(pool.submit(task));
+			for (Future<?> f : futures) f.get();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Class: GameSnapshot
+ * -> This class saves and restores game state as a few bytes, with no JavaFX objects involved.
+ *    A TicTacToe is stored as its move list, a Hangman as its dictionary word index plus the guessed-letter
+ *    mask, and a PIN as its 9 digits packed into an int. The views use these records to save their state,
+ *    and App keeps one record per view in a small session file.
+ *
+ * Exclusive Functions:
+ * writeTicTacToe() / readTicTacToe() - Stores the board size, win length and moves; reading replays the moves on a new game.
+ * @param - TicTacToe game, ByteBuffer out / ByteBuffer in, @return - void / TicTacToe
+ *
+ * writeHangman() / readHangman() - Stores the word index (or the word itself) and guessed mask; reading restores into the given game.
+ * @param - Hangman game, ByteBuffer out / ByteBuffer in, Hangman game, @return - void / void
+ *
+ * writePin() / readPin() - Stores 9 PIN digits as one int.
+ * @param - int[] digits, ByteBuffer out / ByteBuffer in, @return - void / int[]
+ *
+ * writePin() / readPinValue() - Same record, taking and returning the PIN packed as in Password.getEncryptedValue().
+ * @param - int packed, ByteBuffer out / ByteBuffer in, @return - void / int
+ *
+ * writeSession() / readSession() - Writes or reads one record per view slot in a session file.
+ * @param - Path file, byte[][] records / Path file, int slots, @return - void / byte[][]
+ *
+ * capture() - Runs a view's saveState() into a scratch buffer and returns the bytes (a flag byte plus one record).
+ * @param - Consumer<ByteBuffer> writer, @return - byte[]
+ *
+ * Notes:
+ * - Sizes: a 3x3 TicTacToe is 4 bytes plus 1 per move (2 per move on boards over 16x16); a Hangman is
+ *   13 bytes; a PIN is 5 bytes. Writers only put into the caller's buffer, so saving after every move allocates nothing.
+ * - Every record starts with a type byte; a reader given the wrong record or truncated data throws IllegalArgumentException.
+ * - A Hangman record includes the dictionary size, and a record from a different dictionary is rejected.
+ * - Only a-z guesses are stored. Moves undone but not yet redone are not stored.
+ * - The session file is written to a temporary file and then moved into place, so a crash never leaves it half-written.
+ */
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public final class GameSnapshot {
+
+	/** Largest record any writer produces (a Hangman game with a 63-letter custom word). */
+	public static final int MAX_RECORD = 1 + 4 + 4 + 1 + WordDictionary.MAX_WORD_LENGTH + 4;
+
+	private static final byte TICTACTOE = 'T';
+	private static final byte HANGMAN = 'H';
+	private static final byte PIN = 'P';
+
+	private static final int SESSION_MAGIC = 0x4C355331; // "L5S1"
+
+	private GameSnapshot() {
+	}
+
+	/** Writes the board dimensions and the move list. */
+	public static void writeTicTacToe(TicTacToe game, ByteBuffer out) {
+		int size = game.getSize();
+		boolean wide = size * size > 256;
+		int moves = game.getMoveCount();
+		out.put(TICTACTOE).put((byte) size).put((byte) game.getWinLength());
+		if (wide) out.putShort((short) moves);
+		else out.put((byte) moves);
+		for (int i = 0; i < moves; i++) {
+			if (wide) out.putShort((short) game.getMove(i));
+			else out.put((byte) game.getMove(i));
+		}
+	}
+
+	/** Reads a TicTacToe record and replays its moves on a new game. */
+	public static TicTacToe readTicTacToe(ByteBuffer in) {
+		try {
+			expect(in, TICTACTOE);
+			int size = in.get() & 0xFF;
+			int winLength = in.get() & 0xFF;
+			boolean wide = size * size > 256;
+			TicTacToe game = new TicTacToe(size, winLength);
+			int moves = wide ? in.getShort() & 0xFFFF : in.get() & 0xFF;
+			for (int i = 0; i < moves; i++) {
+				int cell = wide ? in.getShort() & 0xFFFF : in.get() & 0xFF;
+				if (cell >= size * size || !game.addMove(cell / size, cell % size)) {
+					throw new IllegalArgumentException("Illegal move in snapshot: " + cell);
+				}
+			}
+			return game;
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated TicTacToe snapshot", e);
+		}
+	}
+
+	/** Writes the dictionary size, the word index (or the word) and the guessed mask. */
+	public static void writeHangman(Hangman game, ByteBuffer out) {
+		out.put(HANGMAN).putInt(game.getDictionary().size()).putInt(game.getWordIndex());
+		if (game.getWordIndex() < 0) {
+			String word = game.getWord();
+			out.put((byte) word.length());
+			for (int i = 0; i < word.length(); i++) out.put((byte) word.charAt(i));
+		}
+		out.putInt(game.getGuessedMask());
+	}
+
+	/** Restores a Hangman record into the given game, which must use the same dictionary. */
+	public static void readHangman(ByteBuffer in, Hangman game) {
+		try {
+			expect(in, HANGMAN);
+			int dictionarySize = in.getInt();
+			if (dictionarySize != game.getDictionary().size()) {
+				throw new IllegalArgumentException("Snapshot is for a different dictionary");
+			}
+			int index = in.getInt();
+			if (index >= dictionarySize) throw new IllegalArgumentException("Word index out of range: " + index);
+			if (index < 0) {
+				byte[] word = new byte[in.get() & 0xFF];
+				in.get(word);
+				game.restoreGame(new String(word, StandardCharsets.ISO_8859_1), in.getInt());
+			} else {
+				game.restoreGame(index, in.getInt());
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated Hangman snapshot", e);
+		}
+	}
+
+	/** Writes 9 digits as one int. */
+	public static void writePin(int[] digits, ByteBuffer out) {
+		int packed = 0;
+		for (int digit : digits) packed = packed * 10 + digit;
+		writePin(packed, out);
+	}
+
+	/** Writes a PIN already packed into an int. */
+	public static void writePin(int packed, ByteBuffer out) {
+		out.put(PIN).putInt(packed);
+	}
+
+	/** Reads 9 digits written by writePin. */
+	public static int[] readPin(ByteBuffer in) {
+		return Password.unpack(readPinValue(in));
+	}
+
+	/** Reads a PIN record as a packed int. */
+	public static int readPinValue(ByteBuffer in) {
+		try {
+			expect(in, PIN);
+			return in.getInt();
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated PIN snapshot", e);
+		}
+	}
+
+	/** Returns what the writer puts into a buffer of 1 + MAX_RECORD bytes. */
+	public static byte[] capture(Consumer<ByteBuffer> writer) {
+		ByteBuffer buf = ByteBuffer.allocate(1 + MAX_RECORD);
+		writer.accept(buf);
+		return Arrays.copyOf(buf.array(), buf.position());
+	}
+
+	/** Writes one record per slot (null = empty) to the session file. */
+	public static void writeSession(Path file, byte[][] records) throws IOException {
+		int length = 8;
+		for (byte[] record : records) length += 2 + (record == null ? 0 : record.length);
+		ByteBuffer buf = ByteBuffer.allocate(length);
+		buf.putInt(SESSION_MAGIC).putInt(records.length);
+		for (byte[] record : records) {
+			buf.putShort((short) (record == null ? 0 : record.length));
+			if (record != null) buf.put(record);
+		}
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(tmp, buf.array());
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/** Reads a session file; returns slots empty records if it is missing or invalid. */
+	public static byte[][] readSession(Path file, int slots) {
+		byte[][] records = new byte[slots][];
+		try {
+			ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+			if (buf.getInt() != SESSION_MAGIC) return records;
+			int count = buf.getInt();
+			for (int i = 0; i < count; i++) {
+				byte[] record = new byte[buf.getShort() & 0xFFFF];
+				buf.get(record);
+				if (i < slots && record.length > 0) records[i] = record;
+			}
+		} catch (NoSuchFileException e) {
+			// no saved session yet
+		} catch (IOException | RuntimeException e) {
+			return new byte[slots][]; // unreadable session: start fresh
+		}
+		return records;
+	}
+
+	private static void expect(ByteBuffer in, byte type) {
+		byte found = in.get();
+		if (found != type) throw new IllegalArgumentException("Expected a '" + (char) type + "' snapshot, found " + found);
+	}
+
+}
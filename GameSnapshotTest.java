@@ -0,0 +1,161 @@
+/*
+ * Class: GameSnapshotTest
+ * -> This class contains JUnit 5 tests for GameSnapshot.
+ *    It round-trips TicTacToe, Hangman (normal, custom word and evil) and PIN records, checks their sizes,
+ *    and checks the session file and error handling.
+ *
+ * Exclusive Functions:
+ * testTicTacToeRoundTrip() - A 3x3 game and a 20x20 game restore with the same board, turn, winner, hash and undo history.
+ * @param - none, @return - void
+ *
+ * testHangmanRoundTrip() - Dictionary and custom-word games restore with the same display, misses and guessed mask.
+ * @param - none, @return - void
+ *
+ * testEvilHangmanRoundTrip() - A restored EvilHangman keeps its display and candidate count and plays on consistently.
+ * @param - none, @return - void
+ *
+ * testPinRoundTrip() - PIN digits survive packing into 5 bytes.
+ * @param - none, @return - void
+ *
+ * testSessionFile() - Records written to a session file are read back per slot; a missing file gives empty slots.
+ * @param - none, @return - void
+ *
+ * testRejectsBadRecords() - A wrong record type, truncated data or another dictionary's record throws IllegalArgumentException.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+public class GameSnapshotTest {
+
+	private final ByteBuffer buf = ByteBuffer.allocate(GameSnapshot.MAX_RECORD + 1024);
+
+	@Test
+	void testTicTacToeRoundTrip() {
+		TicTacToe game = new TicTacToe();
+		game.addMove(1, 1);
+		game.addMove(0, 0);
+		game.addMove(2, 2);
+		GameSnapshot.writeTicTacToe(game, buf);
+		assertEquals(4 + 3, buf.position());
+		buf.flip();
+		TicTacToe restored = GameSnapshot.readTicTacToe(buf);
+		assertSameGame(game, restored);
+		assertEquals(8, restored.undo());
+
+		TicTacToe big = new TicTacToe(20, 5);
+		for (int i = 0; i < 40; i++) big.addMove((i * 7) % 20, (i * 3) % 20);
+		buf.clear();
+		GameSnapshot.writeTicTacToe(big, buf);
+		buf.flip();
+		assertSameGame(big, GameSnapshot.readTicTacToe(buf));
+	}
+
+	@Test
+	void testHangmanRoundTrip() {
+		Hangman game = new Hangman();
+		game.guessLetter('a');
+		game.guessLetter('e');
+		game.guessLetter('z');
+		GameSnapshot.writeHangman(game, buf);
+		assertEquals(13, buf.position());
+		buf.flip();
+		Hangman restored = new Hangman();
+		GameSnapshot.readHangman(buf, restored);
+		assertSameHangman(game, restored);
+
+		game.startNewGame("custom");
+		game.guessLetter('c');
+		buf.clear();
+		GameSnapshot.writeHangman(game, buf);
+		buf.flip();
+		GameSnapshot.readHangman(buf, restored);
+		assertSameHangman(game, restored);
+		assertEquals("custom", restored.getWord());
+	}
+
+	@Test
+	void testEvilHangmanRoundTrip() {
+		WordDictionary dictionary = WordDictionary.of("cat", "cot", "cut", "dog", "dig", "bat", "bit", "but", "hat");
+		EvilHangman game = new EvilHangman(dictionary);
+		game.startNewGame(3);
+		game.guessLetter('a');
+		game.guessLetter('t');
+		GameSnapshot.writeHangman(game, buf);
+		buf.flip();
+		EvilHangman restored = new EvilHangman(dictionary);
+		GameSnapshot.readHangman(buf, restored);
+		assertSameHangman(game, restored);
+		assertEquals(game.getCandidateCount(), restored.getCandidateCount());
+
+		for (char c : "bcdghiou".toCharArray()) {
+			restored.guessLetter(c);
+			for (int p = 0; p < restored.getWord().length(); p++) {
+				char shown = restored.getDisplayWord().charAt(p);
+				assertTrue(shown == '*' || shown == restored.getWord().charAt(p));
+			}
+		}
+	}
+
+	@Test
+	void testPinRoundTrip() {
+		int[] digits = {3, 1, 2, 2, 3, 1, 1, 3, 2};
+		GameSnapshot.writePin(digits, buf);
+		assertEquals(5, buf.position());
+		buf.flip();
+		assertArrayEquals(digits, GameSnapshot.readPin(buf));
+	}
+
+	@Test
+	void testSessionFile() throws IOException {
+		Path file = Files.createTempFile("session", ".bin");
+		file.toFile().deleteOnExit();
+		byte[][] records = {{1, 2, 3}, null, {4}};
+		GameSnapshot.writeSession(file, records);
+		byte[][] read = GameSnapshot.readSession(file, 3);
+		assertArrayEquals(records[0], read[0]);
+		assertNull(read[1]);
+		assertArrayEquals(records[2], read[2]);
+
+		Files.delete(file);
+		assertNull(GameSnapshot.readSession(file, 3)[0]);
+	}
+
+	@Test
+	void testRejectsBadRecords() {
+		GameSnapshot.writePin(new int[9], buf);
+		buf.flip();
+		assertThrows(IllegalArgumentException.class, () -> GameSnapshot.readTicTacToe(buf));
+
+		assertThrows(IllegalArgumentException.class, () -> GameSnapshot.readTicTacToe(ByteBuffer.wrap(new byte[] {'T', 3, 3, 2, 4})));
+
+		buf.clear();
+		GameSnapshot.writeHangman(new Hangman(), buf);
+		buf.flip();
+		assertThrows(IllegalArgumentException.class, () -> GameSnapshot.readHangman(buf, new Hangman(WordDictionary.of("one", "two"))));
+	}
+
+	private void assertSameGame(TicTacToe expected, TicTacToe actual) {
+		assertEquals(expected.getSize(), actual.getSize());
+		for (int r = 0; r < expected.getSize(); r++) {
+			for (int c = 0; c < expected.getSize(); c++) assertEquals(expected.getCell(r, c), actual.getCell(r, c));
+		}
+		assertEquals(expected.getTurn(), actual.getTurn());
+		assertEquals(expected.getWinner(), actual.getWinner());
+		assertEquals(expected.getHash(), actual.getHash());
+		assertEquals(expected.getMoveCount(), actual.getMoveCount());
+	}
+
+	private void assertSameHangman(Hangman expected, Hangman actual) {
+		assertEquals(expected.getWord(), actual.getWord());
+		assertEquals(expected.getDisplayWord(), actual.getDisplayWord());
+		assertEquals(expected.getMisses(), actual.getMisses());
+		assertEquals(expected.getGuessedMask(), actual.getGuessedMask());
+		assertEquals(expected.isWordComplete(), actual.isWordComplete());
+	}
+
+}
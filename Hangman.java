@@ -1,7 +1,7 @@
 /*
  * Class: Hangman
  * -> This class implements the core logic for a simple Hangman game.
- *    It selects a random word from a predefined list, maintains a masked display of the word
+ *    It selects a random word from a WordDictionary (the built-in list or a memory-mapped word file), maintains a masked display of the word
  *    (using '*' for hidden letters), tracks missed guesses and previously guessed letters,
  *    and provides methods to start a new game, make guesses, and query game state.
  * 
@@ -9,9 +9,30 @@
  * Hangman() - Default constructor which initializes and starts a new game.
  * @param - none, @return - none
  * 
+ * Hangman() - Constructor which draws words from the given dictionary and starts a new game.
+ * @param - WordDictionary dictionary, @return - none
+ * 
+ * Hangman() - Constructor which draws words from the given dictionary with the given random source (e.g. a per-session seed).
+ * @param - WordDictionary dictionary, RandomSource random, @return - none
+ * 
+ * setShuffledBag() - Turns on or off dealing words from a shuffled bag, so startNewGame() repeats no word until every word has been played.
+ * @param - boolean enabled, @return - void
+ * 
  * startNewGame() - Selects a random word, initializes the masked display array, resets misses, and clears guessed letters.
  * @param - none, @return - void
  * 
+ * startNewGame() - Starts a new game with a random word of the given length (any length if none match).
+ * @param - int length, @return - void
+ * 
+ * startNewGame() - Starts a new game with a random word in the difficulty's length range.
+ * @param - Difficulty difficulty, @return - void
+ * 
+ * startNewGameAt() - Starts a new game with dictionary word i (used to play every word in turn).
+ * @param - int i, @return - void
+ * 
+ * startNewGame() - Starts a new game with the given word instead of a random one (used for replay and restore).
+ * @param - String word, @return - void
+ * 
  * getDisplayWord() - Returns the current masked word as a String (hidden letters shown as '*').
  * @param - none, @return - String
  * 
@@ -27,32 +48,158 @@
  * getWord() - Returns the current (true) word for the game.
  * @param - none, @return - String
  * 
+ * restoreGame() - Restarts on a dictionary word index (or a given word) with a guessed-letter mask already applied, without calling guessLetter().
+ * @param - int i / String word, int guessedMask, @return - void
+ * 
+ * getGuessedMask() - Returns the a-z letters guessed so far as a 26-bit mask (bit 0 = 'a').
+ * @param - none, @return - int
+ * 
+ * getWordIndex() - Returns the dictionary index of the current word, or -1 if it was given directly.
+ * @param - none, @return - int
+ * 
+ * getDictionary() - Returns the dictionary words are drawn from.
+ * @param - none, @return - WordDictionary
+ * 
+ * switchWord() - Replaces the secret word with another dictionary word consistent with the guesses so far (used by EvilHangman).
+ * @param - int i, @return - void
+ * 
  * Notes:
  * - Guesses are case-insensitive and repeated guesses are detected.
- * - The words list is fixed; adapt the words array to change the pool.
+ * - Randomness comes from a RandomSource; the default is the per-thread source, so no Random is built per game.
+ * - Guessed letters are a 26-bit mask and each word gets a letter -> positions index when it is chosen,
+ *   so guessLetter() and isWordComplete() allocate nothing for a-z letters. Other letters take a slower scan.
+ * - The default constructor uses the built-in word list; pass WordDictionary.load(file) for a larger pool.
+ * - Only the chosen word is decoded into a String; the rest of the dictionary stays in its mapped file.
  */
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
 
 public class Hangman {
 	
-	private String[] words = {"program", "java", "arrays", "object", "school", "hangman", "university", "copilot", "engineering", "tictactoe"};
+	/** Word length ranges for each difficulty. */
+	public enum Difficulty {
+		EASY(3, 5), MEDIUM(6, 8), HARD(9, WordDictionary.MAX_WORD_LENGTH);
+		
+		private final int minLength;
+		private final int maxLength;
+		
+		Difficulty(int minLength, int maxLength) {
+			this.minLength = minLength;
+			this.maxLength = maxLength;
+		}
+	}
+	
+	private static final WordDictionary BUILT_IN = WordDictionary.of("program", "java", "arrays", "object", "school",
+			"hangman", "university", "copilot", "engineering", "tictactoe");
+	
+	// Feedback messages are built once so a guess does not concatenate strings
+	private static final String GOOD_GUESS = "Good guess!";
+	private static final String[] ALREADY_GUESSED = new String[26];
+	private static final String[] NOT_IN_WORD = new String[26];
+	static {
+		for (int l = 0; l < 26; l++) {
+			char c = (char) ('a' + l);
+			ALREADY_GUESSED[l] = c + " is already guessed.";
+			NOT_IN_WORD[l] = c + " is not in the word.";
+		}
+	}
+	
+	private final WordDictionary dictionary;
+	private final RandomSource random;
+	private RandomSource.ShuffledBag bag; // null unless shuffled-bag mode is on
+	private final long[] positions = new long[26]; // bit i set when word[i] is that letter
+	private int wordIndex;
 	private String currentWord;
 	private char[] displayWord;
 	private int misses;
-	private ArrayList<Character> guessedLetters;
+	private int remaining; // hidden positions left
+	private int guessedMask;
+	private String otherGuesses; // guessed characters outside a-z
 	
 	public Hangman() {
+		this(BUILT_IN);
+	}
+	
+	public Hangman(WordDictionary dictionary) {
+		this(dictionary, RandomSource.threadLocal());
+	}
+	
+	public Hangman(WordDictionary dictionary, RandomSource random) {
+		if (dictionary.size() == 0) throw new IllegalArgumentException("Dictionary has no words");
+		this.dictionary = dictionary;
+		this.random = random;
 		startNewGame();
 	}
 	
+	public void setShuffledBag(boolean enabled) {
+		bag = enabled ? new RandomSource.ShuffledBag(dictionary.size(), random) : null;
+	}
+	
 	public void startNewGame() {
-		Random rand = new Random();
-		currentWord = words[rand.nextInt(words.length)];
-		displayWord = new char[currentWord.length()];
-		for (int i = 0; i < displayWord.length; i++) displayWord[i] = '*';
+		startNewGameAt(bag != null ? bag.next() : random.nextInt(dictionary.size()));
+	}
+	
+	public void startNewGame(int length) {
+		int index = dictionary.randomIndex(length, length, random);
+		if (index < 0) {
+			startNewGame();
+		} else {
+			startNewGameAt(index);
+		}
+	}
+	
+	public void startNewGame(Difficulty difficulty) {
+		int index = dictionary.randomIndex(difficulty.minLength, difficulty.maxLength, random);
+		if (index < 0) {
+			startNewGame();
+		} else {
+			startNewGameAt(index);
+		}
+	}
+	
+	public void startNewGame(String word) {
+		if (word.length() > WordDictionary.MAX_WORD_LENGTH) {
+			throw new IllegalArgumentException("Word longer than " + WordDictionary.MAX_WORD_LENGTH + " letters");
+		}
+		reset(word);
+		wordIndex = -1;
+	}
+	
+	/** Starts a game on dictionary word i; reuses this game's arrays. */
+	public void startNewGameAt(int i) {
+		reset(dictionary.wordAt(i));
+		wordIndex = i;
+	}
+	
+	/** Sets the word and builds its letter -> positions index. */
+	private void reset(String word) {
+		currentWord = word.toLowerCase();
+		int length = currentWord.length();
+		if (displayWord == null || displayWord.length != length) displayWord = new char[length];
+		Arrays.fill(displayWord, '*');
+		indexPositions();
 		misses = 0;
-		guessedLetters = new ArrayList<>();
+		remaining = length;
+		guessedMask = 0;
+		otherGuesses = "";
+	}
+	
+	/** Builds the letter -> positions index for the current word. */
+	private void indexPositions() {
+		Arrays.fill(positions, 0L);
+		for (int i = 0; i < currentWord.length(); i++) {
+			int l = currentWord.charAt(i) - 'a';
+			if (l >= 0 && l < 26) positions[l] |= 1L << i;
+		}
+	}
+	
+	/**
+	 * Swaps the secret word for dictionary word i without touching the guesses, misses or display.
+	 * The caller must pick a word of the same length that matches every letter guessed so far.
+	 */
+	protected void switchWord(int i) {
+		currentWord = dictionary.wordAt(i);
+		wordIndex = i;
+		indexPositions();
 	}
 	
 	public String getDisplayWord() {
@@ -64,20 +211,66 @@ public class Hangman {
 	}
 	
 	public boolean isWordComplete() {
-		return currentWord.equals(getDisplayWord());
+		return remaining == 0;
 	}
 	
 	public String guessLetter(char c) {
 		c = Character.toLowerCase(c);
-		if (guessedLetters.contains(c)) {
+		int l = c - 'a';
+		if (l < 0 || l >= 26) return guessOther(c);
+		
+		int bit = 1 << l;
+		if ((guessedMask & bit) != 0) {
+			return ALREADY_GUESSED[l];
+		}
+		return applyGuess(l) ? GOOD_GUESS : NOT_IN_WORD[l];
+	}
+	
+	/** Records a new a-z guess and reveals its positions; returns whether the letter is in the word. */
+	private boolean applyGuess(int l) {
+		guessedMask |= 1 << l;
+		long found = positions[l];
+		if (found == 0) {
+			misses++;
+			return false;
+		}
+		remaining -= Long.bitCount(found);
+		for (long m = found; m != 0; m &= m - 1) {
+			displayWord[Long.numberOfTrailingZeros(m)] = (char) ('a' + l);
+		}
+		return true;
+	}
+	
+	/** Restarts on dictionary word i with the given a-z letters already guessed (used by GameSnapshot). */
+	public void restoreGame(int i, int guessedMask) {
+		startNewGameAt(i);
+		applyGuesses(guessedMask);
+	}
+	
+	/** Restarts on the given word with the given a-z letters already guessed (used by GameSnapshot). */
+	public void restoreGame(String word, int guessedMask) {
+		startNewGame(word);
+		applyGuesses(guessedMask);
+	}
+	
+	private void applyGuesses(int mask) {
+		for (int m = mask & ((1 << 26) - 1); m != 0; m &= m - 1) {
+			applyGuess(Integer.numberOfTrailingZeros(m));
+		}
+	}
+	
+	/** Handles a guess outside a-z by scanning the word. */
+	private String guessOther(char c) {
+		if (otherGuesses.indexOf(c) >= 0) {
 			return c + " is already guessed.";
 		}
-		guessedLetters.add(c);
+		otherGuesses += c;
 		
 		boolean found = false;
-		for (int i = 0; i < currentWord.length(); i++) {
+		for (int i = 0; i < displayWord.length; i++) {
 			if (currentWord.charAt(i) == c) {
 				displayWord[i] = c;
+				remaining--;
 				found = true;
 			}
 		}
@@ -86,11 +279,23 @@ public class Hangman {
 			misses++;
 			return c + " is not in the word.";
 		}
-		return "Good guess!";
+		return GOOD_GUESS;
 	}
 	
 	public String getWord() {
 		return currentWord;
 	}
 	
+	public int getGuessedMask() {
+		return guessedMask;
+	}
+	
+	public int getWordIndex() {
+		return wordIndex;
+	}
+	
+	public WordDictionary getDictionary() {
+		return dictionary;
+	}
+	
 }
@@ -0,0 +1,203 @@
+/*
+ * Class: HangmanBatchRunner
+ * -> This class is a headless runner that plays Hangman once for every word in a dictionary with a pluggable
+ *    guessing strategy. The word range is split with fork/join across all cores. Each leaf task reuses one
+ *    Hangman (restarted with startNewGameAt) and its worker thread's strategy, so a game costs little more
+ *    than its guesses. It reports the win rate, the distribution of misses and words per second.
+ *
+ * Exclusive Functions:
+ * HangmanBatchRunner() - Creates a runner for the dictionary, a strategy factory and the misses that end a game.
+ * @param - WordDictionary dictionary, Supplier<GuessStrategy> strategies, int maxMisses, @return - none
+ *
+ * run() - Plays every dictionary word on a ForkJoinPool with the given parallelism and returns the totals.
+ * @param - int workers, @return - Result
+ *
+ * playGame() - Plays dictionary word i to a win or maxMisses misses and returns the misses.
+ * @param - Hangman game, GuessStrategy strategy, int i, @return - int
+ *
+ * solver() - A strategy factory that follows HangmanSolver's hints; all strategies share one set of dictionary bitsets.
+ * @param - WordDictionary dictionary, @return - Supplier<GuessStrategy>
+ *
+ * main() - Command line: wordFile [workers [maxMisses]], solver strategy.
+ * @param - String[] args, @return - void
+ *
+ * Notes:
+ * - A game is won when the word is complete before maxMisses misses (LE52View ends the game at 7).
+ * - Strategies may keep state between guesses, so run() asks the factory for one strategy per worker thread.
+ * - FREQUENCY guesses letters in fixed English frequency order and needs no dictionary.
+ * - A strategy that repeats a guess ends its game as a loss instead of looping.
+ */
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+public class HangmanBatchRunner {
+
+	/** Chooses the next letter for the game. */
+	public interface GuessStrategy {
+		char nextGuess(Hangman game);
+	}
+
+	/** Guesses the most common English letters first. */
+	public static final GuessStrategy FREQUENCY = game -> {
+		String order = "etaoinshrdlucmfwypvbgkjqxz";
+		for (int k = 0; k < order.length(); k++) {
+			char c = order.charAt(k);
+			if ((game.getGuessedMask() & (1 << (c - 'a'))) == 0) return c;
+		}
+		return '\0';
+	};
+
+	/** Number of words a leaf task plays before it stops splitting. */
+	private static final int LEAF_WORDS = 1 << 12;
+
+	private final WordDictionary dictionary;
+	private final Supplier<GuessStrategy> strategies;
+	private final int maxMisses;
+
+	public HangmanBatchRunner(WordDictionary dictionary, Supplier<GuessStrategy> strategies, int maxMisses) {
+		this.dictionary = dictionary;
+		this.strategies = strategies;
+		this.maxMisses = maxMisses;
+	}
+
+	/** Returns a factory for strategies that follow HangmanSolver's hints. */
+	public static Supplier<GuessStrategy> solver(WordDictionary dictionary) {
+		HangmanSolver index = new HangmanSolver(dictionary);
+		return () -> {
+			HangmanSolver solver = new HangmanSolver(index, false); // the runner already keeps every worker busy
+			return game -> solver.suggest(game.getDisplayWord(), game.getGuessedMask());
+		};
+	}
+
+	/** Plays every word and returns wins, the misses histogram and timing. */
+	public Result run(int workers) {
+		ThreadLocal<GuessStrategy> strategy = ThreadLocal.withInitial(strategies);
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		try {
+			long start = System.nanoTime();
+			Result result = pool.invoke(new Batch(0, dictionary.size(), strategy));
+			result.nanos = System.nanoTime() - start;
+			return result;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/** Plays word i until it is complete or maxMisses is reached; returns the misses. */
+	public int playGame(Hangman game, GuessStrategy strategy, int i) {
+		game.startNewGameAt(i);
+		while (!game.isWordComplete() && game.getMisses() < maxMisses) {
+			int before = game.getGuessedMask();
+			char c = strategy.nextGuess(game);
+			if (c == '\0') break;
+			game.guessLetter(c);
+			if (game.getGuessedMask() == before) return maxMisses; // repeated or invalid guess
+		}
+		return game.isWordComplete() ? game.getMisses() : maxMisses;
+	}
+
+	/** Fork/join task for words [from, to). */
+	private class Batch extends RecursiveTask<Result> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final ThreadLocal<GuessStrategy> strategy;
+
+		Batch(int from, int to, ThreadLocal<GuessStrategy> strategy) {
+			this.from = from;
+			this.to = to;
+			this.strategy = strategy;
+		}
+
+		@Override
+		protected Result compute() {
+			if (to - from > LEAF_WORDS) {
+				int mid = (from + to) >>> 1;
+				Batch left = new Batch(from, mid, strategy);
+				Batch right = new Batch(mid, to, strategy);
+				left.fork();
+				Result result = right.compute();
+				result.add(left.join());
+				return result;
+			}
+
+			Result result = new Result(maxMisses);
+			Hangman game = new Hangman(dictionary);
+			GuessStrategy guesser = strategy.get();
+			for (int i = from; i < to; i++) {
+				int misses = playGame(game, guesser, i);
+				if (misses < maxMisses) result.wins++;
+				result.missesHistogram[misses]++;
+			}
+			return result;
+		}
+	}
+
+	/** Totals of a batch run. */
+	public static class Result {
+
+		long wins;
+		long nanos;
+		final long[] missesHistogram; // [m] = games that ended with m misses; [maxMisses] = losses
+
+		Result(int maxMisses) {
+			missesHistogram = new long[maxMisses + 1];
+		}
+
+		void add(Result other) {
+			wins += other.wins;
+			for (int m = 0; m < missesHistogram.length; m++) missesHistogram[m] += other.missesHistogram[m];
+		}
+
+		public long getWins() { return wins; }
+		public long[] getMissesHistogram() { return missesHistogram.clone(); }
+
+		public long getGames() {
+			long games = 0;
+			for (long n : missesHistogram) games += n;
+			return games;
+		}
+
+		public double getWinRate() {
+			long games = getGames();
+			return games == 0 ? 0 : (double) wins / games;
+		}
+
+		public double getWordsPerSecond() {
+			return nanos == 0 ? 0 : getGames() * 1e9 / nanos;
+		}
+
+		@Override
+		public String toString() {
+			double games = Math.max(1, getGames());
+			StringBuilder sb = new StringBuilder();
+			sb.append(String.format("%,d words in %.2f s (%,.0f words/s)%n", getGames(), nanos / 1e9, getWordsPerSecond()));
+			sb.append(String.format("win rate %.2f%%%n", 100 * getWinRate()));
+			for (int m = 0; m < missesHistogram.length; m++) {
+				String label = (m == missesHistogram.length - 1) ? "lost" : m + " misses";
+				sb.append(String.format("%9s: %,d (%.2f%%)%n", label, missesHistogram[m], 100 * missesHistogram[m] / games));
+			}
+			return sb.toString();
+		}
+	}
+
+	/** Plays every word in the file with the solver strategy and prints the report. */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.out.println("Usage: java HangmanBatchRunner wordFile [workers [maxMisses]]");
+			return;
+		}
+		WordDictionary dictionary = WordDictionary.load(Paths.get(args[0]));
+		int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int maxMisses = args.length > 2 ? Integer.parseInt(args[2]) : 7;
+
+		HangmanBatchRunner runner = new HangmanBatchRunner(dictionary, solver(dictionary), maxMisses);
+		System.out.print(runner.run(workers));
+	}
+
+}
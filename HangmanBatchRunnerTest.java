@@ -0,0 +1,77 @@
+/*
+ * Class: HangmanBatchRunnerTest
+ * -> This class contains JUnit 5 tests for the HangmanBatchRunner.
+ *    It checks that every dictionary word is played exactly once, that results do not depend on the
+ *    parallelism, and that the solver strategy beats fixed frequency order.
+ *
+ * Exclusive Functions:
+ * testEveryWordPlayed() - The misses histogram sums to the dictionary size and wins match the non-lost buckets.
+ * @param - none, @return - void
+ *
+ * testParallelismIndependent() - One worker and four workers give identical totals.
+ * @param - none, @return - void
+ *
+ * testSolverBeatsFrequency() - The solver strategy wins more often than FREQUENCY.
+ * @param - none, @return - void
+ *
+ * testRepeatedGuessIsLoss() - A strategy that keeps guessing the same letter loses instead of looping.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HangmanBatchRunnerTest {
+
+	private WordDictionary dictionary;
+
+	@BeforeEach
+	void setUp() {
+		Random rand = new Random(3);
+		String[] words = new String[20_000];
+		for (int i = 0; i < words.length; i++) {
+			char[] w = new char[3 + rand.nextInt(10)];
+			for (int p = 0; p < w.length; p++) w[p] = (char) ('a' + rand.nextInt(26));
+			words[i] = new String(w);
+		}
+		dictionary = WordDictionary.of(words);
+	}
+
+	@Test
+	void testEveryWordPlayed() {
+		HangmanBatchRunner runner = new HangmanBatchRunner(dictionary, () -> HangmanBatchRunner.FREQUENCY, 7);
+		HangmanBatchRunner.Result result = runner.run(4);
+		long[] histogram = result.getMissesHistogram();
+		assertEquals(8, histogram.length);
+		assertEquals(dictionary.size(), result.getGames());
+		assertEquals(result.getGames() - histogram[7], result.getWins());
+		assertTrue(result.getWordsPerSecond() > 0);
+	}
+
+	@Test
+	void testParallelismIndependent() {
+		HangmanBatchRunner runner = new HangmanBatchRunner(dictionary, HangmanBatchRunner.solver(dictionary), 7);
+		HangmanBatchRunner.Result one = runner.run(1);
+		HangmanBatchRunner.Result four = runner.run(4);
+		assertArrayEquals(one.getMissesHistogram(), four.getMissesHistogram());
+	}
+
+	@Test
+	void testSolverBeatsFrequency() {
+		double frequency = new HangmanBatchRunner(dictionary, () -> HangmanBatchRunner.FREQUENCY, 7).run(2).getWinRate();
+		double solver = new HangmanBatchRunner(dictionary, HangmanBatchRunner.solver(dictionary), 7).run(2).getWinRate();
+		assertTrue(solver > frequency);
+	}
+
+	@Test
+	void testRepeatedGuessIsLoss() {
+		WordDictionary words = WordDictionary.of("abc", "qde");
+		HangmanBatchRunner runner = new HangmanBatchRunner(words, () -> game -> 'q', 7);
+		for (int i = 0; i < words.size(); i++) {
+			assertEquals(7, runner.playGame(new Hangman(words), game -> 'q', i));
+		}
+		assertEquals(0, runner.run(1).getWins());
+	}
+
+}
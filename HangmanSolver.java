@@ -0,0 +1,265 @@
+/*
+ * Class: HangmanSolver
+ * -> This class suggests the next Hangman guess from the masked word and the letters already guessed.
+ *    It keeps the words that still fit the game as a bitset over the dictionary. Each new guess narrows
+ *    that bitset with precomputed bitsets: a miss removes every word in the letter's "contains" bitset, and
+ *    a hit keeps only words in the letter's per-position bitsets at exactly the revealed positions, so the
+ *    dictionary is never rescanned. The suggested letter is the unguessed letter found in the most
+ *    remaining candidates.
+ *
+ * Exclusive Functions:
+ * HangmanSolver() - Builds the per-letter bitsets for the dictionary; letter counts may run in parallel unless parallel is false.
+ * @param - WordDictionary dictionary [, boolean parallel], @return - none
+ *
+ * HangmanSolver() - Creates a solver with its own game state that shares another solver's read-only bitsets
+ *                   (and its parallel setting, unless one is given).
+ * @param - HangmanSolver shared [, boolean parallel], @return - none
+ *
+ * suggest() - Narrows the candidates to the current game state and returns the best next letter.
+ * @param - String display, int guessedMask, @return - char ('\0' if every letter is guessed)
+ *
+ * reset() - Forgets the current game; call it when a new game starts, since a new word of the same length
+ *           can show a superset of the old guesses with the letters in different places.
+ * @param - none, @return - void
+ *
+ * getCandidateCount() - Returns how many dictionary words still fit the last state passed to suggest().
+ * @param - none, @return - int
+ *
+ * Notes:
+ * - The display uses '*' for hidden letters, as Hangman.getDisplayWord() does.
+ * - State is kept between calls: a call that only adds guesses is incremental; a different word length,
+ *   a guessed mask that is not a superset of the last one, or a reset() starts over from the length group.
+ * - Per-position bitsets for position p only cover words longer than p (a suffix of the length-sorted
+ *   dictionary), which keeps them to about 26 bits per dictionary letter.
+ * - Once few candidates are left they move from the bitset to a plain word list, so late guesses cost
+ *   O(candidates) instead of O(length group).
+ * - Letter counts run in parallel when the length group has at least PARALLEL_THRESHOLD words, which the larger
+ *   length groups of a 200k-word dictionary have, so the first hints of a game use every core. A caller that
+ *   already runs one solver per core (HangmanBatchRunner) turns parallel counting off instead.
+ * - If no word fits (the game word is not in the dictionary) the most common English letter not yet
+ *   guessed is suggested.
+ */
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class HangmanSolver {
+
+	/** Length groups at least this large are counted in parallel. */
+	public static final int PARALLEL_THRESHOLD = 1 << 14;
+
+	/** The bitset is dropped for a word list once it has this many longs per candidate. */
+	private static final int SPARSE_RATIO = 4;
+
+	private static final String FREQUENCY_ORDER = "etaoinshrdlucmfwypvbgkjqxz";
+
+	private final WordDictionary dictionary;
+	private final long[][] contains = new long[26][]; // contains[l] bit i set when word i has letter l
+	private final long[][][] atPosition; // atPosition[p][l] bit i set when word i has letter l at position p
+	private final int[] positionBase; // first long index covered by atPosition[p]
+	private final long[] candidates;
+	private final boolean parallel;
+	private int[] sparse = new int[64]; // candidate word indexes once the set is small
+
+	private int length = -1; // word length of the current candidate set
+	private int appliedMask; // guesses already applied to candidates
+	private int firstWord; // length group bounds as long indexes
+	private int endWord;
+	private int candidateCount;
+	private boolean isSparse; // candidates are in sparse[0, candidateCount) instead of the bitset
+	private int parallelCounts; // letter counts run in parallel (for tests)
+
+	public HangmanSolver(WordDictionary dictionary) {
+		this(dictionary, true);
+	}
+
+	public HangmanSolver(WordDictionary dictionary, boolean parallel) {
+		this.dictionary = dictionary;
+		this.parallel = parallel;
+		int words = (dictionary.size() + 63) >>> 6;
+		for (int l = 0; l < 26; l++) contains[l] = new long[words];
+		for (int i = 0; i < dictionary.size(); i++) {
+			for (int m = dictionary.letterMask(i); m != 0; m &= m - 1) {
+				contains[Integer.numberOfTrailingZeros(m)][i >>> 6] |= 1L << i;
+			}
+		}
+
+		int maxLength = dictionary.getMaxLength();
+		atPosition = new long[maxLength][26][];
+		positionBase = new int[maxLength];
+		for (int p = 0; p < maxLength; p++) {
+			positionBase[p] = dictionary.firstOfLength(p + 1) >>> 6;
+			for (int l = 0; l < 26; l++) atPosition[p][l] = new long[words - positionBase[p]];
+		}
+		for (int i = 0; i < dictionary.size(); i++) {
+			for (int p = 0; p < dictionary.length(i); p++) {
+				atPosition[p][dictionary.charAt(i, p) - 'a'][(i >>> 6) - positionBase[p]] |= 1L << i;
+			}
+		}
+		candidates = new long[words];
+	}
+
+	/** Shares the dictionary bitsets of another solver; only the candidate state is new. */
+	public HangmanSolver(HangmanSolver shared) {
+		this(shared, shared.parallel);
+	}
+
+	/** Shares the dictionary bitsets of another solver, counting letters in parallel only if parallel is true. */
+	public HangmanSolver(HangmanSolver shared, boolean parallel) {
+		dictionary = shared.dictionary;
+		this.parallel = parallel;
+		System.arraycopy(shared.contains, 0, contains, 0, 26);
+		atPosition = shared.atPosition;
+		positionBase = shared.positionBase;
+		candidates = new long[shared.candidates.length];
+	}
+
+	/** Returns the next letter to guess for the masked word and guessed letters. */
+	public char suggest(String display, int guessedMask) {
+		if (display.length() != length || (guessedMask & appliedMask) != appliedMask) {
+			start(display.length());
+		}
+
+		for (int m = guessedMask & ~appliedMask; m != 0; m &= m - 1) {
+			int l = Integer.numberOfTrailingZeros(m);
+			long revealed = 0;
+			for (int p = 0; p < display.length(); p++) {
+				if (display.charAt(p) == 'a' + l) revealed |= 1L << p;
+			}
+			if (isSparse) {
+				filterSparse(l, revealed);
+			} else if (revealed == 0) {
+				removeWordsWith(l);
+			} else {
+				keepPositions(l, revealed);
+			}
+			if (!isSparse && candidateCount * SPARSE_RATIO < endWord - firstWord) toSparse();
+		}
+		appliedMask = guessedMask;
+
+		return bestLetter(guessedMask);
+	}
+
+	/** Starts over from the length group on the next suggest(). */
+	public void reset() {
+		length = -1;
+	}
+
+	public int getCandidateCount() {
+		return candidateCount;
+	}
+
+	/** How many suggestions counted letters in parallel. */
+	int getParallelCounts() {
+		return parallelCounts;
+	}
+
+	/** Resets the candidates to every word of the given length. */
+	private void start(int wordLength) {
+		Arrays.fill(candidates, firstWord, endWord, 0L);
+		isSparse = false;
+		length = wordLength;
+		appliedMask = 0;
+		int first = dictionary.firstOfLength(wordLength);
+		int end = dictionary.endOfLength(wordLength);
+		firstWord = first >>> 6;
+		endWord = (end + 63) >>> 6;
+		candidateCount = end - first;
+		if (candidateCount == 0) return;
+		Arrays.fill(candidates, firstWord, endWord, -1L);
+		candidates[firstWord] &= -1L << first;
+		candidates[endWord - 1] &= -1L >>> (-end & 63);
+	}
+
+	/** A miss: drops every candidate containing the letter. */
+	private void removeWordsWith(int l) {
+		long[] letter = contains[l];
+		int count = 0;
+		for (int w = firstWord; w < endWord; w++) {
+			candidates[w] &= ~letter[w];
+			count += Long.bitCount(candidates[w]);
+		}
+		candidateCount = count;
+	}
+
+	/** A hit: keeps candidates that have the letter at exactly the revealed positions. */
+	private void keepPositions(int l, long revealed) {
+		long[] letter = contains[l];
+		int count = 0;
+		for (int w = firstWord; w < endWord; w++) {
+			long bits = candidates[w] & letter[w];
+			for (int p = 0; p < length && bits != 0; p++) {
+				long at = atPosition[p][l][w - positionBase[p]];
+				bits &= ((revealed >>> p) & 1) != 0 ? at : ~at;
+			}
+			candidates[w] = bits;
+			count += Long.bitCount(bits);
+		}
+		candidateCount = count;
+	}
+
+	/** Moves the remaining candidates from the bitset into the sparse word list. */
+	private void toSparse() {
+		if (sparse.length < candidateCount) sparse = new int[candidateCount];
+		int k = 0;
+		for (int w = firstWord; w < endWord; w++) {
+			for (long m = candidates[w]; m != 0; m &= m - 1) sparse[k++] = (w << 6) + Long.numberOfTrailingZeros(m);
+		}
+		isSparse = true;
+	}
+
+	/** Applies a guess to the sparse word list: revealed == 0 is a miss. */
+	private void filterSparse(int l, long revealed) {
+		int kept = 0;
+		for (int k = 0; k < candidateCount; k++) {
+			int i = sparse[k];
+			long positions = 0;
+			if ((dictionary.letterMask(i) & (1 << l)) != 0) {
+				for (int p = 0; p < length; p++) {
+					positions |= ((atPosition[p][l][(i >>> 6) - positionBase[p]] >>> i) & 1) << p;
+				}
+			}
+			if (positions == revealed) sparse[kept++] = i;
+		}
+		candidateCount = kept;
+	}
+
+	/** Picks the unguessed letter present in the most candidates. */
+	private char bestLetter(int guessedMask) {
+		int[] counts = new int[26];
+		if (isSparse) {
+			for (int k = 0; k < candidateCount; k++) {
+				for (int m = dictionary.letterMask(sparse[k]) & ~guessedMask; m != 0; m &= m - 1) {
+					counts[Integer.numberOfTrailingZeros(m)]++;
+				}
+			}
+		} else if (candidateCount > 0) {
+			IntStream letters = IntStream.range(0, 26).filter(l -> (guessedMask & (1 << l)) == 0);
+			if (parallel && (endWord - firstWord) << 6 >= PARALLEL_THRESHOLD) {
+				letters = letters.parallel();
+				parallelCounts++;
+			}
+			letters.forEach(l -> counts[l] = countWith(l));
+		}
+
+		int best = -1;
+		for (int l = 0; l < 26; l++) {
+			if ((guessedMask & (1 << l)) == 0 && counts[l] > 0 && (best < 0 || counts[l] > counts[best])) best = l;
+		}
+		if (best >= 0) return (char) ('a' + best);
+
+		for (int k = 0; k < FREQUENCY_ORDER.length(); k++) {
+			char c = FREQUENCY_ORDER.charAt(k);
+			if ((guessedMask & (1 << (c - 'a'))) == 0) return c;
+		}
+		return '\0';
+	}
+
+	/** Counts candidates containing letter l. */
+	private int countWith(int l) {
+		long[] letter = contains[l];
+		int count = 0;
+		for (int w = firstWord; w < endWord; w++) count += Long.bitCount(candidates[w] & letter[w]);
+		return count;
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Class: HangmanSolverTest
+ * -> This class contains JUnit 5 tests for HangmanSolver.
+ *    It plays games on a generated dictionary with the solver's suggestions and checks the incremental
+ *    candidate set against a brute-force filter of the whole dictionary after every guess.
+ *
+ * Exclusive Functions:
+ * testCandidatesMatchBruteForce() - After each suggested guess, the candidate count equals a full rescan's count.
+ * @param - none, @return - void
+ *
+ * testSuggestionIsMostCommonLetter() - On a fresh game, the hint is the letter in the most words of that length.
+ * @param - none, @return - void
+ *
+ * testNewGameStartsOver() - A shorter guessed mask or different length resets the candidates.
+ * @param - none, @return - void
+ *
+ * testResetBetweenGames() - A new game with the same length and a superset of the old guesses starts over after reset().
+ * @param - none, @return - void
+ *
+ * testWordOutsideDictionary() - When no word fits, the solver still suggests an unguessed letter.
+ * @param - none, @return - void
+ *
+ * testParallelCountsMatchSequential() - On a length group above PARALLEL_THRESHOLD, parallel letter counts run and give
+ *                                       the same hints as a solver with parallel counting turned off.
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Words are random strings over a small alphabet so length groups share many letters and patterns.
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HangmanSolverTest {
+
+	private WordDictionary dictionary;
+	private HangmanSolver solver;
+
+	@BeforeEach
+	void setUp() {
+		Random rand = new Random(7);
+		String[] words = new String[5000];
+		for (int i = 0; i < words.length; i++) {
+			char[] w = new char[4 + rand.nextInt(5)];
+			for (int p = 0; p < w.length; p++) w[p] = (char) ('a' + rand.nextInt(10));
+			words[i] = new String(w);
+		}
+		dictionary = WordDictionary.of(words);
+		solver = new HangmanSolver(dictionary);
+	}
+
+	@Test
+	void testCandidatesMatchBruteForce() {
+		Hangman game = new Hangman(dictionary);
+		for (int round = 0; round < 30; round++) {
+			game.startNewGame();
+			while (!game.isWordComplete()) {
+				char hint = solver.suggest(game.getDisplayWord(), game.getGuessedMask());
+				assertEquals(bruteForceCount(game.getDisplayWord(), game.getGuessedMask()), solver.getCandidateCount());
+				assertTrue(solver.getCandidateCount() > 0);
+				game.guessLetter(hint);
+			}
+		}
+	}
+
+	@Test
+	void testSuggestionIsMostCommonLetter() {
+		char hint = solver.suggest("*****", 0);
+		int[] counts = new int[26];
+		for (int i = dictionary.firstOfLength(5); i < dictionary.endOfLength(5); i++) {
+			for (int l = 0; l < 26; l++) if ((dictionary.letterMask(i) & (1 << l)) != 0) counts[l]++;
+		}
+		for (int l = 0; l < 26; l++) assertTrue(counts[hint - 'a'] >= counts[l]);
+		assertEquals(dictionary.endOfLength(5) - dictionary.firstOfLength(5), solver.getCandidateCount());
+	}
+
+	@Test
+	void testNewGameStartsOver() {
+		solver.suggest("****", 1 << ('z' - 'a'));
+		int afterMiss = solver.getCandidateCount();
+		solver.suggest("****", 0);
+		assertEquals(bruteForceCount("****", 0), solver.getCandidateCount());
+		assertEquals(afterMiss, bruteForceCount("****", 1 << ('z' - 'a')));
+		solver.suggest("******", 0);
+		assertEquals(bruteForceCount("******", 0), solver.getCandidateCount());
+	}
+
+	@Test
+	void testResetBetweenGames() {
+		WordDictionary small = WordDictionary.of("abcd", "bacd", "cbad", "dcba", "xbyz");
+		HangmanSolver hints = new HangmanSolver(small);
+		Hangman game = new Hangman(small);
+
+		game.startNewGame("abcd");
+		game.guessLetter('a');
+		hints.suggest(game.getDisplayWord(), game.getGuessedMask());
+		assertEquals(1, hints.getCandidateCount()); // only abcd has 'a' first
+
+		hints.reset();
+		game.startNewGame("bacd");
+		game.guessLetter('a');
+		game.guessLetter('b');
+		char hint = hints.suggest(game.getDisplayWord(), game.getGuessedMask());
+		assertEquals(1, hints.getCandidateCount()); // bacd
+		assertTrue(hint == 'c' || hint == 'd');
+	}
+
+	@Test
+	void testWordOutsideDictionary() {
+		Hangman game = new Hangman(dictionary);
+		game.startNewGame("zzzz");
+		game.guessLetter('z');
+		char hint = solver.suggest(game.getDisplayWord(), game.getGuessedMask());
+		assertEquals(0, solver.getCandidateCount());
+		assertTrue(hint >= 'a' && hint <= 'y');
+	}
+
+	@Test
+	void testParallelCountsMatchSequential() {
+		Random rand = new Random(11);
+		String[] words = new String[HangmanSolver.PARALLEL_THRESHOLD + 1000];
+		for (int i = 0; i < words.length; i++) {
+			char[] w = new char[7];
+			for (int p = 0; p < w.length; p++) w[p] = (char) ('a' + rand.nextInt(26));
+			words[i] = new String(w);
+		}
+		WordDictionary large = WordDictionary.of(words);
+		HangmanSolver parallel = new HangmanSolver(large);
+		HangmanSolver sequential = new HangmanSolver(parallel, false);
+		Hangman game = new Hangman(large);
+		for (int round = 0; round < 3; round++) {
+			game.startNewGame();
+			parallel.reset();
+			sequential.reset();
+			while (!game.isWordComplete()) {
+				char hint = parallel.suggest(game.getDisplayWord(), game.getGuessedMask());
+				assertEquals(sequential.suggest(game.getDisplayWord(), game.getGuessedMask()), hint);
+				assertEquals(sequential.getCandidateCount(), parallel.getCandidateCount());
+				game.guessLetter(hint);
+			}
+		}
+		assertTrue(parallel.getParallelCounts() >= 3); // at least the first hint of each game
+		assertEquals(0, sequential.getParallelCounts());
+	}
+
+	/** Counts dictionary words matching the display and guesses by checking every word. */
+	private int bruteForceCount(String display, int guessedMask) {
+		int count = 0;
+		for (int i = 0; i < dictionary.size(); i++) {
+			String word = dictionary.wordAt(i);
+			if (word.length() != display.length()) continue;
+			boolean fits = true;
+			for (int p = 0; p < word.length() && fits; p++) {
+				char shown = display.charAt(p);
+				boolean guessed = (guessedMask & (1 << (word.charAt(p) - 'a'))) != 0;
+				fits = (shown == '*') ? !guessed : shown == word.charAt(p);
+			}
+			if (fits) count++;
+		}
+		return count;
+	}
+
+}
@@ -24,6 +24,15 @@
  * testWordCompletion() - Guesses all letters of the word and asserts isWordComplete() returns true.
  * @param - none, @return - void
  * 
+ * testRepeatedLettersRevealTogether() - A letter appearing several times is revealed everywhere by one guess, and completion tracks hidden positions.
+ * @param - none, @return - void
+ * 
+ * testGuessedMask() - The guessed mask records a-z guesses case-insensitively and is cleared by a new game.
+ * @param - none, @return - void
+ * 
+ * testLetterOutsideAToZ() - Letters outside a-z are still revealed, counted as misses, and detected as repeats.
+ * @param - none, @return - void
+ * 
  * Notes:
  * - Tests use JUnit 5 annotations and assertions.
  * - The Hangman implementation selects a random word; tests assume at least one predictable behavior (e.g., first-letter guesses).
@@ -80,4 +89,42 @@ public class HangmanTest {
         assertTrue(game.isWordComplete());
     }
 
+    @Test
+    void testRepeatedLettersRevealTogether() {
+        game.startNewGame("banana");
+        assertEquals("Good guess!", game.guessLetter('a'));
+        assertEquals("*a*a*a", game.getDisplayWord());
+        game.guessLetter('N');
+        assertFalse(game.isWordComplete());
+        game.guessLetter('b');
+        assertTrue(game.isWordComplete());
+        assertEquals(0, game.getMisses());
+    }
+
+    @Test
+    void testGuessedMask() {
+        game.startNewGame("java");
+        game.guessLetter('J');
+        game.guessLetter('z');
+        assertEquals((1 << ('j' - 'a')) | (1 << ('z' - 'a')), game.getGuessedMask());
+        assertEquals("z is already guessed.", game.guessLetter('Z'));
+        assertEquals(1, game.getMisses());
+        game.startNewGame("java");
+        assertEquals(0, game.getGuessedMask());
+    }
+
+    @Test
+    void testLetterOutsideAToZ() {
+        game.startNewGame("caf\u00e9");
+        assertEquals("Good guess!", game.guessLetter('\u00c9'));
+        assertEquals("***\u00e9", game.getDisplayWord());
+        assertTrue(game.guessLetter('\u00e9').contains("already"));
+        game.guessLetter('\u00fc');
+        assertEquals(1, game.getMisses());
+        game.guessLetter('c');
+        game.guessLetter('a');
+        game.guessLetter('f');
+        assertTrue(game.isWordComplete());
+    }
+
 }
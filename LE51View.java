@@ -5,46 +5,119 @@
  *    handles player moves and resets, and highlights the winning line when the game ends.
  * 
  * Exclusive Functions:
- * getContent() - Builds and returns the main VBox layout containing the title, status label, game grid, and reset button.
+ * LE51View() - Creates the view; with a journal, every move, undo, redo and reset is recorded under the session ID.
+ * @param - none / GameJournal journal, int session, @return - none
+ * 
+ * getContent() - Builds and returns the main VBox layout containing the title, status label, game grid, and control buttons.
  * @param - none, @return - VBox
  * 
- * handleMove() - Processes a user's click on a cell: validates the move, updates the game model and UI, sets status text, detects a win or draw, and prevents further moves when the game is over.
- * @param - Button cell, int row, int col, @return - void
+ * handleMove() - Processes a user's click on a cell: validates the move, updates the game model, sets status text, detects a win or draw, and prevents further moves when the game is over.
+ *                In "vs CPU" mode the computer (O) answers right after the player's move.
+ * @param - int row, int col, @return - void
+ * 
+ * applyMove() - Places the current player's mark on the model, then updates the status and game-over state.
+ * @param - int row, int col, @return - void
+ * 
+ * undoMove() - Takes back the last move (the player's move and the CPU reply in "vs CPU" mode).
+ * @param - none, @return - void
+ * 
+ * redoMove() - Replays undone moves.
+ * @param - none, @return - void
+ * 
+ * refreshStatus() - Sets the status text and game-over flag from the model, highlighting or clearing the winning line.
+ * @param - none, @return - void
+ * 
+ * playCpuMove() - Looks up the best reply in the mapped TicTacToeTable (or asks TicTacToeAI until the table is ready) and applies it.
+ * @param - none, @return - void
+ * 
+ * openTable() - Maps ~/.le5-tictactoe.tbl, generating it on first launch; returns null if it cannot be written.
+ * @param - none, @return - TicTacToeTable
  * 
- * highlightWinner() - Scans the board for the winning line and applies winner styling to the three winning cells.
+ * highlightWinner() - Adds the winner style class to the cells of the model's winning line.
  * @param - none, @return - void
  * 
- * styleWinner() - Applies green "winner" styling to the provided cell buttons.
- * @param - Button... buttons, @return - void
+ * clearHighlight() - Removes the winner style class from a winning line that has been undone or reset.
+ * @param - none, @return - void
+ * 
+ * saveState() - Writes the mode and the game (GameSnapshot record) into the buffer.
+ * @param - ByteBuffer out, @return - void
+ * 
+ * restoreState() - Reads state written by saveState(); call it before getContent(), which then shows the restored board.
+ * @param - ByteBuffer in, @return - void
+ * 
+ * onTicTacToeNew() / onTicTacToeMove() / onTicTacToeUndo() / onTicTacToeRedo() - Apply replayed journal events to the game
+ *                 (used by App to recover after a crash, before the content is built).
+ * @param - int session, ..., @return - void
+ * 
+ * checkpoint() - Records the whole view state in the journal, so replay starts from it.
+ * @param - none, @return - void
  * 
  * Notes:
- * - This view relies on a TicTacToe model class that exposes getTurn(), addMove(row,col), hasWinner(), getWinner(), isBoardFull(), and resetGame().
- * - Styling and button sizing are applied inline to keep the view self-contained.
+ * - This view relies on a TicTacToe model class that exposes getTurn(), addMove(row,col), hasWinner(), getWinner(), isBoardFull(), resetGame(),
+ *   getWinningLine() and setCellListener().
+ * - Cell buttons are repainted only from the model's cell-change events, so a move, undo or reset touches only the cells it changed.
+ * - The mode button switches between two players and "vs CPU"; switching mode resets the board.
+ * - One TicTacToeAI is kept per view so its transposition table survives resets.
+ * - The endgame table is mapped (and, the first time, generated) on a background thread shared by all views;
+ *   until it is ready, or if the file cannot be written, the CPU uses live search.
+ * - Saved state holds no JavaFX objects, so it can be written after every move and restored before the UI exists.
+ * - The journal gets a checkpoint when the content is built and when the mode changes; moves, undo, redo and resets
+ *   are recorded as single events in between.
+ * - Cell styling comes from the ttt-cell / ttt-win classes in tictactoe.css, so no style strings are parsed per move.
  */
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
-public class LE51View {
+public class LE51View implements ViewCache.View<VBox>, GameJournal.Recoverable {
+	
+	private static final String CELL_CLASS = "ttt-cell";
+	private static final String WIN_CLASS = "ttt-win";
 	
 	private TicTacToe game;
 	private Label statusLabel;
 	private boolean gameOver = false; // prevent moves after winner
 	private Button[][] cells;
+	private int[] highlighted = new int[0]; // cells currently styled as the winning line
+	private boolean vsCpu = false; // computer plays O when true
+	private final TicTacToeAI ai = new TicTacToeAI();
+	private static final Path TABLE_FILE = Paths.get(System.getProperty("user.home"), ".le5-tictactoe.tbl");
+	private static final CompletableFuture<TicTacToeTable> TABLE = CompletableFuture.supplyAsync(LE51View::openTable);
+	private final GameJournal journal; // null when not journaling
+	private final int session;
 	
-	public VBox getContent() {
+	public LE51View() {
+		this(null, 0);
+	}
 	
-		game = new TicTacToe();
+	public LE51View(GameJournal journal, int session) {
+		this.journal = journal;
+		this.session = session;
+	}
+	
+	public VBox getContent() {
 		
+		if (game == null) game = new TicTacToe();
 		
+
 		// VBox for LE51 Content
 		VBox le51Content = new VBox(10);
 		le51Content.setAlignment(Pos.CENTER);
-					
+		URL css = LE51View.class.getResource("tictactoe.css");
+		if (css != null) le51Content.getStylesheets().add(css.toExternalForm());
+		
 		Label title = new Label("TicTacToe");
 		title.setFont(Font.font("Times New Roman", 32));
 		title.setTextFill(Color.WHITE);
@@ -62,95 +135,201 @@ public class LE51View {
 			for(int j = 0; j < 3; j++) {
 				Button cell = new Button(" ");
 				cell.setPrefSize(80, 80);
-				cell.setStyle("-fx-font-size: 28px; -fx-font-weight: bold; "
-                        + "-fx-background-color: #3E3E4E; -fx-text-fill: white;");
+				cell.getStyleClass().add(CELL_CLASS);
 				final int row = i, col = j;
-				cell.setOnAction(e -> handleMove(cell, row, col));
+				cell.setOnAction(e -> handleMove(row, col));
 				cells[i][j] = cell;
 				grid.add(cell, j, i);
 			}
 		}
 		
+		// The model reports exactly which cells changed
+		game.setCellListener((row, col, mark) -> cells[row][col].setText(String.valueOf(mark)));
+		
 		Button resetBtn = new Button("Reset");
 		ButtonStyler.styleActionButton(resetBtn);
+		
+		Button modeBtn = new Button(vsCpu ? "Mode: vs CPU" : "Mode: 2 Players");
+		ButtonStyler.styleActionButton(modeBtn);
+		
 		resetBtn.setOnAction(e -> {
-			game.resetGame();
-			statusLabel.setText("Turn: X");
-			gameOver = false;
-			for (Button[] row : cells) {
-				for (Button b: row) {
-					b.setText(" ");
-					b.setStyle("-fx-font-size: 28px; -fx-font-weight: bold; "
-                            + "-fx-background-color: #3E3E4E; -fx-text-fill: white;");
-				}
-			}
+			if (journal != null) journal.newGame(session, game);
+			else game.resetGame();
+			refreshStatus();
 		});
 		
-		le51Content.getChildren().addAll(title, statusLabel, grid, resetBtn);
+		Button undoBtn = new Button("Undo");
+		ButtonStyler.styleActionButton(undoBtn);
+		undoBtn.setOnAction(e -> undoMove());
+		
+		Button redoBtn = new Button("Redo");
+		ButtonStyler.styleActionButton(redoBtn);
+		redoBtn.setOnAction(e -> redoMove());
+		
+		modeBtn.setOnAction(e -> {
+			vsCpu = !vsCpu;
+			modeBtn.setText(vsCpu ? "Mode: vs CPU" : "Mode: 2 Players");
+			resetBtn.fire();
+			checkpoint();
+		});
+		
+		HBox controls = new HBox(10, undoBtn, redoBtn, resetBtn, modeBtn);
+		controls.setAlignment(Pos.CENTER);
+		
+		le51Content.getChildren().addAll(title, statusLabel, grid, controls);
+		
+		// Show a restored game (its moves were made before the listener existed)
+		if (game.getMoveCount() > 0) {
+			for (int i = 0; i < 3; i++) {
+				for (int j = 0; j < 3; j++) cells[i][j].setText(String.valueOf(game.getCell(i, j)));
+			}
+			refreshStatus();
+		}
+		checkpoint();
 		return le51Content;
 	}
 	
-	private void handleMove(Button cell, int row, int col) {
+	/** Writes the mode flag and a TicTacToe snapshot. */
+	public void saveState(ByteBuffer out) {
+		out.put((byte) (vsCpu ? 1 : 0));
+		GameSnapshot.writeTicTacToe(game != null ? game : new TicTacToe(), out);
+	}
+	
+	/** Restores state written by saveState() before the content is built. */
+	public void restoreState(ByteBuffer in) {
+		vsCpu = in.get() != 0;
+		TicTacToe restored = GameSnapshot.readTicTacToe(in);
+		if (restored.getSize() != 3) throw new IllegalArgumentException("LE51View plays 3x3 only");
+		game = restored;
+	}
+	
+	@Override
+	public void onTicTacToeNew(int session, int size, int winLength) {
+		game().resetGame();
+	}
+	
+	@Override
+	public void onTicTacToeMove(int session, int cell) {
+		game().addMove(cell / 3, cell % 3);
+	}
+	
+	@Override
+	public void onTicTacToeUndo(int session) {
+		game().undo();
+	}
+	
+	@Override
+	public void onTicTacToeRedo(int session) {
+		game().redo();
+	}
+	
+	/** Records the mode and board as the journal's new starting point. */
+	private void checkpoint() {
+		if (journal != null) journal.checkpoint(session, GameSnapshot.capture(this::saveState));
+	}
+	
+	private TicTacToe game() {
+		if (game == null) game = new TicTacToe();
+		return game;
+	}
+	
+	private void handleMove(int row, int col) {
 		
 		if (gameOver) return; // stop moves if game ended
-		if(!cell.getText().equals(" ")) return; // already filled
-		
-		char turn = game.getTurn();
-		if (game.addMove(row, col)) {
-			cell.setText(String.valueOf(turn));
-			if (game.hasWinner()) {
-				statusLabel.setText("Winner: " + game.getWinner());
-				gameOver = true;
-				highlightWinner();
-			} else if (game.isBoardFull()) {
-				statusLabel.setText("Draw!");
-				gameOver = true;
-			} else {
-				statusLabel.setText("Turn: " + game.getTurn());
-			}
+		if (game.getCell(row, col) != ' ') return; // already filled
+		
+		applyMove(row, col);
+		if (vsCpu && !gameOver) {
+			playCpuMove();
+		}
+	}
+	
+	private void applyMove(int row, int col) {
+		boolean placed = (journal != null) ? journal.addMove(session, game, row, col) : game.addMove(row, col);
+		if (placed) {
+			refreshStatus();
+		}
+	}
+	
+	/** Takes back one move, or the player's move plus the CPU reply in "vs CPU" mode. */
+	private void undoMove() {
+		if (!game.canUndo()) return;
+		undoOne();
+		if (vsCpu && game.getTurn() == 'O' && game.canUndo()) {
+			undoOne();
+		}
+		refreshStatus();
+	}
+	
+	/** Replays undone moves, keeping the player and CPU moves paired in "vs CPU" mode. */
+	private void redoMove() {
+		if (!game.canRedo()) return;
+		redoOne();
+		if (vsCpu && game.getTurn() == 'O' && game.canRedo()) {
+			redoOne();
+		}
+		refreshStatus();
+	}
+	
+	private void undoOne() {
+		if (journal != null) journal.undo(session, game);
+		else game.undo();
+	}
+	
+	private void redoOne() {
+		if (journal != null) journal.redo(session, game);
+		else game.redo();
+	}
+	
+	/** Updates the status label, game-over flag and winner highlight from the model. */
+	private void refreshStatus() {
+		if (game.hasWinner()) {
+			statusLabel.setText("Winner: " + game.getWinner());
+			gameOver = true;
+			highlightWinner();
+		} else if (game.isBoardFull()) {
+			clearHighlight();
+			statusLabel.setText("Draw!");
+			gameOver = true;
+		} else {
+			clearHighlight();
+			statusLabel.setText("Turn: " + game.getTurn());
+			gameOver = false;
+		}
+	}
+	
+	/** Lets the computer place its mark for the current turn. */
+	private void playCpuMove() {
+		TicTacToeTable table = TABLE.getNow(null);
+		int move = (table != null) ? table.bestMove(game) : ai.bestMove(game);
+		if (move < 0) return;
+		applyMove(move / 3, move % 3);
+	}
+	
+	/** Maps the precomputed endgame table, generating it if needed. */
+	private static TicTacToeTable openTable() {
+		try {
+			return TicTacToeTable.openOrGenerate(TABLE_FILE);
+		} catch (IOException e) {
+			return null; // fall back to live search
 		}
 	}
 	
 	/** Highlights the winning line in green */
 	private void highlightWinner() {
-        // Check rows
-        for (int i = 0; i < 3; i++) {
-            if (!cells[i][0].getText().equals(" ") &&
-                cells[i][0].getText().equals(cells[i][1].getText()) &&
-                cells[i][1].getText().equals(cells[i][2].getText())) {
-                styleWinner(cells[i][0], cells[i][1], cells[i][2]);
-                return;
-            }
-        }
-        // Check columns
-        for (int j = 0; j < 3; j++) {
-            if (!cells[0][j].getText().equals(" ") &&
-                cells[0][j].getText().equals(cells[1][j].getText()) &&
-                cells[1][j].getText().equals(cells[2][j].getText())) {
-                styleWinner(cells[0][j], cells[1][j], cells[2][j]);
-                return;
-            }
-        }
-        // Check diagonals
-        if (!cells[0][0].getText().equals(" ") &&
-            cells[0][0].getText().equals(cells[1][1].getText()) &&
-            cells[1][1].getText().equals(cells[2][2].getText())) {
-            styleWinner(cells[0][0], cells[1][1], cells[2][2]);
-            return;
-        }
-        if (!cells[0][2].getText().equals(" ") &&
-            cells[0][2].getText().equals(cells[1][1].getText()) &&
-            cells[1][1].getText().equals(cells[2][0].getText())) {
-            styleWinner(cells[0][2], cells[1][1], cells[2][0]);
-        }
-    }
-
-    /** Applies green styling to winning tiles */
-    private void styleWinner(Button... buttons) {
-        for (Button b : buttons) {
-            b.setStyle("-fx-font-size: 28px; -fx-font-weight: bold; "
-                     + "-fx-background-color: #2E7D32; -fx-text-fill: white;");
-        }
-    }
+		if (highlighted.length > 0) return; // already shown
+		highlighted = game.getWinningLine();
+		for (int cell : highlighted) {
+			cells[cell / 3][cell % 3].getStyleClass().add(WIN_CLASS);
+		}
+	}
+	
+	/** Removes the winner styling after the winning move is undone */
+	private void clearHighlight() {
+		for (int cell : highlighted) {
+			cells[cell / 3][cell % 3].getStyleClass().remove(WIN_CLASS);
+		}
+		highlighted = new int[0];
+	}
 
 }
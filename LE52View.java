@@ -5,17 +5,43 @@
  *    wires the UI to the Hangman game model, updates UI state on guesses/resets, and draws the hangman figure progressively on misses.
  * 
  * Exclusive Functions:
+ * LE52View() - Creates the view; with a journal, every guess and new game is recorded under the session ID.
+ * @param - none / GameJournal journal, int session, @return - none
+ * 
  * getContent() - Builds and returns the main VBox layout containing the title, masked word label, input controls, status labels, drawing pane, and reset button.
  * @param - none, @return - VBox
  * 
+ * saveState() - Writes the mode and the game (GameSnapshot record) into the buffer.
+ * @param - ByteBuffer out, @return - void
+ * 
+ * restoreState() - Reads state written by saveState(); call it before getContent(), which then shows the restored game.
+ * @param - ByteBuffer in, @return - void
+ * 
+ * onHangmanGuess() - Applies a replayed journal guess to the game (used by App to recover after a crash).
+ * @param - int session, char letter, @return - void
+ * 
+ * checkpoint() - Records the whole view state (mode and game) in the journal, so replay starts from it.
+ * @param - none, @return - void
+ * 
+ * showHint() - Asks the HangmanSolver for the best next letter and shows it in the status label.
+ * @param - none, @return - void
+ * 
  * drawHangman() - Draws the hangman gallows and figure progressively based on the number of misses.
  * @param - int misses, @return - void
  * 
  * Notes:
  * - This view depends on a Hangman model class with methods: startNewGame(), getDisplayWord(), guessLetter(char), getMisses(), getWord(), and isWordComplete().
- * - Input is validated to accept a single letter per guess; the UI disables input when the game ends.
+ * - Input is validated to accept a single letter A-Z per guess (the letters GameSnapshot can store, so a restored
+ *   game keeps every miss); the UI disables input when the game ends.
  * - The drawing uses simple JavaFX shapes added to a Pane and is cleared on reset.
+ * - The mode button switches between normal Hangman and EvilHangman (which dodges guesses by changing its word); switching starts a new game.
+ * - The journal gets a checkpoint when the content is built and on every new game (including mode switches,
+ *   since EvilHangman's word is not fixed); each guess is a single event in between.
+ * - The Hint button uses a HangmanSolver built once over the game's dictionary; hints are incremental, so they stay fast on large dictionaries.
+ *   The solver is reset on every new game (Play Again and mode switch), so it never filters on a previous word.
  */
+import java.nio.ByteBuffer;
+
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -23,17 +49,31 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
 import javafx.scene.text.Font;
 
-public class LE52View {
+public class LE52View implements ViewCache.View<VBox>, GameJournal.Recoverable {
 	
 	private Hangman game;
 	private Label wordLabel;
 	private Label statusLabel;
 	private Label missesLabel;
 	private Pane hangmanPane;
+	private HangmanSolver solver;
+	private boolean evilMode = false; // play EvilHangman when true
+	private final GameJournal journal; // null when not journaling
+	private final int session;
+	
+	public LE52View() {
+		this(null, 0);
+	}
+	
+	public LE52View(GameJournal journal, int session) {
+		this.journal = journal;
+		this.session = session;
+	}
 	
 	public VBox getContent() {
 		
-		game = new Hangman();
+		if (game == null) game = new Hangman();
+		solver = new HangmanSolver(game.getDictionary());
 		
 		VBox le52Content = new VBox(10);
 		le52Content.setAlignment(Pos.CENTER);
@@ -52,10 +92,14 @@ public class LE52View {
 		Button guessBtn = new Button("Guess");
 		ButtonStyler.styleActionButton(guessBtn);
 		
+		Button hintBtn = new Button("Hint");
+		ButtonStyler.styleActionButton(hintBtn);
+		hintBtn.setOnAction(e -> showHint());
+		
 		statusLabel = new Label();
         statusLabel.setTextFill(Color.YELLOW);
 		
-        missesLabel = new Label("Misses: 0");
+        missesLabel = new Label("Misses: " + game.getMisses());
         missesLabel.setTextFill(Color.RED);
 		
         // Pane for hangman drawing
@@ -78,7 +122,7 @@ public class LE52View {
 				return;
 			}
 
-			else if(!Character.isLetter(input.charAt(0)))
+			else if(Character.toLowerCase(input.charAt(0)) < 'a' || Character.toLowerCase(input.charAt(0)) > 'z')
 			{	
 				statusLabel.setText("Invalid input. Please enter a letter (A-Z).");
 				return;
@@ -89,7 +133,7 @@ public class LE52View {
 				statusLabel.setText("");
 				
 				char guess = inputField.getText().trim().charAt(0);
-				String result = game.guessLetter(guess);
+				String result = (journal != null) ? journal.guessLetter(session, game, guess) : game.guessLetter(guess);
 
 				wordLabel.setText(game.getDisplayWord());
 				statusLabel.setText(result);
@@ -106,6 +150,7 @@ public class LE52View {
 				{
 					inputField.setDisable(true);
 					guessBtn.setDisable(true);
+					hintBtn.setDisable(true);
 
 					statusLabel.setText("Game Over! The word was " + game.getWord() + ".");
 				}
@@ -123,18 +168,77 @@ public class LE52View {
 		resetBtn.setOnAction(e -> 
 		{
 			game.startNewGame();
+			solver.reset(); // also runs on a mode switch, which fires this button
+			checkpoint();
 			inputField.setDisable(false);
 			guessBtn.setDisable(false);
+			hintBtn.setDisable(false);
 			wordLabel.setText(game.getDisplayWord());
 			statusLabel.setText("");
 			missesLabel.setText("Misses: 0");
 			hangmanPane.getChildren().clear(); // clear drawing
 		});
+		
+		Button modeBtn = new Button(evilMode ? "Mode: Evil" : "Mode: Normal");
+		ButtonStyler.styleActionButton(modeBtn);
+		modeBtn.setOnAction(e -> 
+		{
+			evilMode = !evilMode;
+			game = evilMode ? new EvilHangman(game.getDictionary()) : new Hangman(game.getDictionary());
+			modeBtn.setText(evilMode ? "Mode: Evil" : "Mode: Normal");
+			resetBtn.fire();
+		});
+		
+		HBox controls = new HBox(10, resetBtn, modeBtn);
+		controls.setAlignment(Pos.CENTER);
 							
-		le52Content.getChildren().addAll(label52, wordLabel, inputField, guessBtn, statusLabel, missesLabel, hangmanPane, resetBtn);
+		le52Content.getChildren().addAll(label52, wordLabel, inputField, guessBtn, hintBtn, statusLabel, missesLabel, hangmanPane, controls);
+		
+		// Show a restored game
+		if (game.getMisses() != 0) drawHangman(game.getMisses());
+		if (game.getMisses() >= 7)
+		{
+			inputField.setDisable(true);
+			guessBtn.setDisable(true);
+			hintBtn.setDisable(true);
+		}
+		checkpoint();
 		return le52Content;
 	}
 	
+	/** Writes the mode flag and a Hangman snapshot */
+	public void saveState(ByteBuffer out) {
+		out.put((byte) (evilMode ? 1 : 0));
+		GameSnapshot.writeHangman(game != null ? game : new Hangman(), out);
+	}
+	
+	/** Restores state written by saveState() before the content is built */
+	public void restoreState(ByteBuffer in) {
+		boolean evil = in.get() != 0;
+		Hangman restored = evil ? new EvilHangman() : new Hangman();
+		GameSnapshot.readHangman(in, restored);
+		evilMode = evil;
+		game = restored;
+	}
+	
+	@Override
+	public void onHangmanGuess(int session, char letter) {
+		if (game == null) game = new Hangman();
+		game.guessLetter(letter);
+	}
+	
+	/** Records the mode and game as the journal's new starting point */
+	private void checkpoint() {
+		if (journal != null) journal.checkpoint(session, GameSnapshot.capture(this::saveState));
+	}
+	
+	/** Shows the solver's suggested next letter */
+	private void showHint() {
+		if (game.isWordComplete() || game.getMisses() >= 7) return;
+		char hint = solver.suggest(game.getDisplayWord(), game.getGuessedMask());
+		if (hint != '\0') statusLabel.setText("Hint: try " + hint);
+	}
+	
 	/** Draws hangman figure based on number of misses */
 	private void drawHangman(int misses) {
         hangmanPane.getChildren().clear();
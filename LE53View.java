@@ -5,8 +5,8 @@
  *    and test the encrypted PIN for validation.
  * 
  * Exclusive Functions:
- * LE53View() - Default constructor for the class
- * @param - none, @return - none
+ * LE53View() - Creates the view; with a journal, every encryption is recorded under the session ID
+ * @param - none / GameJournal journal, int session, @return - none
  * 
  * getContent() - Builds and returns the main VBox layout containing all GUI elements
  * @param - none, @return - VBox
@@ -31,23 +31,167 @@
  * @param - Label, Label, TextField, Button, Button, Label, Label, Label
  * @return - void
  * 
- * arrayToInt() - Converts an array of integers into a single integer
- * @param - int[] array
+ * saveState() - Writes whether a PIN has been encrypted and, if so, the encrypted PIN (GameSnapshot record)
+ * @param - ByteBuffer out
+ * @return - void
+ * 
+ * restoreState() - Reads state written by saveState(); call it before getContent(), which then opens the testing screen
+ * @param - ByteBuffer in
+ * @return - void
+ * 
+ * onEncryption() - Applies a replayed journal encryption (used by App to recover after a crash)
+ * @param - int session, int encryptedPin
+ * @return - void
+ * 
+ * loadHash() - Reads the PIN's hash record from the vault and checks it against the PIN in the background,
+ *              hashing the PIN again (and storing it) if the vault has none or holds an older PIN's record
+ * @param - none
+ * @return - void
+ * 
+ * awaitPendingHash() - Waits up to the timeout for the last hash record to reach the vault; false if it did not (App.stop())
+ * @param - long timeoutMillis
+ * @return - boolean
+ * 
+ * checkpoint() - Records the view state in the journal, so replay starts from it
+ * @param - none
+ * @return - void
+ * 
+ * showResult() - Shows the outcome of a background verification (runs on the JavaFX thread)
+ * @param - Label errorMessage, TextField newPinField, Boolean matches, Throwable error
+ * @return - void
+ * 
+ * waitText() - Formats a wait in milliseconds as seconds or minutes
+ * @param - long millis
+ * @return - String
+ * 
+ * storeHash() - Saves the hash record in the PIN vault (runs on a verifier thread)
+ * @param - byte[] record
+ * @return - void
+ * 
+ * vault() - Opens (or creates) the PIN vault file on first use; null if it cannot be opened
+ * @param - none
+ * @return - PinVault
+ * 
+ * bulkImport() - Asks for a CSV of PINs, makes room for it in the accounts vault and then calls runImport()
+ * @param - Button bulk, Button verify, ProgressBar progress, Label status
+ * @return - void
+ * 
+ * runImport() - Imports the CSV with PinImportPipeline, showing progress and PINs/s once per frame
+ * @param - File file, PinVault accounts, Button bulk, ProgressBar progress, Label status
+ * @return - void
+ * 
+ * accounts() - The open accounts vault; opens it on first use, null if there is none
+ * @param - none
+ * @return - PinVault
+ * 
+ * accountsWithRoom() - Reopens the accounts vault with room for every line of a CSV, growing it if needed (background thread)
+ * @param - long csvBytes
+ * @return - PinVault
+ * 
+ * verifyAccount() - Signs in an imported account with its issued encrypted PIN on the verifier's threads
+ * @param - TextField accountField, TextField pinField, Button verify, Label status
+ * @return - void
+ * 
+ * parseAccount() - Reads a typed account ID (1 to 18 digits, not 0) without regex; -1 if the text is anything else
+ * @param - String text
+ * @return - long
+ * 
+ * parsePin() - Reads a typed 9-digit PIN without regex; -1 if the text is anything else
+ * @param - String text
  * @return - int
+ * 
+ * Notes:
+ * - Only the encrypted PIN is saved, never the true PIN, so a restored view resumes at the testing screen.
+ * - The encrypted PIN is checked against a salted PinVerifier hash. Hashing and checking run on the shared
+ *   verifier's worker threads and the result is shown with Platform.runLater, so the window never freezes.
+ * - Failed tests go through AttemptLimiter: after 3 failures each one doubles the wait, and 10 within
+ *   15 minutes lock testing for 5 minutes.
+ * - Weak PINs (repeated, sequential, date-like; see PinBlocklist) are refused at encryption time. The blocklist
+ *   takes about half a second to build, so it is built on a background thread and Encrypt and Bulk Import stay
+ *   disabled until it is ready; the JavaFX thread never waits for it.
+ * - The hash is also kept in a PinVault file (~/.le5-pins.vault) under LOCAL_ACCOUNT, so a restored view reads
+ *   it back instead of hashing again. Without the vault the view still works from the in-memory hash.
+ *   The record is stored asynchronously, so after a crash the vault can still hold the previous PIN's record
+ *   while the journal restores the new PIN; loadHash() therefore verifies the restored PIN against the record
+ *   before using it, and App.stop() waits for a pending store.
+ * - Bulk import streams "accountId,pin" lines into ~/.le5-accounts.vault on background threads. The progress bar
+ *   and PINs/s are read from the pipeline's counters by an AnimationTimer, so they update at most once per frame.
+ *   Before each import the vault is checked for room for the existing accounts plus every line of the file, and
+ *   rebuilt larger off the JavaFX thread if it has too little.
+ *   Imported records use BULK_ITERATIONS; PinVerifier.needsRehash() flags them for an upgrade at sign-in.
+ * - The encrypted PIN of each imported account is appended to ~/.le5-accounts.vault.issued.csv for its owner, who
+ *   signs in with Verify Account. Sign-ins share AttemptLimiter with the local PIN, keyed per imported account.
+ *   The file is owner-only and holds live credentials: hand the PINs out, then delete it.
  */
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
 
-public class LE53View 
+public class LE53View implements ViewCache.View<VBox>, GameJournal.Recoverable
 {
-	private int[] encrypted = new int[9];
-	private int[] truE = new int[9];
+	private int encrypted; // packed 9-digit PINs (see Password)
+	private int truE;
+	private boolean hasPin = false; // a PIN has been encrypted
+	private CompletableFuture<byte[]> pinHash; // PinVerifier record of the encrypted PIN
+	private final GameJournal journal; // null when not journaling
+	private final int session;
+
+	/** One small pool shared by every LE53View. */
+	private static final PinVerifier VERIFIER = new PinVerifier(PinVerifier.DEFAULT_ITERATIONS, 2, 16);
+
+	private static final Path VAULT_FILE = Paths.get(System.getProperty("user.home"), ".le5-pins.vault");
+	private static final long LOCAL_ACCOUNT = 1;
+	private static PinVault vault; // opened on first use
+	private static volatile CompletableFuture<?> pendingStore = CompletableFuture.completedFuture(null);
+
+	/** Failed tests: 3 free, then 1 s doubling, locked for 5 min after 10 within 15 min. */
+	private static final AttemptLimiter LIMITER = new AttemptLimiter(3, 10, 15 * 60_000, 1_000, 5 * 60_000);
+	private static final String ATTEMPT_KEY = "account-" + LOCAL_ACCOUNT;
+
+	private static final Path ACCOUNTS_FILE = Paths.get(System.getProperty("user.home"), ".le5-accounts.vault");
+	private static final int BULK_ITERATIONS = 1_000; // bulk records are rehashed at DEFAULT_ITERATIONS on sign-in
+	private static PinVault accounts; // opened on first use
+
+	/** The weak-PIN blocklist, built once in the background. */
+	private static final CompletableFuture<PinBlocklist> BLOCKLIST = CompletableFuture.supplyAsync(PinBlocklist::common);
+
+	static
+	{
+		LIMITER.startEvictor(60_000);
+	}
+
+	public LE53View()
+	{
+		this(null, 0);
+	}
+
+	public LE53View(GameJournal journal, int session)
+	{
+		this.journal = journal;
+		this.session = session;
+	}
 
 	public VBox getContent() 
 	{
@@ -69,14 +213,63 @@ public class LE53View
 
 		displayElmnts(le53Content, leftElements, newPinLabel, newPinField, label53, encrypt, errorMessage, truePIN, encryptedPIN, testPIN);
 
+		Button bulk = new Button("Bulk Import");
+		ProgressBar progress = new ProgressBar(0);
+		Label bulkStatus = new Label();
+		bulk.setFont(Font.font("Times New Roman", 16));
+		bulk.setTextFill(Color.WHITE);
+		bulk.setStyle("-fx-background-color: #9b84ee;");
+		bulkStatus.setFont(Font.font("Times New Roman", 14));
+		bulkStatus.setTextFill(Color.WHITE);
+		progress.setPrefWidth(300);
+		progress.setVisible(false);
+		le53Content.getChildren().addAll(bulk, progress, bulkStatus);
+
+		HBox accountElements = new HBox(10);
+		Label accountLabel = new Label("Account / Encrypted PIN");
+		TextField accountField = new TextField();
+		TextField accountPinField = new TextField();
+		Button verifyAccount = new Button("Verify Account");
+		Label accountStatus = new Label();
+		accountElements.setAlignment(Pos.CENTER);
+		accountLabel.setFont(Font.font("Times New Roman", 16));
+		accountLabel.setTextFill(Color.WHITE);
+		accountField.setMaxWidth(160);
+		accountPinField.setMaxWidth(100);
+		verifyAccount.setFont(Font.font("Times New Roman", 16));
+		verifyAccount.setTextFill(Color.WHITE);
+		verifyAccount.setStyle("-fx-background-color: #9b84ee;");
+		accountStatus.setFont(Font.font("Times New Roman", 14));
+		accountStatus.setTextFill(Color.WHITE);
+		accountElements.getChildren().addAll(accountLabel, accountField, accountPinField, verifyAccount);
+		le53Content.getChildren().addAll(accountElements, accountStatus);
+		verifyAccount.setOnAction(e -> verifyAccount(accountField, accountPinField, verifyAccount, accountStatus));
+		bulk.setOnAction(e -> bulkImport(bulk, verifyAccount, progress, bulkStatus));
+		if(!BLOCKLIST.isDone())
+		{
+			encrypt.setDisable(true);
+			bulk.setDisable(true);
+			BLOCKLIST.thenRun(() -> Platform.runLater(() ->
+			{
+				encrypt.setDisable(false);
+				bulk.setDisable(false);
+			}));
+		}
+
 		encrypt.setOnAction(e -> 
 		{
-			int pin = newPinField.getText().matches("\\d{9}") ? Integer.parseInt(newPinField.getText()) : -1;
+			int pin = parsePin(newPinField.getText());
 			if(pin == -1)
 			{
 				errorFunction(truePIN, encryptedPIN, errorMessage, testPIN);
 			}
 
+			else if(Password.isWeak(pin, BLOCKLIST.join()))
+			{
+				errorFunction(truePIN, encryptedPIN, errorMessage, testPIN);
+				errorMessage.setText("Error: This PIN is too easy to guess. Please choose another.");
+			}
+
 			else
 			{
 				newPinField.setEditable(false);
@@ -88,10 +281,324 @@ public class LE53View
 		{
 			testPinFunction(label53, newPinLabel, newPinField, testPIN, encrypt, errorMessage, encryptedPIN, truePIN);
 		});
+
+		if(hasPin)
+		{
+			loadHash();
+			testPinFunction(label53, newPinLabel, newPinField, testPIN, encrypt, errorMessage, encryptedPIN, truePIN);
+		}
+		checkpoint();
 		
 		return le53Content;
 	}
 
+	public void saveState(ByteBuffer out)
+	{
+		out.put((byte) (hasPin ? 1 : 0));
+		if(hasPin)
+		{
+			GameSnapshot.writePin(encrypted, out);
+		}
+	}
+
+	public void restoreState(ByteBuffer in)
+	{
+		if(in.get() != 0)
+		{
+			encrypted = GameSnapshot.readPinValue(in);
+			hasPin = true;
+			pinHash = null; // loaded when the content is built
+		}
+	}
+
+	@Override
+	public void onEncryption(int session, int encryptedPin)
+	{
+		encrypted = encryptedPin;
+		hasPin = true;
+		pinHash = null;
+	}
+
+	private void loadHash()
+	{
+		if(pinHash != null)
+		{
+			return;
+		}
+		byte[] record = new byte[PinVerifier.RECORD_BYTES];
+		PinVault pins = vault();
+		int pin = encrypted;
+		if(pins != null && pins.read(LOCAL_ACCOUNT, record))
+		{
+			// the record may be an older PIN's if the last store never landed
+			pinHash = VERIFIER.verifyAsync(pin, record)
+				.thenCompose(current -> current ? CompletableFuture.completedFuture(record) : VERIFIER.hashAsync(pin));
+			pendingStore = pinHash.thenAccept(hashed ->
+			{
+				if(hashed != record)
+				{
+					storeHash(hashed);
+				}
+			});
+		}
+		else
+		{
+			pinHash = VERIFIER.hashAsync(pin);
+			pendingStore = pinHash.thenAccept(LE53View::storeHash);
+		}
+	}
+
+	public static boolean awaitPendingHash(long timeoutMillis)
+	{
+		try
+		{
+			pendingStore.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			return true;
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		catch(ExecutionException | TimeoutException e)
+		{
+			return false;
+		}
+	}
+
+	private void checkpoint()
+	{
+		if(journal != null)
+		{
+			journal.checkpoint(session, GameSnapshot.capture(this::saveState));
+		}
+	}
+
+	private static void storeHash(byte[] record)
+	{
+		PinVault pins = vault();
+		if(pins != null)
+		{
+			pins.put(LOCAL_ACCOUNT, record);
+			pins.sync();
+		}
+	}
+
+	private static synchronized PinVault vault()
+	{
+		if(vault == null)
+		{
+			try
+			{
+				vault = Files.exists(VAULT_FILE) ? PinVault.open(VAULT_FILE) : PinVault.create(VAULT_FILE, 1024);
+			}
+			catch(IOException e)
+			{
+				System.err.println("PIN vault unavailable: " + e.getMessage());
+			}
+		}
+		return vault;
+	}
+
+	private void bulkImport(Button bulk, Button verify, ProgressBar progress, Label status)
+	{
+		FileChooser chooser = new FileChooser();
+		chooser.setTitle("Import PINs");
+		chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PIN lists (accountId,pin)", "*.csv", "*.txt"));
+		File file = chooser.showOpenDialog(bulk.getScene().getWindow());
+		if(file == null)
+		{
+			return;
+		}
+
+		bulk.setDisable(true);
+		verify.setDisable(true); // the vault may be closed and rebuilt meanwhile
+		progress.setVisible(true);
+		progress.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+		status.setTextFill(Color.WHITE);
+		status.setText("Preparing the accounts vault...");
+		long csvBytes = file.length();
+		CompletableFuture.supplyAsync(() -> accountsWithRoom(csvBytes)).whenComplete((accounts, error) -> Platform.runLater(() ->
+		{
+			verify.setDisable(false);
+			if(error != null)
+			{
+				Throwable cause = error.getCause() != null ? error.getCause() : error;
+				bulk.setDisable(false);
+				progress.setVisible(false);
+				status.setTextFill(Color.RED);
+				status.setText("Error: " + cause.getMessage());
+			}
+			else
+			{
+				runImport(file, accounts, bulk, progress, status);
+			}
+		}));
+	}
+
+	private void runImport(File file, PinVault accounts, Button bulk, ProgressBar progress, Label status)
+	{
+		PinVerifier verifier = new PinVerifier(BULK_ITERATIONS, 1, 1);
+		int hashers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+		PinImportPipeline pipeline = new PinImportPipeline(file.toPath(), accounts, PinImportPipeline.issuedFile(ACCOUNTS_FILE),
+				verifier, BLOCKLIST.join(), hashers);
+
+		AnimationTimer frames = new AnimationTimer()
+		{
+			@Override
+			public void handle(long now)
+			{
+				progress.setProgress(pipeline.getProgress());
+				status.setText(String.format("%,d stored, %,d rejected, %,.0f PINs/s",
+						pipeline.getStored(), pipeline.getRejected(), pipeline.getPinsPerSecond()));
+			}
+		};
+
+		progress.setProgress(0);
+		frames.start();
+		pipeline.start().whenComplete((ignored, error) ->
+		{
+			verifier.close();
+			accounts.sync();
+			Throwable failure = error;
+			Platform.runLater(() ->
+			{
+				frames.stop();
+				bulk.setDisable(false);
+				progress.setProgress(failure == null ? 1 : pipeline.getProgress());
+				status.setTextFill(failure == null ? Color.WHITE : Color.RED);
+				status.setText(failure == null
+						? String.format("Imported %,d PINs (%,d rejected) at %,.0f PINs/s", pipeline.getStored(), pipeline.getRejected(), pipeline.getPinsPerSecond())
+						: "Error: " + failure.getMessage());
+			});
+		});
+	}
+
+	private static synchronized PinVault accounts()
+	{
+		if(accounts == null && Files.exists(ACCOUNTS_FILE))
+		{
+			try
+			{
+				accounts = PinVault.open(ACCOUNTS_FILE);
+			}
+			catch(IOException e)
+			{
+				System.err.println("Accounts vault unavailable: " + e.getMessage());
+			}
+		}
+		return accounts;
+	}
+
+	private static synchronized PinVault accountsWithRoom(long csvBytes)
+	{
+		try
+		{
+			if(accounts != null)
+			{
+				accounts.close(); // a rebuild replaces the file
+				accounts = null;
+			}
+			accounts = PinVault.openWithRoom(ACCOUNTS_FILE, PinImportPipeline.maxLines(csvBytes));
+			return accounts;
+		}
+		catch(IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void verifyAccount(TextField accountField, TextField pinField, Button verify, Label status)
+	{
+		long account = parseAccount(accountField.getText());
+		int pin = parsePin(pinField.getText());
+		PinVault vault = accounts();
+		String key = "imported-" + account;
+		long wait = (account == -1 || pin == -1 || vault == null) ? 0 : LIMITER.acquire(key);
+		status.setTextFill(Color.RED);
+		if(account == -1 || pin == -1)
+		{
+			status.setText("Error: Enter an account ID and its 9-digit encrypted PIN.");
+		}
+
+		else if(vault == null)
+		{
+			status.setText("Error: No accounts have been imported.");
+		}
+
+		else if(wait > 0)
+		{
+			status.setText("Too many failed attempts. Try again in " + waitText(wait) + ".");
+		}
+
+		else
+		{
+			status.setTextFill(Color.WHITE);
+			status.setText("Checking...");
+			verify.setDisable(true);
+			PinImportPipeline.verify(vault, account, pin, VERIFIER).whenComplete((matches, error) -> Platform.runLater(() ->
+			{
+				verify.setDisable(false);
+				if(error != null)
+				{
+					Throwable cause = error.getCause() != null ? error.getCause() : error;
+					status.setTextFill(Color.RED);
+					status.setText(cause instanceof RejectedExecutionException ? "Error: Too many checks in progress, try again." : "Error: " + cause.getMessage());
+				}
+				else if(matches)
+				{
+					LIMITER.recordSuccess(key);
+					status.setTextFill(Color.GREEN);
+					status.setText("Success: Account " + account + " signed in.");
+				}
+				else
+				{
+					long next = LIMITER.recordFailure(key);
+					status.setTextFill(Color.RED);
+					status.setText("Failure: Account or encrypted PIN does not match." + (next > 0 ? " Next try in " + waitText(next) + "." : ""));
+				}
+			}));
+		}
+	}
+
+	private static long parseAccount(String text)
+	{
+		if(text.isEmpty() || text.length() > 18)
+		{
+			return -1;
+		}
+		long account = 0;
+		for(int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if(c < '0' || c > '9')
+			{
+				return -1;
+			}
+			account = account * 10 + (c - '0');
+		}
+		return account == 0 ? -1 : account;
+	}
+
+	private static int parsePin(String text)
+	{
+		if(text.length() != Password.DIGITS)
+		{
+			return -1;
+		}
+		int pin = 0;
+		for(int i = 0; i < Password.DIGITS; i++)
+		{
+			char c = text.charAt(i);
+			if(c < '0' || c > '9')
+			{
+				return -1;
+			}
+			pin = pin * 10 + (c - '0');
+		}
+		return pin;
+	}
+
 	private void elementPrpts(VBox le53Content, HBox leftElements, Label label53, Label truePIN, Label encryptedPIN, Label newPinLabel, Label errorMessage, Button encrypt, Button testPIN, TextField newPinField)
 	{
 		le53Content.setAlignment(Pos.CENTER);
@@ -136,23 +643,15 @@ public class LE53View
 	{
 		errorMessage.setText("");
 
-		Password PIN = new Password(pin);
-		encrypted = PIN.getEncryptedPIN();
-		truE = PIN.getTruePIN();
+		Password PIN = (journal != null) ? journal.encrypt(session, pin) : new Password(pin); // already checked against the blocklist
+		encrypted = PIN.getEncryptedValue();
+		truE = PIN.getTrueValue();
+		pinHash = VERIFIER.hashAsync(encrypted);
+		pendingStore = pinHash.thenAccept(LE53View::storeHash);
+		hasPin = true;
 
-		StringBuilder truePinStr = new StringBuilder("True PIN: ");
-		for(int digit : truE)
-		{
-			truePinStr.append(digit);
-		}
-		truePIN.setText(truePinStr.toString());
-
-		StringBuilder encryptedPinStr = new StringBuilder("Encrypted PIN: ");
-		for(int digit : encrypted)
-		{
-			encryptedPinStr.append(digit);
-		}
-		encryptedPIN.setText(encryptedPinStr.toString());
+		truePIN.setText(String.format("True PIN: %09d", truE));
+		encryptedPIN.setText(String.format("Encrypted PIN: %09d", encrypted));
 
 		testPIN.setVisible(true);
 	}
@@ -171,36 +670,57 @@ public class LE53View
 
 		newPinField.setOnAction(e -> 
 		{
-			int enteredPin = newPinField.getText().matches("\\d{9}") ? Integer.parseInt(newPinField.getText()) : -1;
+			int enteredPin = parsePin(newPinField.getText());
+			long wait = enteredPin == -1 ? 0 : LIMITER.acquire(ATTEMPT_KEY);
 			if(enteredPin == -1)
 			{
 				errorMessage.setTextFill(Color.RED);
 				errorMessage.setText("Error: Please enter a valid 9-digit PIN.");
 			}
 
+			else if(wait > 0)
+			{
+				errorMessage.setTextFill(Color.RED);
+				errorMessage.setText("Too many failed attempts. Try again in " + waitText(wait) + ".");
+			}
+
 			else
 			{
-				if(enteredPin == arrayToInt(encrypted))
-				{
-					errorMessage.setTextFill(Color.GREEN);
-					errorMessage.setText("Success: Encrypted PIN matches!");
-				}
-				else
-				{
-					errorMessage.setTextFill(Color.RED);
-					errorMessage.setText("Failure: Encrypted PIN does not match.");
-				}
+				errorMessage.setTextFill(Color.WHITE);
+				errorMessage.setText("Checking...");
+				newPinField.setEditable(false);
+				pinHash.thenCompose(record -> VERIFIER.verifyAsync(enteredPin, record))
+					.whenComplete((matches, error) -> Platform.runLater(() -> showResult(errorMessage, newPinField, matches, error)));
 			}
 		});
 	}
 
-	private int arrayToInt(int[] array) 
+	private void showResult(Label errorMessage, TextField newPinField, Boolean matches, Throwable error)
 	{
-		int result = 0;
-		for (int digit : array) 
+		newPinField.setEditable(true);
+		if(error != null)
 		{
-			result = result * 10 + digit;
+			Throwable cause = error.getCause() != null ? error.getCause() : error;
+			errorMessage.setTextFill(Color.RED);
+			errorMessage.setText(cause instanceof RejectedExecutionException ? "Error: Too many checks in progress, try again." : "Error: " + cause.getMessage());
 		}
-		return result;
+		else if(matches)
+		{
+			LIMITER.recordSuccess(ATTEMPT_KEY);
+			errorMessage.setTextFill(Color.GREEN);
+			errorMessage.setText("Success: Encrypted PIN matches!");
+		}
+		else
+		{
+			long wait = LIMITER.recordFailure(ATTEMPT_KEY);
+			errorMessage.setTextFill(Color.RED);
+			errorMessage.setText("Failure: Encrypted PIN does not match." + (wait > 0 ? " Next try in " + waitText(wait) + "." : ""));
+		}
+	}
+
+	private static String waitText(long millis)
+	{
+		long seconds = (millis + 999) / 1000;
+		return seconds < 60 ? seconds + " s" : (seconds + 59) / 60 + " min";
 	}
 }
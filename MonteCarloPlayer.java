@@ -0,0 +1,254 @@
+/*
+ * Class: MonteCarloPlayer
+ * -> This class chooses TicTacToe moves with Monte Carlo Tree Search (UCT) for boards where exact search
+ *    (TicTacToeAI) is too slow, such as 15x15 with five in a row.
+ *    Each worker thread grows its own tree from the same root for the time budget (root parallelism);
+ *    the visit counts of the root moves are then summed across workers and the most visited move wins.
+ *
+ * Exclusive Functions:
+ * MonteCarloPlayer() - Creates a player with the given number of worker threads and a time budget per move.
+ * @param - int threads, long timeBudgetMillis, @return - none
+ *
+ * bestMove() - Returns the chosen cell (row * size + col) for game.getTurn(), or -1 if the game is over.
+ * @param - TicTacToe game, @return - int
+ *
+ * setIterationLimit() - Caps the playouts per worker per move (0 = no cap, time budget only).
+ * @param - long iterations, @return - void
+ *
+ * setSeed() - Makes worker random streams reproducible.
+ * @param - long seed, @return - void
+ *
+ * getLastPlayouts() - Returns the total number of playouts run for the last move.
+ * @param - none, @return - long
+ *
+ * shutdown() - Stops the worker threads.
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Trees are stored in preallocated primitive arrays per worker (NODE_CAPACITY nodes); once full, search
+ *   continues with playouts only. Scratch boards and move lists are reused, so playouts allocate nothing.
+ * - Playouts run on TicTacToe.addMove/getWinner, which only check lines through the last move.
+ * - Wins are scored from the view of the player who moved into a node: 1 win, 0.5 draw, 0 loss.
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MonteCarloPlayer {
+
+	/** Maximum tree nodes per worker. */
+	private static final int NODE_CAPACITY = 1 << 18;
+
+	/** UCT exploration constant (sqrt 2). */
+	private static final double EXPLORATION = Math.sqrt(2);
+
+	private final int threads;
+	private final long timeBudgetNanos;
+	private final ExecutorService pool;
+	private final Worker[] workers;
+	private long iterationLimit = 0;
+	private long lastPlayouts;
+
+	public MonteCarloPlayer(int threads, long timeBudgetMillis) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+		this.threads = threads;
+		this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+		this.pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "mcts-worker");
+			t.setDaemon(true);
+			return t;
+		});
+		this.workers = new Worker[threads];
+		SplittableRandom seeds = new SplittableRandom();
+		for (int i = 0; i < threads; i++) workers[i] = new Worker(seeds.split());
+	}
+
+	/** Caps playouts per worker per move; 0 means only the time budget applies. */
+	public void setIterationLimit(long iterations) {
+		this.iterationLimit = iterations;
+	}
+
+	/** Reseeds every worker from one seed. */
+	public void setSeed(long seed) {
+		SplittableRandom seeds = new SplittableRandom(seed);
+		for (Worker worker : workers) worker.rng = seeds.split();
+	}
+
+	/** Total playouts across workers for the last call to bestMove(). */
+	public long getLastPlayouts() {
+		return lastPlayouts;
+	}
+
+	/** Runs the search and returns the most visited root move, or -1 if the game is over. */
+	public int bestMove(TicTacToe game) {
+		if (game.hasWinner() || game.isBoardFull()) return -1;
+
+		long deadline = System.nanoTime() + timeBudgetNanos;
+		List<Future<?>> running = new ArrayList<>(threads);
+		for (Worker worker : workers) {
+			running.add(pool.submit(() -> worker.search(game, deadline)));
+		}
+		for (Future<?> f : running) {
+			try {
+				f.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return -1;
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("MCTS worker failed", e.getCause());
+			}
+		}
+
+		int cells = game.getSize() * game.getSize();
+		long[] visits = new long[cells];
+		long playouts = 0;
+		for (Worker worker : workers) {
+			worker.addRootVisits(visits);
+			playouts += worker.visits[0];
+		}
+		lastPlayouts = playouts;
+
+		int best = -1;
+		for (int cell = 0; cell < cells; cell++) {
+			if (game.getCell(cell / game.getSize(), cell % game.getSize()) != ' ') continue;
+			if (best == -1 || visits[cell] > visits[best]) best = cell;
+		}
+		return best;
+	}
+
+	/** Stops the worker threads. */
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/** One root-parallel search tree plus its reusable scratch state. */
+	private class Worker {
+
+		final int[] parent = new int[NODE_CAPACITY];
+		final int[] move = new int[NODE_CAPACITY];
+		final int[] firstChild = new int[NODE_CAPACITY];
+		final int[] childCount = new int[NODE_CAPACITY];
+		final int[] visits = new int[NODE_CAPACITY];
+		final float[] wins = new float[NODE_CAPACITY];
+		final char[] mover = new char[NODE_CAPACITY];
+		int nodeCount;
+
+		SplittableRandom rng;
+		TicTacToe scratch;
+		int[] empty = new int[0];
+
+		Worker(SplittableRandom rng) {
+			this.rng = rng;
+		}
+
+		void search(TicTacToe root, long deadline) {
+			int size = root.getSize();
+			if (scratch == null || scratch.getSize() != size || scratch.getWinLength() != root.getWinLength()) {
+				scratch = new TicTacToe(size, root.getWinLength());
+				empty = new int[size * size];
+			}
+			nodeCount = 1;
+			parent[0] = -1;
+			move[0] = -1;
+			childCount[0] = -1; // not expanded
+			visits[0] = 0;
+			wins[0] = 0;
+			mover[0] = root.getTurn() == 'X' ? 'O' : 'X';
+
+			for (long i = 0; iterationLimit == 0 || i < iterationLimit; i++) {
+				if (i > 0 && (i & 63) == 0 && System.nanoTime() >= deadline) break;
+				iterate(root, size);
+			}
+		}
+
+		/** One select / expand / playout / backpropagate pass. */
+		void iterate(TicTacToe root, int size) {
+			scratch.copyFrom(root);
+			int node = 0;
+
+			// Selection
+			while (childCount[node] > 0 && !scratch.hasWinner()) {
+				node = selectChild(node);
+				scratch.addMove(move[node] / size, move[node] % size);
+			}
+
+			// Expansion
+			if (childCount[node] < 0 && !scratch.hasWinner() && !scratch.isBoardFull()) {
+				int open = size * size - scratch.getMoveCount();
+				if (nodeCount + open <= NODE_CAPACITY) {
+					firstChild[node] = nodeCount;
+					childCount[node] = open;
+					char next = scratch.getTurn();
+					for (int cell = 0; cell < size * size; cell++) {
+						if (scratch.getCell(cell / size, cell % size) != ' ') continue;
+						int child = nodeCount++;
+						parent[child] = node;
+						move[child] = cell;
+						childCount[child] = -1;
+						visits[child] = 0;
+						wins[child] = 0;
+						mover[child] = next;
+					}
+					node = firstChild[node] + rng.nextInt(open);
+					scratch.addMove(move[node] / size, move[node] % size);
+				}
+			}
+
+			// Playout
+			char winner = playout(size);
+
+			// Backpropagation
+			for (int n = node; n >= 0; n = parent[n]) {
+				visits[n]++;
+				if (winner == mover[n]) wins[n] += 1f;
+				else if (winner == ' ') wins[n] += 0.5f;
+			}
+		}
+
+		/** UCT: unvisited children first, then the best win rate plus exploration bonus. */
+		int selectChild(int node) {
+			double logParent = Math.log(Math.max(1, visits[node]));
+			int best = firstChild[node];
+			double bestScore = Double.NEGATIVE_INFINITY;
+			int end = firstChild[node] + childCount[node];
+			for (int child = firstChild[node]; child < end; child++) {
+				if (visits[child] == 0) return child;
+				double score = wins[child] / visits[child] + EXPLORATION * Math.sqrt(logParent / visits[child]);
+				if (score > bestScore) {
+					bestScore = score;
+					best = child;
+				}
+			}
+			return best;
+		}
+
+		/** Plays random moves on the scratch board until it ends; returns the winner or ' '. */
+		char playout(int size) {
+			int open = 0;
+			for (int cell = 0; cell < size * size; cell++) {
+				if (scratch.getCell(cell / size, cell % size) == ' ') empty[open++] = cell;
+			}
+			while (!scratch.hasWinner() && open > 0) {
+				int pick = rng.nextInt(open);
+				int cell = empty[pick];
+				empty[pick] = empty[--open];
+				scratch.addMove(cell / size, cell % size);
+			}
+			return scratch.getWinner();
+		}
+
+		/** Adds this tree's root child visit counts into the per-cell totals. */
+		void addRootVisits(long[] totals) {
+			if (childCount[0] <= 0) return;
+			int end = firstChild[0] + childCount[0];
+			for (int child = firstChild[0]; child < end; child++) {
+				totals[move[child]] += visits[child];
+			}
+		}
+	}
+
+}
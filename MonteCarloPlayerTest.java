@@ -0,0 +1,80 @@
+/*
+ * Class: MonteCarloPlayerTest
+ * -> This class contains JUnit 5 tests for the MonteCarloPlayer MCTS move chooser.
+ *    It checks that the search finds an immediate win, blocks on a larger board, returns only empty cells,
+ *    and respects its time budget.
+ *
+ * Exclusive Functions:
+ * testTakesImmediateWin() - On 3x3, X has two in a row and MCTS must complete the line.
+ * @param - none, @return - void
+ *
+ * testCompletesFiveOnLargeBoard() - On 9x9 with five in a row, X must complete an open four.
+ * @param - none, @return - void
+ *
+ * testTimeBudgetCapsLatency() - A 50 ms budget on a 15x15 board returns well within a second.
+ * @param - none, @return - void
+ *
+ * testFinishedGameHasNoMove() - A won game returns -1.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class MonteCarloPlayerTest {
+
+	@Test
+	void testTakesImmediateWin() {
+		TicTacToe game = new TicTacToe();
+		game.addMove(0, 0); // X
+		game.addMove(1, 0); // O
+		game.addMove(0, 1); // X
+		game.addMove(1, 1); // O
+		MonteCarloPlayer player = new MonteCarloPlayer(2, 10_000);
+		player.setSeed(1);
+		player.setIterationLimit(5_000);
+		assertEquals(2, player.bestMove(game));
+		player.shutdown();
+	}
+
+	@Test
+	void testCompletesFiveOnLargeBoard() {
+		TicTacToe game = new TicTacToe(9, 5);
+		for (int col = 2; col < 6; col++) {
+			game.addMove(4, col); // X
+			game.addMove(0, col * 2 - 4); // O, scattered along the top row
+		}
+		MonteCarloPlayer player = new MonteCarloPlayer(2, 10_000);
+		player.setSeed(2);
+		player.setIterationLimit(20_000);
+		int move = player.bestMove(game);
+		assertTrue(move == 4 * 9 + 1 || move == 4 * 9 + 6, "expected a winning cell, got " + move);
+		player.shutdown();
+	}
+
+	@Test
+	void testTimeBudgetCapsLatency() {
+		TicTacToe game = new TicTacToe(15, 5);
+		MonteCarloPlayer player = new MonteCarloPlayer(2, 50);
+		long start = System.nanoTime();
+		int move = player.bestMove(game);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		assertTrue(millis < 1000, "took " + millis + " ms");
+		assertTrue(move >= 0 && move < 225);
+		assertTrue(player.getLastPlayouts() > 0);
+		player.shutdown();
+	}
+
+	@Test
+	void testFinishedGameHasNoMove() {
+		TicTacToe game = new TicTacToe();
+		game.addMove(0, 0); // X
+		game.addMove(1, 0); // O
+		game.addMove(0, 1); // X
+		game.addMove(1, 1); // O
+		game.addMove(0, 2); // X wins
+		MonteCarloPlayer player = new MonteCarloPlayer(1, 10);
+		assertEquals(-1, player.bestMove(game));
+		player.shutdown();
+	}
+
+}
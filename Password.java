@@ -7,45 +7,125 @@
  * Password() - Constructor that initializes the true PIN and generates an encrypted PIN
  * @param - int pin, @return - none
  * 
- * getEncryptedPIN() - Returns a copy of the encrypted PIN array
+ * Password() - Constructor that draws the encryption digits from the given random source (e.g. a seeded one for replay or load tests)
+ * @param - int pin, RandomSource random, @return - none
+ * 
+ * Password() - Constructor that first rejects weak PINs with IllegalArgumentException
+ * @param - int pin, PinBlocklist blocklist, @return - none
+ * 
+ * isWeak() - Checks a PIN against a blocklist without encrypting it
+ * @param - int pin, PinBlocklist blocklist, @return - boolean
+ * 
+ * getEncryptedPIN() - Returns the encrypted PIN digits as a new array
  * @param - none, @return - int[]
  * 
- * getTruePIN() - Returns a copy of the true PIN array
+ * getTruePIN() - Returns the true PIN digits as a new array
  * @param - none, @return - int[]
+ * 
+ * getEncryptedValue() - Returns the encrypted PIN as a 9-digit number
+ * @param - none, @return - int
+ * 
+ * getTrueValue() - Returns the true PIN as a 9-digit number (leading zeros dropped)
+ * @param - none, @return - int
+ * 
+ * verify() - Checks a 9-digit guess against the encrypted PIN
+ * @param - int candidate, @return - boolean
+ * 
+ * unpack() - Splits a 9-digit number into its digits
+ * @param - int packed, @return - int[]
+ * 
+ * Notes:
+ * - By default the encryption digits come from RandomSource.secure(), which is shared, so no generator is built per PIN.
+ * - The blocklist check is opt-in (e.g. PinBlocklist.common()); Password(int) accepts any PIN.
+ * - Both PINs are kept packed in an int (9 digits fit below 2^31), so verify() is one comparison and allocates nothing.
+ *   The array getters are built on demand for display code.
  */
-import java.util.Random;
-
 public class Password 
 {
-    private int[] encryptedPIN = new int[9];
-    private int[] truePIN = new int[9];
+    /** Number of digits in a PIN. */
+    public static final int DIGITS = 9;
+
+    private int encryptedPIN;
+    private int truePIN;
+    private final RandomSource random;
 
     public Password(int pin)
     {
+        this(pin, RandomSource.secure());
+    }
+
+    public Password(int pin, PinBlocklist blocklist)
+    {
+        this(requireStrong(pin, blocklist), RandomSource.secure());
+    }
+
+    public Password(int pin, RandomSource random)
+    {
+        this.random = random;
         encryption(pin);
     }
 
+    public static boolean isWeak(int pin, PinBlocklist blocklist)
+    {
+        return blocklist.isBlocked(pin % 1_000_000_000);
+    }
+
+    private static int requireStrong(int pin, PinBlocklist blocklist)
+    {
+        if(isWeak(pin, blocklist))
+        {
+            throw new IllegalArgumentException("PIN is too easy to guess");
+        }
+        return pin;
+    }
+
     public int[] getEncryptedPIN()
     {
-        return this.encryptedPIN.clone();
+        return unpack(this.encryptedPIN);
     }
 
     public int[] getTruePIN()
     {
-        return this.truePIN.clone();
+        return unpack(this.truePIN);
     }
 
-    public void encryption(int pin)
+    public int getEncryptedValue()
     {
-        Random rand = new Random();
+        return this.encryptedPIN;
+    }
+
+    public int getTrueValue()
+    {
+        return this.truePIN;
+    }
 
-        for(int i = 0; i < 9; i++)
+    public boolean verify(int candidate)
+    {
+        return candidate == this.encryptedPIN;
+    }
+
+    public void encryption(int pin)
+    {
+        int encrypted = 0;
+        int place = 1;
+        for(int i = 0; i < DIGITS; i++)
         {
-            int r = rand.nextInt(3) + 1;
-            encryptedPIN[8-i] = r;
-            truePIN[8-i] = (pin % 10);
+            int r = random.nextInt(3) + 1;
+            encrypted += r * place;
+            place *= 10;
+        }
+        encryptedPIN = encrypted;
+        truePIN = pin % 1_000_000_000;
+    }
 
-            pin /= 10;
+    public static int[] unpack(int packed)
+    {
+        int[] digits = new int[DIGITS];
+        for(int i = DIGITS - 1; i >= 0; i--)
+        {
+            digits[i] = packed % 10;
+            packed /= 10;
         }
+        return digits;
     }
 }
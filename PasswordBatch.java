@@ -0,0 +1,161 @@
+/*
+ * Class: PasswordBatch
+ * -> This class encrypts many PINs at once without building a Password per PIN. The PINs come in as a
+ *    primitive int[] column and the encrypted PINs go out into a parallel int[] column (out[i] belongs to pins[i]).
+ *    The work is split into fixed chunks with fork/join, and each chunk draws from its own generator.
+ *
+ * Exclusive Functions:
+ * encrypt() - Encrypts the PINs with digits from a freshly drawn secure seed and returns the encrypted column.
+ * @param - int[] pins, @return - int[]
+ *
+ * encrypt() - Encrypts the PINs into the given column; the same seed always gives the same output.
+ * @param - int[] pins, int[] encrypted, long seed, @return - void
+ *
+ * encrypt() - Encrypts the first length PINs into the given column, drawing every PIN from the source on this thread.
+ * @param - int[] pins, int[] encrypted, int length, RandomSource source, @return - void
+ *
+ * encryptedPin() - Returns the packed encrypted PIN for a combination index in [0, 3^9).
+ * @param - int combination, @return - int
+ *
+ * main() - Command line: [count], times a batch against one Password per PIN.
+ * @param - String[] args, @return - void
+ *
+ * Notes:
+ * - Encrypted PINs are packed like Password.getEncryptedValue(). Every encrypted digit is 1-3, so there are only
+ *   3^9 = 19,683 encrypted PINs; one random draw picks a combination and a table lookup gives the packed value,
+ *   instead of nine draws and a multiply-add per digit.
+ * - Chunk c of CHUNK_PINS PINs uses seeded(seed + c * GOLDEN_GAMMA), so the output depends only on the seed,
+ *   never on how many threads ran or which chunk ran first.
+ * - A seeded batch is only as unpredictable as its one seed: SplittableRandom is not cryptographic, so every
+ *   encrypted PIN in it can be derived from 64 bits. When the encrypted PINs are handed out as credentials
+ *   (PinImportPipeline), use the source overload with RandomSource.secure(), which draws each PIN on its own.
+ * - The true PIN column is the input itself (Password keeps pin % 10^9).
+ */
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public final class PasswordBatch {
+
+	/** PINs per chunk; each chunk is one leaf task with its own generator. */
+	public static final int CHUNK_PINS = 1 << 16;
+
+	/** Number of distinct encrypted PINs (3 choices for each of 9 digits). */
+	public static final int COMBINATIONS = 19_683;
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/** [k] = packed encrypted PIN whose digits are the base-3 digits of k, plus one. */
+	private static final int[] ENCRYPTED = new int[COMBINATIONS];
+
+	static {
+		for (int k = 0; k < COMBINATIONS; k++) {
+			int packed = 0;
+			int place = 1;
+			for (int d = 0, rest = k; d < Password.DIGITS; d++, rest /= 3) {
+				packed += (rest % 3 + 1) * place;
+				place *= 10;
+			}
+			ENCRYPTED[k] = packed;
+		}
+	}
+
+	private PasswordBatch() {
+	}
+
+	/** Encrypts the PINs with an unpredictable seed and returns the encrypted column. */
+	public static int[] encrypt(int[] pins) {
+		int[] encrypted = new int[pins.length];
+		encrypt(pins, encrypted, RandomSource.secure().nextLong());
+		return encrypted;
+	}
+
+	/** Encrypts pins[i] into encrypted[i]; reproducible for the seed. */
+	public static void encrypt(int[] pins, int[] encrypted, long seed) {
+		if (encrypted.length < pins.length) {
+			throw new IllegalArgumentException("Output column too short: " + encrypted.length + " < " + pins.length);
+		}
+		int chunks = (pins.length + CHUNK_PINS - 1) / CHUNK_PINS;
+		if (chunks <= 1) {
+			encryptChunk(pins.length, encrypted, 0, seed);
+		} else {
+			ForkJoinPool.commonPool().invoke(new Chunks(pins.length, encrypted, 0, chunks, seed));
+		}
+	}
+
+	/** Encrypts pins[0, length) into encrypted[0, length), one draw from the source per PIN. */
+	public static void encrypt(int[] pins, int[] encrypted, int length, RandomSource source) {
+		if (length < 0 || length > pins.length || length > encrypted.length) {
+			throw new IllegalArgumentException("Length out of range: " + length);
+		}
+		for (int i = 0; i < length; i++) {
+			encrypted[i] = ENCRYPTED[source.nextInt(COMBINATIONS)];
+		}
+	}
+
+	/** Returns the packed encrypted PIN for combination k. */
+	public static int encryptedPin(int combination) {
+		return ENCRYPTED[combination];
+	}
+
+	/** Fills encrypted[] for chunk c. */
+	private static void encryptChunk(int length, int[] encrypted, int c, long seed) {
+		RandomSource rng = RandomSource.seeded(seed + c * GOLDEN_GAMMA);
+		int to = (int) Math.min(length, (c + 1L) * CHUNK_PINS);
+		for (int i = c * CHUNK_PINS; i < to; i++) {
+			encrypted[i] = ENCRYPTED[rng.nextInt(COMBINATIONS)];
+		}
+	}
+
+	/** Fork/join task for chunks [from, to). */
+	private static class Chunks extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int length;
+		private final int[] encrypted;
+		private final int from;
+		private final int to;
+		private final long seed;
+
+		Chunks(int length, int[] encrypted, int from, int to, long seed) {
+			this.length = length;
+			this.encrypted = encrypted;
+			this.from = from;
+			this.to = to;
+			this.seed = seed;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				encryptChunk(length, encrypted, from, seed);
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new Chunks(length, encrypted, from, mid, seed), new Chunks(length, encrypted, mid, to, seed));
+		}
+	}
+
+	/** Times one batch against building a Password per PIN. */
+	public static void main(String[] args) {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		int[] pins = new int[count];
+		RandomSource rng = RandomSource.seeded(1);
+		for (int i = 0; i < count; i++) pins[i] = rng.nextInt(1_000_000_000);
+		int[] encrypted = new int[count];
+
+		for (int round = 0; round < 3; round++) {
+			long start = System.nanoTime();
+			encrypt(pins, encrypted, round);
+			long batch = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			RandomSource source = RandomSource.seeded(round);
+			for (int i = 0; i < count; i++) encrypted[i] = new Password(pins[i], source).getEncryptedValue();
+			long single = System.nanoTime() - start;
+
+			System.out.printf("batch %,.0f PINs/s, one Password per PIN %,.0f PINs/s%n", count * 1e9 / batch, count * 1e9 / single);
+		}
+	}
+
+}
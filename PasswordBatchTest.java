@@ -0,0 +1,100 @@
+/*
+ * Class: PasswordBatchTest
+ * -> This class contains JUnit 5 tests for PasswordBatch.
+ *    It checks that the lookup table covers every encrypted PIN once, that batches are reproducible for a
+ *    seed across several chunks, and that every output is a valid encrypted PIN.
+ *
+ * Exclusive Functions:
+ * testTableCoversEveryCombination() - The 3^9 table entries are distinct and every digit is 1-3.
+ * @param - none, @return - void
+ *
+ * testSeedIsReproducible() - The same seed gives the same column over several chunks; another seed does not.
+ * @param - none, @return - void
+ *
+ * testDigitsAreUniform() - Each digit value appears about a third of the time in every position.
+ * @param - none, @return - void
+ *
+ * testShortOutputRejected() - An output column shorter than the input throws IllegalArgumentException.
+ * @param - none, @return - void
+ *
+ * testSourceDrawsEachPin() - The source overload draws one combination per PIN and writes only the first length entries.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class PasswordBatchTest {
+
+	@Test
+	void testTableCoversEveryCombination() {
+		Set<Integer> seen = new HashSet<>();
+		for (int k = 0; k < PasswordBatch.COMBINATIONS; k++) {
+			int packed = PasswordBatch.encryptedPin(k);
+			assertTrue(seen.add(packed));
+			for (int digit : Password.unpack(packed)) assertTrue(digit >= 1 && digit <= 3);
+		}
+	}
+
+	@Test
+	void testSeedIsReproducible() {
+		int n = 3 * PasswordBatch.CHUNK_PINS + 17;
+		int[] pins = new int[n];
+		for (int i = 0; i < n; i++) pins[i] = i;
+		int[] a = new int[n];
+		int[] b = new int[n];
+		int[] c = new int[n];
+		PasswordBatch.encrypt(pins, a, 42);
+		PasswordBatch.encrypt(pins, b, 42);
+		PasswordBatch.encrypt(pins, c, 43);
+		assertArrayEquals(a, b);
+		assertFalse(Arrays.equals(a, c));
+		assertNotEquals(0, a[n - 1]);
+	}
+
+	@Test
+	void testDigitsAreUniform() {
+		int n = 30_000;
+		int[] encrypted = PasswordBatch.encrypt(new int[n]);
+		int[][] counts = new int[Password.DIGITS][4];
+		for (int packed : encrypted) {
+			int[] digits = Password.unpack(packed);
+			for (int p = 0; p < Password.DIGITS; p++) counts[p][digits[p]]++;
+		}
+		for (int p = 0; p < Password.DIGITS; p++) {
+			assertEquals(0, counts[p][0]);
+			for (int d = 1; d <= 3; d++) assertTrue(Math.abs(counts[p][d] - n / 3) < n / 30, "position " + p + " digit " + d);
+		}
+	}
+
+	@Test
+	void testShortOutputRejected() {
+		assertThrows(IllegalArgumentException.class, () -> PasswordBatch.encrypt(new int[10], new int[9], 1));
+	}
+
+	@Test
+	void testSourceDrawsEachPin() {
+		RandomSource counting = new RandomSource() {
+			int next = 5;
+
+			@Override
+			public int nextInt(int bound) {
+				assertEquals(PasswordBatch.COMBINATIONS, bound);
+				return next++;
+			}
+
+			@Override
+			public long nextLong() {
+				throw new AssertionError("nextLong() not expected");
+			}
+		};
+		int[] encrypted = new int[8];
+		PasswordBatch.encrypt(new int[8], encrypted, 6, counting);
+		for (int i = 0; i < 6; i++) assertEquals(PasswordBatch.encryptedPin(5 + i), encrypted[i]);
+		assertEquals(0, encrypted[6]);
+		assertThrows(IllegalArgumentException.class, () -> PasswordBatch.encrypt(new int[8], new int[4], 6, counting));
+	}
+
+}
@@ -6,6 +6,15 @@
  * Exclusive Functions:
  * testPasswordEncrypter() - Tests the encryption process and ensures that the encrypted PINs are unique
  * @param - none, @return - void
+ * 
+ * testPackedMatchesDigits() - Tests that the packed values and the digit arrays describe the same PINs, leading zeros included
+ * @param - none, @return - void
+ * 
+ * testVerify() - Tests that verify() accepts only the encrypted PIN
+ * @param - none, @return - void
+ * 
+ * testWeakPinRejected() - Tests that the blocklist constructor refuses weak PINs and accepts a strong one
+ * @param - none, @return - void
  */
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
@@ -31,4 +40,47 @@ public class PasswordTest
         assertFalse(encryptedPIN1 == encryptedPIN2);
         assertFalse(encryptedPIN2 == encryptedPIN3);
     }
+
+    @Test
+    void testPackedMatchesDigits()
+    {
+        Password password = new Password(12345678, RandomSource.seeded(4));
+
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}, password.getTruePIN());
+        assertEquals(12345678, password.getTrueValue());
+
+        int packed = 0;
+        for (int digit : password.getEncryptedPIN())
+        {
+            assertTrue(digit >= 1 && digit <= 3);
+            packed = packed * 10 + digit;
+        }
+        assertEquals(packed, password.getEncryptedValue());
+        assertArrayEquals(password.getEncryptedPIN(), Password.unpack(password.getEncryptedValue()));
+    }
+
+    @Test
+    void testVerify()
+    {
+        Password password = new Password(999999999);
+        int encrypted = password.getEncryptedValue();
+
+        assertTrue(password.verify(encrypted));
+        assertFalse(password.verify(encrypted == 111111111 ? 111111112 : 111111111));
+        assertFalse(password.verify(999999999));
+        assertFalse(password.verify(-1));
+    }
+
+    @Test
+    void testWeakPinRejected()
+    {
+        PinBlocklist blocklist = PinBlocklist.common();
+
+        assertThrows(IllegalArgumentException.class, () -> new Password(999999999, blocklist));
+        assertThrows(IllegalArgumentException.class, () -> new Password(123456789, blocklist));
+        assertTrue(Password.isWeak(111111111, blocklist));
+
+        Password password = new Password(583920174, blocklist);
+        assertEquals(583920174, password.getTrueValue());
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Class: PinBlocklistTest
+ * -> This class contains JUnit 5 tests for PinBlocklist.
+ *    It checks that added PINs are always blocked, that the generated list covers the weak PIN families,
+ *    that the false-positive rate stays near its target, and that the common filter stays within a few MB.
+ *
+ * Exclusive Functions:
+ * testNoFalseNegatives() - Every added PIN is blocked.
+ * @param - none, @return - void
+ *
+ * testWeakFamiliesBlocked() - Repeated, sequential, two-digit and date PINs are in the common filter; typical strong PINs mostly are not.
+ * @param - none, @return - void
+ *
+ * testFalsePositiveRate() - PINs that were never added are blocked at no more than twice the target rate.
+ * @param - none, @return - void
+ *
+ * testCommonFilterSize() - The common filter is under 8 MB.
+ * @param - none, @return - void
+ *
+ * testRejectsBadSizing() - A non-positive count or a rate outside (0, 1) throws IllegalArgumentException.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class PinBlocklistTest {
+
+	@Test
+	void testNoFalseNegatives() {
+		PinBlocklist list = new PinBlocklist(50_000, 0.01);
+		SplittableRandom rng = new SplittableRandom(7);
+		int[] pins = new int[50_000];
+		for (int i = 0; i < pins.length; i++) {
+			pins[i] = rng.nextInt(1_000_000_000);
+			list.add(pins[i]);
+		}
+		for (int pin : pins) assertTrue(list.isBlocked(pin));
+	}
+
+	@Test
+	void testWeakFamiliesBlocked() {
+		PinBlocklist common = PinBlocklist.common();
+		int[] weak = {0, 111111111, 999999999, 123456789, 12345678, 987654321, 121212121, 123412341,
+				112112112, 135791357, 199001015, 250419991, 120319995};
+		for (int pin : weak) assertTrue(common.isBlocked(pin), "expected blocked: " + pin);
+
+		int[] strong = {583920174, 749201638, 318572946, 602948157, 847163925};
+		int blocked = 0;
+		for (int pin : strong) if (common.isBlocked(pin)) blocked++;
+		assertTrue(blocked <= 1);
+	}
+
+	@Test
+	void testFalsePositiveRate() {
+		PinBlocklist list = new PinBlocklist(100_000, 0.01);
+		Set<Integer> added = new HashSet<>();
+		SplittableRandom rng = new SplittableRandom(3);
+		while (added.size() < 100_000) {
+			int pin = rng.nextInt(1_000_000_000);
+			if (added.add(pin)) list.add(pin);
+		}
+		int tried = 0, falsePositives = 0;
+		while (tried < 200_000) {
+			int pin = rng.nextInt(1_000_000_000);
+			if (added.contains(pin)) continue;
+			tried++;
+			if (list.isBlocked(pin)) falsePositives++;
+		}
+		assertTrue(falsePositives < 0.02 * tried, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void testCommonFilterSize() {
+		assertTrue(PinBlocklist.common().getSizeInBytes() < 8 << 20);
+		assertTrue(PinBlocklist.common().getHashCount() >= 1);
+	}
+
+	@Test
+	void testRejectsBadSizing() {
+		assertThrows(IllegalArgumentException.class, () -> new PinBlocklist(0, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> new PinBlocklist(10, 0));
+		assertThrows(IllegalArgumentException.class, () -> new PinBlocklist(10, 1));
+	}
+
+}
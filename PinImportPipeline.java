@@ -0,0 +1,439 @@
+/*
+ * Class: PinImportPipeline
+ * -> This class imports a CSV of PINs into a PinVault in three pipelined stages on background threads:
+ *    a reader parses lines straight from a byte buffer into primitive batches, an encrypter rejects weak PINs and
+ *    encrypts each batch with PasswordBatch, and a group of hashers stores a PinVerifier hash of every encrypted PIN
+ *    and appends "accountId,encryptedPin" to the issued file, the list of encrypted PINs to hand to the owners.
+ *    The encrypter routes every account to one fixed hasher, so all the lines of an account are handled in order.
+ *    Stages hand batches over bounded queues and the batches are recycled, so a run of millions of lines creates
+ *    no String or object per line. Progress counters can be read at any time from any thread.
+ *
+ * Exclusive Functions:
+ * PinImportPipeline() - Creates a pipeline from the file into the vault and issued file, hashing with the verifier on the given number of threads.
+ * @param - Path csv, PinVault vault, Path issued, PinVerifier verifier, PinBlocklist blocklist, int hashers, @return - none
+ *
+ * start() - Starts the stages; the future completes when every line is stored or rejected, or fails on an I/O error
+ *           (at once, with IllegalStateException, if the vault may not have room for every line of the file).
+ * @param - none, @return - CompletableFuture<Void>
+ *
+ * cancel() - Stops all stages; the future fails with CancellationException.
+ * @param - none, @return - void
+ *
+ * getProgress() - Fraction of the file's lines that have been stored or rejected (0 to 1).
+ * @param - none, @return - double
+ *
+ * getParsed() / getStored() / getRejected() / getPinsPerSecond() - Running totals and throughput.
+ * @param - none, @return - long / long / long / double
+ *
+ * capacityFor() - A vault capacity that keeps a file of this size under half full.
+ * @param - long fileBytes, @return - int
+ *
+ * maxLines() - The most PIN lines a file of this size can hold (a line is at least 10 bytes with its newline).
+ * @param - long fileBytes, @return - long
+ *
+ * issuedFile() - The issued file kept next to a vault file ("<vault name>.issued.csv").
+ * @param - Path vaultFile, @return - Path
+ *
+ * verify() - Signs in an imported account: checks the encrypted PIN against its record on the verifier's workers,
+ *            and on a match rehashes a record made with fewer iterations than the verifier uses.
+ * @param - PinVault vault, long accountId, int encryptedPin, PinVerifier verifier, @return - CompletableFuture<Boolean>
+ *
+ * main() - Command line: csvFile vaultFile [iterations], imports next to issuedFile(vaultFile) and prints the totals.
+ * @param - String[] args, @return - void
+ *
+ * Notes:
+ * - Line format: "accountId,pin" or just "pin" (the account is then the line number). The PIN must have exactly
+ *   9 digits; spaces and '\r' are ignored. Any other line, a weak PIN or account 0 is counted as rejected.
+ *   A null blocklist skips the weak-PIN check.
+ * - Parsing is a byte loop over a 1 MB buffer: no regex, no String and no Integer.parseInt per line.
+ * - As with a PIN typed into LE53View, the owner signs in with the encrypted PIN, never the true one, so the vault
+ *   holds hashes of the encrypted PINs and the issued file is the only place they can be read. Lines are appended
+ *   after the account is stored, one write per batch. An account always goes to hasher (account % hashers), which
+ *   stores and issues its lines in file order, so if an account is imported twice its last line is current both
+ *   in the vault and in the issued file.
+ * - The issued file holds live credentials. Each encrypted PIN is drawn on its own from RandomSource.secure() (not
+ *   from a seeded batch, where one seed gives away the rest), and the file is created readable by its owner only
+ *   (rw-------, where the file system has POSIX permissions). Hand the PINs to their owners, then delete the file.
+ * - The hash cost dominates the run. Pass a verifier with a lower iteration count for bulk provisioning and let
+ *   PinVerifier.needsRehash() upgrade each record when its owner next signs in.
+ * - Open the vault with PinVault.openWithRoom(vaultFile, maxLines(csvBytes)) so repeated imports into one vault
+ *   grow it as needed.
+ * - The parsed queue holds QUEUED_BATCHES batches and the hashers' queues about as many between them, so a slow
+ *   stage holds back the reader instead of filling memory.
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PinImportPipeline {
+
+	/** Lines per batch. */
+	public static final int BATCH_LINES = 4096;
+
+	private static final int QUEUED_BATCHES = 8;
+	private static final int READ_BUFFER = 1 << 20;
+	private static final int ISSUED_LINE = 18 + 1 + Password.DIGITS + 1; // longest "accountId,encryptedPin\n"
+
+	private final Path csv;
+	private final PinVault vault;
+	private final Path issued;
+	private final PinVerifier verifier;
+	private final PinBlocklist blocklist;
+	private final int hashers;
+
+	private final BlockingQueue<Batch> free;
+	private final BlockingQueue<Batch> parsed;
+	private final List<BlockingQueue<Batch>> routed; // [h] = encrypted batches for hasher h
+	private final CompletableFuture<Void> done = new CompletableFuture<>();
+	private final LongAdder parsedLines = new LongAdder();
+	private final LongAdder stored = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private volatile long fileSize = 1;
+	private volatile long bytesRead;
+	private volatile long startNanos;
+	private volatile boolean cancelled;
+	private FileChannel issuedChannel;
+	private Thread[] threads;
+
+	public PinImportPipeline(Path csv, PinVault vault, Path issued, PinVerifier verifier, PinBlocklist blocklist, int hashers) {
+		if (hashers < 1) throw new IllegalArgumentException("Need at least one hasher");
+		this.csv = csv;
+		this.vault = vault;
+		this.issued = issued;
+		this.verifier = verifier;
+		this.blocklist = blocklist;
+		this.hashers = hashers;
+		int perHasher = Math.max(2, QUEUED_BATCHES / hashers);
+		// reader and encrypter input, the parsed queue, and per hasher: its queue, one being filled, one being hashed
+		int batches = 2 + QUEUED_BATCHES + hashers * (perHasher + 2);
+		this.free = new ArrayBlockingQueue<>(batches);
+		this.parsed = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+		this.routed = new ArrayList<>(hashers);
+		for (int h = 0; h < hashers; h++) routed.add(new ArrayBlockingQueue<>(perHasher));
+		for (int i = 0; i < batches; i++) free.add(new Batch());
+	}
+
+	/** Starts the reader, encrypter and hasher threads. */
+	public synchronized CompletableFuture<Void> start() {
+		if (threads != null) throw new IllegalStateException("Pipeline already started");
+		try {
+			long lines = maxLines(Files.size(csv));
+			if (vault.size() + lines > vault.capacity() / 4 * 3) {
+				throw new IllegalStateException("PIN vault has " + vault.size() + " of " + vault.capacity()
+						+ " slots used, not enough for up to " + lines + " more accounts");
+			}
+			issuedChannel = openIssued(issued);
+		} catch (IOException | IllegalStateException e) {
+			threads = new Thread[0];
+			done.completeExceptionally(e);
+			return done;
+		}
+		done.whenComplete((ignored, error) -> closeIssued());
+		startNanos = System.nanoTime();
+		threads = new Thread[2 + hashers];
+		threads[0] = new Thread(() -> stage(this::read), "pin-import-reader");
+		threads[1] = new Thread(() -> stage(this::encrypt), "pin-import-encrypter");
+		AtomicInteger running = new AtomicInteger(hashers);
+		for (int i = 0; i < hashers; i++) {
+			BlockingQueue<Batch> queue = routed.get(i);
+			threads[2 + i] = new Thread(() -> {
+				stage(() -> hash(queue));
+				if (running.decrementAndGet() == 0) done.complete(null);
+			}, "pin-import-hasher-" + i);
+		}
+		for (Thread t : threads) {
+			t.setDaemon(true);
+			t.start();
+		}
+		return done;
+	}
+
+	/** Stops every stage. */
+	public synchronized void cancel() {
+		cancelled = true;
+		done.completeExceptionally(new CancellationException("Import cancelled"));
+		if (threads != null) for (Thread t : threads) t.interrupt();
+	}
+
+	/** Returns a vault capacity for a CSV of the given size. */
+	public static int capacityFor(long fileBytes) {
+		return (int) Math.min(1 << 30, Math.max(16, 2 * maxLines(fileBytes)));
+	}
+
+	/** Upper bound on the lines in a file of the given size; the last line may lack its newline. */
+	public static long maxLines(long fileBytes) {
+		return (fileBytes + 1) / 10;
+	}
+
+	/** The issued file that goes with a vault file. */
+	public static Path issuedFile(Path vaultFile) {
+		return vaultFile.resolveSibling(vaultFile.getFileName() + ".issued.csv");
+	}
+
+	/** Verifies an imported account's encrypted PIN, upgrading its record to the verifier's cost on a match. */
+	public static CompletableFuture<Boolean> verify(PinVault vault, long accountId, int encryptedPin, PinVerifier verifier) {
+		byte[] record = new byte[PinVerifier.RECORD_BYTES];
+		if (accountId == 0 || !vault.read(accountId, record)) return CompletableFuture.completedFuture(false);
+		return verifier.verifyAsync(encryptedPin, record).thenApply(matches -> {
+			if (matches && verifier.needsRehash(record)) {
+				vault.put(accountId, verifier.hash(encryptedPin)); // still on a verifier worker
+			}
+			return matches;
+		});
+	}
+
+	/** Fraction of the input handled so far, by bytes read and lines finished. */
+	public double getProgress() {
+		long lines = parsedLines.sum();
+		double read = Math.min(1.0, (double) bytesRead / fileSize);
+		return lines == 0 ? 0 : read * (stored.sum() + rejected.sum()) / lines;
+	}
+
+	public long getParsed() { return parsedLines.sum(); }
+	public long getStored() { return stored.sum(); }
+	public long getRejected() { return rejected.sum(); }
+
+	/** PINs stored per second since start(). */
+	public double getPinsPerSecond() {
+		long nanos = System.nanoTime() - startNanos;
+		return startNanos == 0 || nanos <= 0 ? 0 : stored.sum() * 1e9 / nanos;
+	}
+
+	/** A stage body that may be interrupted or fail. */
+	private interface Stage {
+		void run() throws IOException, InterruptedException;
+	}
+
+	private void stage(Stage body) {
+		try {
+			body.run();
+		} catch (InterruptedException e) {
+			// cancelled
+		} catch (IOException | RuntimeException e) {
+			done.completeExceptionally(e);
+			cancel();
+		}
+	}
+
+	/** Stage 1: parses the file into batches of (account, pin). */
+	private void read() throws IOException, InterruptedException {
+		try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+			fileSize = Math.max(1, channel.size());
+			ByteBuffer buf = ByteBuffer.allocate(READ_BUFFER);
+			byte[] bytes = buf.array();
+			Batch batch = free.take();
+			long lineNumber = 0;
+			long account = 0, pin = 0;
+			int accountDigits = 0, pinDigits = 0;
+			boolean comma = false, bad = false;
+			long read = 0;
+
+			while (!cancelled) {
+				int n = channel.read(buf);
+				buf.flip();
+				int limit = buf.limit();
+				for (int i = 0; i <= limit; i++) {
+					byte b;
+					if (i < limit) b = bytes[i];
+					else if (n < 0) b = '\n'; // end of file ends the last line
+					else break;
+
+					if (b >= '0' && b <= '9') {
+						if (comma) {
+							pin = pin * 10 + (b - '0');
+							if (++pinDigits > Password.DIGITS) bad = true;
+						} else {
+							account = account * 10 + (b - '0');
+							if (++accountDigits > 18) bad = true;
+						}
+					} else if (b == ',') {
+						if (comma) bad = true;
+						comma = true;
+					} else if (b == '\n') {
+						if (accountDigits > 0 || comma || bad) {
+							lineNumber++;
+							if (!comma) { // "pin" only
+								pin = account;
+								pinDigits = accountDigits;
+								account = lineNumber;
+								accountDigits = 1;
+							}
+							if (bad || pinDigits != Password.DIGITS || accountDigits == 0 || account == 0) {
+								batch.rejected++;
+							} else {
+								batch.accounts[batch.size] = account;
+								batch.pins[batch.size++] = (int) pin;
+							}
+							if (batch.size + batch.rejected == BATCH_LINES) {
+								parsedLines.add(batch.size + batch.rejected);
+								parsed.put(batch);
+								batch = free.take();
+							}
+						}
+						account = pin = 0;
+						accountDigits = pinDigits = 0;
+						comma = bad = false;
+					} else if (b != ' ' && b != '\r' && b != '\t') {
+						bad = true;
+					}
+				}
+				if (n < 0) break;
+				read += n;
+				bytesRead = read;
+				buf.clear();
+			}
+			bytesRead = fileSize;
+			parsedLines.add(batch.size + batch.rejected);
+			parsed.put(batch);
+			parsed.put(Batch.END);
+		}
+	}
+
+	/** Stage 2: rejects weak PINs, encrypts the rest and routes each account to its hasher. */
+	private void encrypt() throws InterruptedException {
+		Batch[] out = new Batch[hashers]; // [h] = batch being filled for hasher h
+		while (!cancelled) {
+			Batch batch = parsed.take();
+			if (batch == Batch.END) {
+				for (int h = 0; h < hashers; h++) {
+					if (out[h] != null) routed.get(h).put(out[h]);
+					routed.get(h).put(Batch.END);
+				}
+				return;
+			}
+			int kept = 0;
+			for (int i = 0; i < batch.size; i++) {
+				if (blocklist != null && Password.isWeak(batch.pins[i], blocklist)) {
+					batch.rejected++;
+				} else {
+					batch.accounts[kept] = batch.accounts[i];
+					batch.pins[kept++] = batch.pins[i];
+				}
+			}
+			batch.size = kept;
+			PasswordBatch.encrypt(batch.pins, batch.encrypted, batch.size, RandomSource.secure());
+			for (int i = 0; i < batch.size; i++) {
+				int h = (int) (batch.accounts[i] % hashers);
+				if (out[h] == null) out[h] = free.take();
+				Batch to = out[h];
+				to.accounts[to.size] = batch.accounts[i];
+				to.encrypted[to.size++] = batch.encrypted[i];
+				if (to.size == BATCH_LINES) {
+					routed.get(h).put(to);
+					out[h] = null;
+				}
+			}
+			rejected.add(batch.rejected);
+			batch.size = 0;
+			batch.rejected = 0;
+			free.put(batch);
+		}
+	}
+
+	/** Stage 3: hashes each encrypted PIN of its accounts, stores it in the vault and appends the batch to the issued file. */
+	private void hash(BlockingQueue<Batch> queue) throws IOException, InterruptedException {
+		while (!cancelled) {
+			Batch batch = queue.take();
+			if (batch == Batch.END) return;
+			ByteBuffer lines = batch.issued;
+			lines.clear();
+			for (int i = 0; i < batch.size && !cancelled; i++) {
+				vault.put(batch.accounts[i], verifier.hash(batch.encrypted[i]));
+				stored.increment();
+				appendLine(lines, batch.accounts[i], batch.encrypted[i]);
+			}
+			lines.flip();
+			while (lines.hasRemaining()) issuedChannel.write(lines); // APPEND: each write lands whole at the end
+			batch.size = 0;
+			free.put(batch);
+		}
+	}
+
+	/** Writes "accountId,encryptedPin\n" with the PIN zero-padded to 9 digits. */
+	private static void appendLine(ByteBuffer out, long account, int pin) {
+		int start = out.position();
+		do {
+			out.put((byte) ('0' + account % 10));
+			account /= 10;
+		} while (account != 0);
+		for (int i = start, j = out.position() - 1; i < j; i++, j--) { // digits were written lowest first
+			byte b = out.get(i);
+			out.put(i, out.get(j));
+			out.put(j, b);
+		}
+		out.put((byte) ',');
+		for (int div = 100_000_000; div > 0; div /= 10) out.put((byte) ('0' + pin / div % 10));
+		out.put((byte) '\n');
+	}
+
+	/** Opens the issued file for appending, creating it (or narrowing it) to owner-only access. */
+	private static FileChannel openIssued(Path file) throws IOException {
+		Set<OpenOption> options = Set.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		if (!file.getFileSystem().supportedFileAttributeViews().contains("posix")) return FileChannel.open(file, options);
+		Set<PosixFilePermission> ownerOnly = PosixFilePermissions.fromString("rw-------");
+		FileChannel channel = FileChannel.open(file, options, PosixFilePermissions.asFileAttribute(ownerOnly));
+		try {
+			Files.setPosixFilePermissions(file, ownerOnly); // a file left by an earlier import may be wider
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		return channel;
+	}
+
+	private void closeIssued() {
+		try {
+			issuedChannel.close();
+		} catch (IOException e) {
+			// every line already written is kept
+		}
+	}
+
+	/** Columns for up to BATCH_LINES lines. */
+	private static final class Batch {
+		static final Batch END = new Batch();
+
+		final long[] accounts = new long[BATCH_LINES];
+		final int[] pins = new int[BATCH_LINES];
+		final int[] encrypted = new int[BATCH_LINES];
+		final ByteBuffer issued = ByteBuffer.allocate(BATCH_LINES * ISSUED_LINE);
+		int size;
+		int rejected;
+	}
+
+	/** Imports a CSV into a vault (created if missing) and prints the totals. */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.out.println("Usage: java PinImportPipeline csvFile vaultFile [iterations]");
+			return;
+		}
+		Path vaultFile = Paths.get(args[1]);
+		int iterations = args.length > 2 ? Integer.parseInt(args[2]) : PinVerifier.DEFAULT_ITERATIONS;
+		int cores = Runtime.getRuntime().availableProcessors();
+		try (PinVault vault = PinVault.openWithRoom(vaultFile, maxLines(Files.size(Paths.get(args[0]))));
+				PinVerifier verifier = new PinVerifier(iterations, 1, 1)) {
+			PinImportPipeline pipeline = new PinImportPipeline(Paths.get(args[0]), vault, issuedFile(vaultFile), verifier,
+					PinBlocklist.common(), cores);
+			pipeline.start().get();
+			System.out.printf("%,d lines, %,d stored, %,d rejected, %,.0f PINs/s%n", pipeline.getParsed(),
+					pipeline.getStored(), pipeline.getRejected(), pipeline.getPinsPerSecond());
+		}
+	}
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Class: PinImportPipelineTest
+ * -> This class contains JUnit 5 tests for PinImportPipeline.
+ *    It imports small hand-written CSV files and a generated file of many batches into a temporary vault and
+ *    issued file, using a one-iteration verifier so hashing does not dominate the test time.
+ *
+ * Exclusive Functions:
+ * testParsesAndRejects() - Valid lines are stored under their accounts; malformed, weak and account-0 lines are rejected.
+ * @param - none, @return - void
+ *
+ * testManyBatches() - A file spanning many batches is fully stored and issued by several hashers and reports progress 1.
+ * @param - none, @return - void
+ *
+ * testDuplicateAccountsAcrossBatches() - An account imported once per batch ends with its last line current in the vault and issued file.
+ * @param - none, @return - void
+ *
+ * testIssuedFileIsPrivate() - The issued file is owner-only, even one left world-readable by an earlier run.
+ * @param - none, @return - void
+ *
+ * testVerifyImported() - Imported accounts sign in with their issued encrypted PIN only, and are rehashed at the higher cost.
+ * @param - none, @return - void
+ *
+ * testVaultRoom() - An import that may not fit fails before storing anything; openWithRoom() grows the vault for a second file.
+ * @param - none, @return - void
+ *
+ * testCancel() - Cancelling a running import fails its future with CancellationException.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PinImportPipelineTest {
+
+	private Path csv;
+	private Path vaultFile;
+	private Path issued;
+	private PinVerifier verifier;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		csv = Files.createTempFile("pins", ".csv");
+		vaultFile = Files.createTempFile("pins", ".vault");
+		issued = PinImportPipeline.issuedFile(vaultFile);
+		verifier = new PinVerifier(1, 1, 1);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		verifier.close();
+		Files.deleteIfExists(csv);
+		Files.deleteIfExists(vaultFile);
+		Files.deleteIfExists(issued);
+	}
+
+	/** Reads the issued file: account to encrypted PIN, the last line winning. */
+	private Map<Long, Integer> readIssued() throws IOException {
+		Map<Long, Integer> pins = new HashMap<>();
+		List<String> lines = Files.readAllLines(issued, StandardCharsets.US_ASCII);
+		for (String line : lines) {
+			String[] cols = line.split(",");
+			assertEquals(Password.DIGITS, cols[1].length(), line);
+			pins.put(Long.parseLong(cols[0]), Integer.parseInt(cols[1]));
+		}
+		return pins;
+	}
+
+	@Test
+	void testParsesAndRejects() throws Exception {
+		String lines = "account,pin\r\n"
+				+ "1001,583920174\r\n"
+				+ "  1002 , 749201638\n"
+				+ "\n"
+				+ "318572946\n"           // pin only: account = line number 4
+				+ "1003,111111111\n"      // weak
+				+ "0,602948157\n"         // account 0
+				+ "1004,60294815\n"       // 8 digits
+				+ "1005,6029481570\n"     // 10 digits
+				+ "1006,60294x157\n"
+				+ "1007,847163925";       // no final newline
+		Files.write(csv, lines.getBytes(StandardCharsets.US_ASCII));
+		try (PinVault vault = PinVault.create(vaultFile, 64)) {
+			PinImportPipeline pipeline = new PinImportPipeline(csv, vault, issued, verifier, PinBlocklist.common(), 2);
+			pipeline.start().get();
+			assertEquals(10, pipeline.getParsed());
+			assertEquals(4, pipeline.getStored());
+			assertEquals(6, pipeline.getRejected());
+			assertEquals(1.0, pipeline.getProgress(), 1e-9);
+			for (long account : new long[] {1001, 1002, 4, 1007}) assertTrue(vault.contains(account), "account " + account);
+			assertFalse(vault.contains(1003));
+			assertEquals(4, vault.size());
+			assertEquals(4, Files.readAllLines(issued).size());
+			assertEquals(Set.of(1001L, 1002L, 4L, 1007L), readIssued().keySet());
+		}
+	}
+
+	@Test
+	void testManyBatches() throws Exception {
+		int n = 10 * PinImportPipeline.BATCH_LINES + 123;
+		StringBuilder sb = new StringBuilder();
+		RandomSource rng = RandomSource.seeded(11);
+		for (int i = 1; i <= n; i++) sb.append(i).append(',').append(100_000_000 + rng.nextInt(900_000_000)).append('\n');
+		Files.write(csv, sb.toString().getBytes(StandardCharsets.US_ASCII));
+		try (PinVault vault = PinVault.create(vaultFile, PinImportPipeline.capacityFor(Files.size(csv)))) {
+			PinImportPipeline pipeline = new PinImportPipeline(csv, vault, issued, verifier, null, 3);
+			pipeline.start().get();
+			assertEquals(n, pipeline.getParsed());
+			assertEquals(n, pipeline.getStored());
+			assertEquals(0, pipeline.getRejected());
+			assertEquals(n, vault.size());
+			assertEquals(1.0, pipeline.getProgress(), 1e-9);
+			assertTrue(pipeline.getPinsPerSecond() > 0);
+
+			Map<Long, Integer> pins = readIssued();
+			assertEquals(n, pins.size());
+			for (long account : new long[] {1, PinImportPipeline.BATCH_LINES, n}) {
+				assertTrue(vault.verify(account, pins.get(account), verifier), "account " + account);
+			}
+		}
+	}
+
+	@Test
+	void testDuplicateAccountsAcrossBatches() throws Exception {
+		int accounts = PinImportPipeline.BATCH_LINES;
+		StringBuilder sb = new StringBuilder();
+		for (int round = 0; round < 3; round++) { // each round is one reader batch, so the lines race across hashers
+			for (int id = 1; id <= accounts; id++) sb.append(id).append(',').append(583920174 + round).append('\n');
+		}
+		Files.write(csv, sb.toString().getBytes(StandardCharsets.US_ASCII));
+		try (PinVault vault = PinVault.create(vaultFile, PinImportPipeline.capacityFor(Files.size(csv)))) {
+			PinImportPipeline pipeline = new PinImportPipeline(csv, vault, issued, verifier, null, 3);
+			pipeline.start().get();
+			assertEquals(3 * accounts, pipeline.getStored());
+			assertEquals(accounts, vault.size());
+			assertEquals(3 * accounts, Files.readAllLines(issued).size());
+			Map<Long, Integer> last = readIssued();
+			for (long id = 1; id <= accounts; id++) {
+				assertTrue(vault.verify(id, last.get(id), verifier), "account " + id);
+			}
+		}
+	}
+
+	@Test
+	void testIssuedFileIsPrivate() throws Exception {
+		Assumptions.assumeTrue(issued.getFileSystem().supportedFileAttributeViews().contains("posix"));
+		Files.write(csv, "1001,583920174\n".getBytes(StandardCharsets.US_ASCII));
+		try (PinVault vault = PinVault.create(vaultFile, 16)) {
+			new PinImportPipeline(csv, vault, issued, verifier, null, 1).start().get();
+			assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(issued));
+
+			Files.setPosixFilePermissions(issued, PosixFilePermissions.fromString("rw-r--r--"));
+			new PinImportPipeline(csv, vault, issued, verifier, null, 1).start().get();
+			assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(issued));
+		}
+	}
+
+	@Test
+	void testVerifyImported() throws Exception {
+		Files.write(csv, "1001,583920174\n1002,749201638\n".getBytes(StandardCharsets.US_ASCII));
+		try (PinVault vault = PinVault.create(vaultFile, 16); PinVerifier signIn = new PinVerifier(50, 1, 4)) {
+			new PinImportPipeline(csv, vault, issued, verifier, null, 1).start().get();
+			Map<Long, Integer> pins = readIssued();
+			int encrypted = pins.get(1001L);
+
+			assertTrue(PinImportPipeline.verify(vault, 1001, encrypted, signIn).get());
+			assertFalse(PinImportPipeline.verify(vault, 1001, pins.get(1002L), signIn).get());
+			assertFalse(PinImportPipeline.verify(vault, 1003, encrypted, signIn).get());
+			assertEquals(encrypted == 583920174, PinImportPipeline.verify(vault, 1001, 583920174, signIn).get());
+
+			byte[] record = new byte[PinVerifier.RECORD_BYTES];
+			assertTrue(vault.read(1001, record));
+			assertFalse(signIn.needsRehash(record)); // upgraded from 1 to 50 iterations on sign-in
+			assertTrue(vault.verify(1001, encrypted, signIn));
+			assertTrue(vault.read(1002, record));
+			assertTrue(signIn.needsRehash(record)); // a failed sign-in leaves the record alone
+		}
+	}
+
+	@Test
+	void testVaultRoom() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 1; i <= 20; i++) sb.append(i).append(",583920174\n");
+		Files.write(csv, sb.toString().getBytes(StandardCharsets.US_ASCII));
+		try (PinVault vault = PinVault.create(vaultFile, 16)) {
+			CompletableFuture<Void> done = new PinImportPipeline(csv, vault, issued, verifier, null, 1).start();
+			ExecutionException e = assertThrows(ExecutionException.class, done::get);
+			assertTrue(e.getCause() instanceof IllegalStateException);
+			assertEquals(0, vault.size());
+		}
+		Files.delete(vaultFile);
+
+		long bytes = Files.size(csv);
+		try (PinVault vault = PinVault.openWithRoom(vaultFile, PinImportPipeline.maxLines(bytes))) {
+			new PinImportPipeline(csv, vault, issued, verifier, null, 1).start().get();
+			assertEquals(20, vault.size());
+		}
+		sb.setLength(0);
+		for (int i = 21; i <= 200; i++) sb.append(i).append(",749201638\n");
+		Files.write(csv, sb.toString().getBytes(StandardCharsets.US_ASCII));
+		try (PinVault vault = PinVault.openWithRoom(vaultFile, PinImportPipeline.maxLines(Files.size(csv)))) {
+			new PinImportPipeline(csv, vault, issued, verifier, null, 2).start().get();
+			assertEquals(200, vault.size());
+			Map<Long, Integer> pins = readIssued();
+			for (long account : new long[] {1, 20, 21, 200}) assertTrue(vault.verify(account, pins.get(account), verifier));
+		}
+	}
+
+	@Test
+	void testCancel() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 1; i <= 2000; i++) sb.append(i).append(",583920174\n");
+		Files.write(csv, sb.toString().getBytes(StandardCharsets.US_ASCII));
+		try (PinVault vault = PinVault.create(vaultFile, 4096); PinVerifier slow = new PinVerifier(200_000, 1, 1)) {
+			PinImportPipeline pipeline = new PinImportPipeline(csv, vault, issued, slow, null, 1);
+			CompletableFuture<Void> done = pipeline.start();
+			pipeline.cancel();
+			assertThrows(CancellationException.class, done::get);
+			assertTrue(done.isCompletedExceptionally());
+			assertTrue(pipeline.getStored() < 2000);
+		}
+	}
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Class: PinVault
+ * -> This class is a persistent store of PinVerifier hash records keyed by account ID.
+ *    The file is a fixed array of 128-byte slots, memory-mapped and used as an open-addressing hash table
+ *    with linear probing, so a lookup reads a few slots in place. Each slot holds two copies (A/B) of its
+ *    record, and an update always overwrites the older copy, so a crash mid-update leaves the previous record readable.
+ *
+ * Exclusive Functions:
+ * create() - Creates a vault file with room for the given number of slots (rounded up to a power of two).
+ * @param - Path file, int capacity, @return - PinVault
+ *
+ * open() - Opens an existing vault; only the header is read, so opening takes the same time at any size.
+ * @param - Path file, @return - PinVault
+ *
+ * openWithRoom() - Opens (or creates) a vault that can take the given number of new accounts under 3/4 load,
+ *                  first rebuilding the file at a larger capacity if it cannot.
+ * @param - Path file, long newAccounts, @return - PinVault
+ *
+ * put() - Stores or replaces the hash record for an account.
+ * @param - long accountId, byte[] record, @return - void
+ *
+ * contains() - Whether the account has a record.
+ * @param - long accountId, @return - boolean
+ *
+ * read() - Copies the account's current record into the caller's array.
+ * @param - long accountId, byte[] out, @return - boolean
+ *
+ * verify() - Checks a candidate PIN against the account's record where it lies in the mapped file.
+ * @param - long accountId, int candidate, PinVerifier verifier, @return - boolean
+ *
+ * size() / capacity() - Accounts stored / slots in the file.
+ * @param - none, @return - int
+ *
+ * sync() / close() - Forces the mapped pages to disk (close also releases the vault).
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Header (first 128 bytes): magic, capacity, size. Slot: [accountId:8][copy A:60][copy B:60]; a copy is
+ *   [version:4][checksum:4][record:52], and the copy with the higher version and a valid checksum is current.
+ * - An update writes the record and checksum first and the version last; a new account's ID is written after its
+ *   first copy. The checksum covers the account ID, version and record, so a torn copy is never used.
+ * - Account ID 0 marks an empty slot and cannot be stored. Records cannot be removed. Keep size under
+ *   3/4 of capacity so probe runs stay short; put() throws IllegalStateException when the table is full.
+ * - A rebuild copies every current record into a new file, which then replaces the old one with an atomic move,
+ *   so a crash mid-rebuild leaves the old vault as it was. It takes time in proportion to the capacity; the vault
+ *   must not be open elsewhere while it runs.
+ * - The file is mapped in 1 GB regions, so 2^25 slots (4 GB) fit 25 million accounts at 3/4 load.
+ * - Writes are visible to readers at once but reach the disk only on sync() or when the OS writes them back;
+ *   the size in the header can lag by the puts not yet synced when the process dies.
+ * - put() is synchronized; lookups take no lock. A lookup that races an update of the same account sees
+ *   either the old or the new record.
+ */
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class PinVault implements AutoCloseable {
+
+	public static final int SLOT_BYTES = 128;
+
+	private static final int MAGIC = 0x50564C54; // "PVLT"
+	private static final int HEADER_BYTES = SLOT_BYTES;
+	private static final int COPY_BYTES = 8 + PinVerifier.RECORD_BYTES;
+	private static final int COPY_A = 8;
+	private static final int COPY_B = COPY_A + COPY_BYTES;
+	private static final int SLOTS_PER_REGION = 1 << 23; // 1 GB of slots per mapping
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer header;
+	private final MappedByteBuffer[] regions;
+	private final int mask;
+	private volatile int size;
+
+	private PinVault(FileChannel channel, int capacity) throws IOException {
+		this.channel = channel;
+		this.mask = capacity - 1;
+		this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+		this.regions = new MappedByteBuffer[(capacity + SLOTS_PER_REGION - 1) / SLOTS_PER_REGION];
+		for (int r = 0; r < regions.length; r++) {
+			int slots = Math.min(SLOTS_PER_REGION, capacity - r * SLOTS_PER_REGION);
+			regions[r] = channel.map(FileChannel.MapMode.READ_WRITE,
+					HEADER_BYTES + (long) r * SLOTS_PER_REGION * SLOT_BYTES, (long) slots * SLOT_BYTES);
+		}
+	}
+
+	/** Creates a new, empty vault file (replacing any file at the path). */
+	public static PinVault create(Path file, int capacity) throws IOException {
+		if (capacity < 1 || capacity > MAX_CAPACITY) throw new IllegalArgumentException("Capacity out of range: " + capacity);
+		if (Integer.bitCount(capacity) != 1) capacity = Integer.highestOneBit(capacity) << 1;
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		PinVault vault = new PinVault(channel, capacity); // mapping extends the (sparse, zero-filled) file
+		vault.header.putInt(4, capacity);
+		vault.header.putInt(8, 0);
+		vault.header.putInt(0, MAGIC);
+		return vault;
+	}
+
+	/** Opens an existing vault file. */
+	public static PinVault open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+			int capacity = head.getInt(4);
+			if (head.getInt(0) != MAGIC || Integer.bitCount(capacity) != 1
+					|| channel.size() < HEADER_BYTES + (long) capacity * SLOT_BYTES) {
+				throw new IOException("Not a PIN vault: " + file);
+			}
+			PinVault vault = new PinVault(channel, capacity);
+			vault.size = vault.header.getInt(8);
+			return vault;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/** Opens the vault at the file with room for newAccounts more accounts, growing it if needed. */
+	public static PinVault openWithRoom(Path file, long newAccounts) throws IOException {
+		if (newAccounts < 0) throw new IllegalArgumentException("Negative account count: " + newAccounts);
+		if (!Files.exists(file)) return create(file, capacityFor(newAccounts));
+		PinVault vault = open(file);
+		long needed = vault.size + newAccounts;
+		if (needed <= (vault.mask + 1L) / 4 * 3) return vault;
+
+		Path rebuilt = file.resolveSibling(file.getFileName() + ".rebuild");
+		try (PinVault old = vault; PinVault bigger = create(rebuilt, capacityFor(needed))) {
+			old.copyTo(bigger);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(rebuilt);
+			throw e;
+		}
+		Files.move(rebuilt, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return open(file);
+	}
+
+	/** Twice the accounts (half full), within the 3/4 load limit at the largest capacity. */
+	private static int capacityFor(long accounts) {
+		if (accounts > MAX_CAPACITY / 4 * 3) throw new IllegalStateException("PIN vault cannot hold " + accounts + " accounts");
+		return (int) Math.min(MAX_CAPACITY, Math.max(16, 2 * accounts));
+	}
+
+	/** Stores the record as the account's current record. */
+	public synchronized void put(long accountId, byte[] record) {
+		if (accountId == 0) throw new IllegalArgumentException("Account ID 0 is reserved");
+		if (record.length != PinVerifier.RECORD_BYTES) throw new IllegalArgumentException("Not a PIN hash record");
+		int slot = find(accountId);
+		boolean added = false;
+		if (slot < 0) {
+			if (~slot == mask + 1) throw new IllegalStateException("PIN vault is full: " + (mask + 1) + " accounts");
+			slot = ~slot;
+			added = true;
+		}
+		MappedByteBuffer region = regions[slot / SLOTS_PER_REGION];
+		int base = (slot % SLOTS_PER_REGION) * SLOT_BYTES;
+		int versionA = region.getInt(base + COPY_A);
+		int versionB = region.getInt(base + COPY_B);
+		int copy = base + (versionA <= versionB ? COPY_A : COPY_B);
+		int version = Math.max(versionA, versionB) + 1;
+
+		region.put(copy + 8, record);
+		region.putInt(copy + 4, checksum(accountId, version, region, copy + 8));
+		VarHandle.releaseFence();
+		region.putInt(copy, version);
+		if (added) {
+			VarHandle.releaseFence();
+			region.putLong(base, accountId);
+			header.putInt(8, ++size);
+		}
+	}
+
+	public boolean contains(long accountId) {
+		return find(accountId) >= 0;
+	}
+
+	/** Copies the account's current record into out; false if there is none. */
+	public boolean read(long accountId, byte[] out) {
+		int slot = find(accountId);
+		if (slot < 0) return false;
+		MappedByteBuffer region = regions[slot / SLOTS_PER_REGION];
+		int copy = currentCopy(accountId, region, (slot % SLOTS_PER_REGION) * SLOT_BYTES);
+		if (copy < 0) return false;
+		region.get(copy + 8, out, 0, PinVerifier.RECORD_BYTES);
+		return true;
+	}
+
+	/** Verifies the candidate against the account's record in place; false if the account has none. */
+	public boolean verify(long accountId, int candidate, PinVerifier verifier) {
+		int slot = find(accountId);
+		if (slot < 0) return false;
+		MappedByteBuffer region = regions[slot / SLOTS_PER_REGION];
+		int copy = currentCopy(accountId, region, (slot % SLOTS_PER_REGION) * SLOT_BYTES);
+		return copy >= 0 && verifier.verify(candidate, region, copy + 8);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return mask + 1;
+	}
+
+	public void sync() {
+		for (MappedByteBuffer region : regions) region.force();
+		header.force();
+	}
+
+	@Override
+	public void close() throws IOException {
+		sync();
+		channel.close();
+	}
+
+	/** Puts the current record of every account into the target. */
+	private void copyTo(PinVault target) {
+		byte[] record = new byte[PinVerifier.RECORD_BYTES];
+		for (int slot = 0; slot <= mask; slot++) {
+			MappedByteBuffer region = regions[slot / SLOTS_PER_REGION];
+			int base = (slot % SLOTS_PER_REGION) * SLOT_BYTES;
+			long accountId = region.getLong(base);
+			if (accountId == 0) continue;
+			int copy = currentCopy(accountId, region, base);
+			if (copy < 0) continue; // never written whole: the account was not stored
+			region.get(copy + 8, record, 0, PinVerifier.RECORD_BYTES);
+			target.put(accountId, record);
+		}
+	}
+
+	/** Returns the account's slot, or ~(first empty slot on its probe path) if it is not stored. */
+	private int find(long accountId) {
+		int slot = (int) mix(accountId) & mask;
+		for (int probes = 0; probes <= mask; probes++) {
+			long key = regions[slot / SLOTS_PER_REGION].getLong((slot % SLOTS_PER_REGION) * SLOT_BYTES);
+			if (key == accountId) return slot;
+			if (key == 0) return ~slot;
+			slot = (slot + 1) & mask;
+		}
+		return ~(mask + 1); // full table (whatever the header size says); put() rejects this before using it
+	}
+
+	/** Offset of the newest valid copy in the slot at base, or -1. */
+	private static int currentCopy(long accountId, MappedByteBuffer region, int base) {
+		int a = base + COPY_A;
+		int b = base + COPY_B;
+		int versionA = region.getInt(a);
+		int versionB = region.getInt(b);
+		VarHandle.acquireFence();
+		boolean validA = versionA > 0 && region.getInt(a + 4) == checksum(accountId, versionA, region, a + 8);
+		boolean validB = versionB > 0 && region.getInt(b + 4) == checksum(accountId, versionB, region, b + 8);
+		if (validA && (!validB || versionA > versionB)) return a;
+		return validB ? b : -1;
+	}
+
+	/** 32-bit mix of the account ID, version and the record's 13 ints. */
+	private static int checksum(long accountId, int version, MappedByteBuffer region, int offset) {
+		long h = mix(accountId ^ ((long) version << 32));
+		for (int i = 0; i < PinVerifier.RECORD_BYTES; i += 4) h = mix(h ^ region.getInt(offset + i));
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/** SplitMix64 finalizer. */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Class: PinVaultTest
+ * -> This class contains JUnit 5 tests for PinVault.
+ *    It stores, updates and verifies records, reopens the file, damages the newest copy of a record to act out
+ *    a torn write, and fills a vault with many accounts. Records are PinVerifier hashes at a low cost.
+ *
+ * Exclusive Functions:
+ * testPutReadVerify() - A stored record reads back and verifies; unknown accounts do not.
+ * @param - none, @return - void
+ *
+ * testUpdateAndReopen() - The latest record survives closing and reopening the file.
+ * @param - none, @return - void
+ *
+ * testTornCopyFallsBack() - A damaged newest copy is skipped and the previous record is used.
+ * @param - none, @return - void
+ *
+ * testManyAccounts() - Many accounts with colliding probe paths all read back; a full vault rejects new accounts.
+ * @param - none, @return - void
+ *
+ * testRejectsBadInput() - Account 0, wrong-size records and non-vault files are rejected.
+ * @param - none, @return - void
+ *
+ * testFullAfterLaggingSize() - A full vault whose header size lags (a crash before sync) still rejects new accounts.
+ * @param - none, @return - void
+ *
+ * testOpenWithRoom() - A vault without room for the new accounts is rebuilt larger and keeps every record.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PinVaultTest {
+
+	private Path file;
+	private PinVerifier verifier;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		file = Files.createTempFile("pins", ".vault");
+		verifier = new PinVerifier(1000, 1, 4);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		verifier.close();
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	void testPutReadVerify() throws IOException {
+		try (PinVault vault = PinVault.create(file, 100)) {
+			assertEquals(128, vault.capacity());
+			byte[] record = verifier.hash(123456789);
+			vault.put(7, record);
+			assertEquals(1, vault.size());
+			assertTrue(vault.contains(7));
+			assertFalse(vault.contains(8));
+
+			byte[] out = new byte[PinVerifier.RECORD_BYTES];
+			assertTrue(vault.read(7, out));
+			assertArrayEquals(record, out);
+			assertTrue(vault.verify(7, 123456789, verifier));
+			assertFalse(vault.verify(7, 123456780, verifier));
+			assertFalse(vault.verify(8, 123456789, verifier));
+		}
+	}
+
+	@Test
+	void testUpdateAndReopen() throws IOException {
+		try (PinVault vault = PinVault.create(file, 64)) {
+			vault.put(-5, verifier.hash(1));
+			vault.put(-5, verifier.hash(2));
+			vault.put(-5, verifier.hash(3));
+			assertEquals(1, vault.size());
+		}
+		try (PinVault vault = PinVault.open(file)) {
+			assertEquals(1, vault.size());
+			assertTrue(vault.verify(-5, 3, verifier));
+			assertFalse(vault.verify(-5, 2, verifier));
+		}
+	}
+
+	@Test
+	void testTornCopyFallsBack() throws IOException {
+		try (PinVault vault = PinVault.create(file, 16)) {
+			vault.put(99, verifier.hash(111));
+			vault.put(99, verifier.hash(222));
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer slot = ByteBuffer.allocate(PinVault.SLOT_BYTES);
+			long base = PinVault.SLOT_BYTES;
+			for (;; base += PinVault.SLOT_BYTES) {
+				slot.clear();
+				channel.read(slot, base);
+				if (slot.getLong(0) == 99) break;
+			}
+			int newest = slot.getInt(8) > slot.getInt(8 + 60) ? 8 : 8 + 60;
+			channel.write(ByteBuffer.wrap(new byte[] {0x55}), base + newest + 8 + 30); // a half-written record
+		}
+		try (PinVault vault = PinVault.open(file)) {
+			assertTrue(vault.verify(99, 111, verifier));
+			assertFalse(vault.verify(99, 222, verifier));
+		}
+	}
+
+	@Test
+	void testManyAccounts() throws IOException {
+		byte[] record = new byte[PinVerifier.RECORD_BYTES];
+		ByteBuffer.wrap(record).putInt(1);
+		try (PinVault vault = PinVault.create(file, 1 << 12)) {
+			for (int id = 1; id <= vault.capacity(); id++) {
+				ByteBuffer.wrap(record).putLong(4, id * 31L);
+				vault.put(id, record);
+			}
+			assertEquals(vault.capacity(), vault.size());
+			byte[] out = new byte[PinVerifier.RECORD_BYTES];
+			for (int id = 1; id <= vault.capacity(); id++) {
+				assertTrue(vault.read(id, out));
+				assertEquals(id * 31L, ByteBuffer.wrap(out).getLong(4));
+			}
+			assertFalse(vault.contains(vault.capacity() + 1));
+			assertThrows(IllegalStateException.class, () -> vault.put(-1, record));
+			vault.put(1, record); // updating an existing account still works
+		}
+	}
+
+	@Test
+	void testRejectsBadInput() throws IOException {
+		try (PinVault vault = PinVault.create(file, 8)) {
+			assertThrows(IllegalArgumentException.class, () -> vault.put(0, new byte[PinVerifier.RECORD_BYTES]));
+			assertThrows(IllegalArgumentException.class, () -> vault.put(1, new byte[10]));
+		}
+		Files.write(file, new byte[4096]);
+		assertThrows(IOException.class, () -> PinVault.open(file));
+	}
+
+	@Test
+	void testFullAfterLaggingSize() throws IOException {
+		byte[] record = verifier.hash(4321);
+		try (PinVault vault = PinVault.create(file, 16)) {
+			for (int id = 1; id <= vault.capacity(); id++) vault.put(id, record);
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(4).putInt(0, 3), 8); // size as last synced before the crash
+		}
+		try (PinVault vault = PinVault.open(file)) {
+			assertEquals(3, vault.size());
+			assertThrows(IllegalStateException.class, () -> vault.put(100, record));
+			assertTrue(vault.verify(16, 4321, verifier));
+			vault.put(16, verifier.hash(1234)); // updates still work
+			assertTrue(vault.verify(16, 1234, verifier));
+		}
+	}
+
+	@Test
+	void testOpenWithRoom() throws IOException {
+		Files.delete(file);
+		try (PinVault vault = PinVault.openWithRoom(file, 5)) {
+			assertEquals(16, vault.capacity());
+			for (int id = 1; id <= 10; id++) vault.put(id, verifier.hash(100 + id));
+		}
+		try (PinVault vault = PinVault.openWithRoom(file, 2)) {
+			assertEquals(16, vault.capacity()); // 12 accounts fit under 3/4 of 16
+		}
+		try (PinVault vault = PinVault.openWithRoom(file, 10)) {
+			assertEquals(64, vault.capacity());
+			assertEquals(10, vault.size());
+			for (int id = 1; id <= 10; id++) assertTrue(vault.verify(id, 100 + id, verifier), "account " + id);
+			for (int id = 11; id <= 20; id++) vault.put(id, verifier.hash(100 + id));
+		}
+		assertThrows(IllegalStateException.class, () -> PinVault.openWithRoom(file, 1L << 30));
+		try (PinVault vault = PinVault.open(file)) { // a refused rebuild leaves the vault as it was
+			assertEquals(20, vault.size());
+			assertTrue(vault.verify(20, 120, verifier));
+		}
+		assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".rebuild")));
+	}
+
+}
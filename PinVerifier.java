@@ -0,0 +1,190 @@
+/*
+ * Class: PinVerifier
+ * -> This class hashes and verifies 9-digit PINs with salted PBKDF2-HMAC-SHA256 and a configurable iteration count.
+ *    A hash is a fixed-size record (iterations, salt, digest) that can be kept in a byte[] or read in place from
+ *    any ByteBuffer. The slow work runs on a bounded worker pool with a bounded queue, and callers get a
+ *    CompletableFuture, so a high cost never blocks the caller's thread.
+ *
+ * Exclusive Functions:
+ * PinVerifier() - Creates a verifier that hashes with the given iterations on the given number of workers.
+ * @param - int iterations, int workers, int queueCapacity, @return - none
+ *
+ * hash() - Hashes a PIN with a fresh random salt and returns the record.
+ * @param - int pin, @return - byte[]
+ *
+ * verify() - Recomputes the hash for a candidate and compares it to the record in constant time.
+ * @param - int candidate, byte[] record / int candidate, ByteBuffer buf, int offset, @return - boolean
+ *
+ * hashAsync() / verifyAsync() - The same work on the worker pool; a full queue fails the future with RejectedExecutionException.
+ * @param - int pin / int candidate, byte[] record, @return - CompletableFuture<byte[]> / CompletableFuture<Boolean>
+ *
+ * needsRehash() - Whether a record was made with fewer iterations than this verifier uses.
+ * @param - byte[] record, @return - boolean
+ *
+ * getQueued() / getActive() / getCompleted() / getRejected() / getAverageNanos() - Queue and throughput metrics.
+ * @param - none, @return - int / int / long / long / double
+ *
+ * close() - Stops the workers after the queued tasks finish.
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Record layout: [iterations:4][salt:16][digest:32] = RECORD_BYTES. The iteration count is stored per record,
+ *   so raising the cost keeps old records verifiable and needsRehash() reports them for upgrading.
+ * - The digests are compared with a loop that always reads all 32 bytes, so the time does not show where a
+ *   mismatch is.
+ * - A 9-digit PIN has at most 10^9 values; the cost makes each offline guess expensive, and online guesses
+ *   should also be rate limited by the caller.
+ * - Workers are daemon platform threads (virtual threads need Java 21). Size the pool to the cores you give
+ *   to hashing; the queue bounds the waiting work, and the rejected count shows when callers outrun it.
+ */
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+public class PinVerifier implements AutoCloseable {
+
+	/** Iterations used when none are given (about 0.1 s per hash on one core). */
+	public static final int DEFAULT_ITERATIONS = 100_000;
+
+	public static final int SALT_BYTES = 16;
+	public static final int DIGEST_BYTES = 32;
+	public static final int RECORD_BYTES = 4 + SALT_BYTES + DIGEST_BYTES;
+
+	private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+
+	/** SecretKeyFactory is not thread-safe, so each thread keeps its own. */
+	private static final ThreadLocal<SecretKeyFactory> FACTORY = ThreadLocal.withInitial(() -> {
+		try {
+			return SecretKeyFactory.getInstance(ALGORITHM);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		}
+	});
+
+	private final int iterations;
+	private final ThreadPoolExecutor workers;
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder busyNanos = new LongAdder();
+
+	public PinVerifier(int iterations, int workers, int queueCapacity) {
+		if (iterations < 1) throw new IllegalArgumentException("Iterations must be positive: " + iterations);
+		this.iterations = iterations;
+		AtomicInteger count = new AtomicInteger();
+		this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), r -> {
+					Thread t = new Thread(r, "pin-verifier-" + count.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/** Hashes the PIN with a new random salt. */
+	public byte[] hash(int pin) {
+		long start = System.nanoTime();
+		ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+		record.putInt(iterations);
+		RandomSource random = RandomSource.secure();
+		record.putLong(random.nextLong()).putLong(random.nextLong());
+		byte[] salt = new byte[SALT_BYTES];
+		record.get(4, salt);
+		record.put(4 + SALT_BYTES, derive(pin, salt, iterations));
+		count(start);
+		return record.array();
+	}
+
+	/** Checks the candidate against a record made by hash(). */
+	public boolean verify(int candidate, byte[] record) {
+		return verify(candidate, ByteBuffer.wrap(record), 0);
+	}
+
+	/** Checks the candidate against the record stored at buf[offset], without copying the record first. */
+	public boolean verify(int candidate, ByteBuffer buf, int offset) {
+		long start = System.nanoTime();
+		int cost = buf.getInt(offset);
+		if (cost < 1) throw new IllegalArgumentException("Not a PIN hash record");
+		byte[] salt = new byte[SALT_BYTES];
+		buf.get(offset + 4, salt);
+		byte[] digest = derive(candidate, salt, cost);
+		int diff = 0;
+		for (int i = 0; i < DIGEST_BYTES; i++) diff |= digest[i] ^ buf.get(offset + 4 + SALT_BYTES + i);
+		count(start);
+		return diff == 0;
+	}
+
+	/** Hashes on the worker pool. */
+	public CompletableFuture<byte[]> hashAsync(int pin) {
+		try {
+			return CompletableFuture.supplyAsync(() -> hash(pin), workers);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/** Verifies on the worker pool. */
+	public CompletableFuture<Boolean> verifyAsync(int candidate, byte[] record) {
+		try {
+			return CompletableFuture.supplyAsync(() -> verify(candidate, record), workers);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/** True if the record should be rehashed with this verifier's higher cost. */
+	public boolean needsRehash(byte[] record) {
+		return ByteBuffer.wrap(record).getInt(0) < iterations;
+	}
+
+	public int getIterations() { return iterations; }
+	public int getQueued() { return workers.getQueue().size(); }
+	public int getActive() { return workers.getActiveCount(); }
+	public long getCompleted() { return completed.sum(); }
+	public long getRejected() { return rejected.sum(); }
+
+	/** Average time of one hash or verification, in nanoseconds. */
+	public double getAverageNanos() {
+		long n = completed.sum();
+		return n == 0 ? 0 : (double) busyNanos.sum() / n;
+	}
+
+	@Override
+	public void close() {
+		workers.shutdown();
+	}
+
+	private void count(long start) {
+		busyNanos.add(System.nanoTime() - start);
+		completed.increment();
+	}
+
+	/** PBKDF2 over the PIN's 9 digit characters. */
+	private static byte[] derive(int pin, byte[] salt, int iterations) {
+		char[] digits = new char[Password.DIGITS];
+		for (int i = Password.DIGITS - 1; i >= 0; i--) {
+			digits[i] = (char) ('0' + pin % 10);
+			pin /= 10;
+		}
+		PBEKeySpec spec = new PBEKeySpec(digits, salt, iterations, DIGEST_BYTES * 8);
+		try {
+			return FACTORY.get().generateSecret(spec).getEncoded();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			spec.clearPassword();
+			Arrays.fill(digits, '\0');
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Class: PinVerifierTest
+ * -> This class contains JUnit 5 tests for PinVerifier.
+ *    It uses a low iteration count so the tests stay fast; the hashing path is the same at any cost.
+ *
+ * Exclusive Functions:
+ * testHashAndVerify() - The hashed PIN verifies and other PINs do not; two hashes of one PIN differ by salt.
+ * @param - none, @return - void
+ *
+ * testVerifyInPlace() - A record stored inside a larger buffer verifies at its offset.
+ * @param - none, @return - void
+ *
+ * testRaisedCostKeepsOldRecords() - A record made at a lower cost still verifies and is reported for rehashing.
+ * @param - none, @return - void
+ *
+ * testAsyncAndBackpressure() - Async calls complete on the pool; a full queue rejects and counts the rejection.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+
+public class PinVerifierTest {
+
+	@Test
+	void testHashAndVerify() {
+		try (PinVerifier verifier = new PinVerifier(1000, 1, 4)) {
+			byte[] record = verifier.hash(123456789);
+			assertEquals(PinVerifier.RECORD_BYTES, record.length);
+			assertTrue(verifier.verify(123456789, record));
+			assertFalse(verifier.verify(123456788, record));
+			assertFalse(verifier.verify(23456789, record));
+			assertFalse(Arrays.equals(record, verifier.hash(123456789)));
+			assertEquals(5, verifier.getCompleted());
+		}
+	}
+
+	@Test
+	void testVerifyInPlace() {
+		try (PinVerifier verifier = new PinVerifier(1000, 1, 4)) {
+			ByteBuffer buf = ByteBuffer.allocate(3 * PinVerifier.RECORD_BYTES);
+			buf.put(PinVerifier.RECORD_BYTES, verifier.hash(12));
+			assertTrue(verifier.verify(12, buf, PinVerifier.RECORD_BYTES));
+			assertFalse(verifier.verify(13, buf, PinVerifier.RECORD_BYTES));
+			assertThrows(IllegalArgumentException.class, () -> verifier.verify(12, buf, 0));
+		}
+	}
+
+	@Test
+	void testRaisedCostKeepsOldRecords() {
+		byte[] record;
+		try (PinVerifier cheap = new PinVerifier(500, 1, 4)) {
+			record = cheap.hash(999999999);
+			assertFalse(cheap.needsRehash(record));
+		}
+		try (PinVerifier costly = new PinVerifier(2000, 1, 4)) {
+			assertTrue(costly.verify(999999999, record));
+			assertTrue(costly.needsRehash(record));
+		}
+	}
+
+	@Test
+	void testAsyncAndBackpressure() throws InterruptedException, ExecutionException {
+		try (PinVerifier verifier = new PinVerifier(20_000, 1, 1)) {
+			byte[] record = verifier.hashAsync(42).get();
+			assertTrue(verifier.verifyAsync(42, record).get());
+			assertFalse(verifier.verifyAsync(43, record).get());
+
+			List<CompletableFuture<Boolean>> burst = new ArrayList<>();
+			for (int i = 0; i < 20; i++) burst.add(verifier.verifyAsync(42, record));
+			int failed = 0;
+			for (CompletableFuture<Boolean> f : burst) {
+				try {
+					assertTrue(f.get());
+				} catch (ExecutionException e) {
+					assertTrue(e.getCause() instanceof RejectedExecutionException);
+					failed++;
+				}
+			}
+			assertTrue(failed > 0);
+			assertEquals(failed, verifier.getRejected());
+			assertTrue(verifier.getAverageNanos() > 0);
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Class: RandomSource
+ * -> This interface is the single source of randomness for the games. Hangman picks words with it,
+ *    Password draws its encryption digits from it, and TicTacToe builds its Zobrist keys from it.
+ *    Implementations cover reproducible per-session seeds, fast per-thread generators and a
+ *    cryptographic generator, and ShuffledBag deals indexes without repeats.
+ *
+ * Exclusive Functions:
+ * nextInt() - Returns a uniformly random int in [0, bound).
+ * @param - int bound, @return - int
+ *
+ * nextLong() - Returns a uniformly random long.
+ * @param - none, @return - long
+ *
+ * seeded() - A SplittableRandom-backed source that repeats the same sequence for the same seed (one per session or thread).
+ * @param - long seed, @return - RandomSource
+ *
+ * threadLocal() - A shared source that draws from the calling thread's ThreadLocalRandom, so threads never contend.
+ * @param - none, @return - RandomSource
+ *
+ * secure() - A shared SecureRandom-backed source for values that must not be predictable.
+ * @param - none, @return - RandomSource
+ *
+ * ShuffledBag.next() - Returns the next index of a shuffled [0, size) deal; every index comes out once before any repeats.
+ * @param - none, @return - int
+ *
+ * Notes:
+ * - A seeded source is not thread-safe; give each session or thread its own (e.g. seeded(baseSeed + sessionId)).
+ * - threadLocal() and secure() are safe to share between threads.
+ * - ShuffledBag shuffles lazily (one Fisher-Yates step per draw), so a bag over a large dictionary costs
+ *   one int array and no upfront shuffle.
+ */
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+public interface RandomSource {
+
+	int nextInt(int bound);
+
+	long nextLong();
+
+	/** Returns a reproducible, single-threaded source for the seed. */
+	static RandomSource seeded(long seed) {
+		SplittableRandom rng = new SplittableRandom(seed);
+		return new RandomSource() {
+			@Override
+			public int nextInt(int bound) {
+				return rng.nextInt(bound);
+			}
+
+			@Override
+			public long nextLong() {
+				return rng.nextLong();
+			}
+		};
+	}
+
+	/** Returns the shared source backed by each thread's ThreadLocalRandom. */
+	static RandomSource threadLocal() {
+		return Shared.THREAD_LOCAL;
+	}
+
+	/** Returns the shared cryptographic source. */
+	static RandomSource secure() {
+		return Shared.SECURE;
+	}
+
+	/** Holders for the shared sources. */
+	final class Shared {
+
+		static final RandomSource THREAD_LOCAL = new RandomSource() {
+			@Override
+			public int nextInt(int bound) {
+				return ThreadLocalRandom.current().nextInt(bound);
+			}
+
+			@Override
+			public long nextLong() {
+				return ThreadLocalRandom.current().nextLong();
+			}
+		};
+
+		static final RandomSource SECURE = new RandomSource() {
+			private final SecureRandom rng = new SecureRandom();
+
+			@Override
+			public int nextInt(int bound) {
+				return rng.nextInt(bound);
+			}
+
+			@Override
+			public long nextLong() {
+				return rng.nextLong();
+			}
+		};
+
+		private Shared() {
+		}
+	}
+
+	/** Deals the indexes [0, size) in random order, reshuffling after all of them have been dealt. */
+	final class ShuffledBag {
+
+		private final int[] order;
+		private final RandomSource rng;
+		private int dealt;
+
+		public ShuffledBag(int size, RandomSource rng) {
+			if (size <= 0) throw new IllegalArgumentException("Bag size must be positive: " + size);
+			this.order = new int[size];
+			for (int i = 0; i < size; i++) order[i] = i;
+			this.rng = rng;
+		}
+
+		/** Returns the next index; a Fisher-Yates step picks it from the not-yet-dealt tail. */
+		public int next() {
+			if (dealt == order.length) dealt = 0;
+			int j = dealt + rng.nextInt(order.length - dealt);
+			int index = order[j];
+			order[j] = order[dealt];
+			order[dealt++] = index;
+			return index;
+		}
+
+		public int size() {
+			return order.length;
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Class: RandomSourceTest
+ * -> This class contains JUnit 5 tests for RandomSource and the games that draw from it.
+ *    It checks that seeded sources reproduce their sequences, that a shuffled bag deals every index once
+ *    per round, and that seeded Hangman and Password runs can be replayed exactly.
+ *
+ * Exclusive Functions:
+ * testSeededIsReproducible() - Two sources with the same seed give the same values; a different seed does not.
+ * @param - none, @return - void
+ *
+ * testSharedSourcesStayInBounds() - threadLocal() and secure() respect the bound.
+ * @param - none, @return - void
+ *
+ * testShuffledBagDealsEachOnce() - Every round of size draws is a permutation of [0, size).
+ * @param - none, @return - void
+ *
+ * testHangmanBagRepeatsNoWord() - With the bag on, Hangman plays all ten built-in words before repeating one.
+ * @param - none, @return - void
+ *
+ * testSeededGamesReplay() - Seeded Hangman word choices and Password encryptions repeat for the same seed.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class RandomSourceTest {
+
+	@Test
+	void testSeededIsReproducible() {
+		RandomSource a = RandomSource.seeded(99);
+		RandomSource b = RandomSource.seeded(99);
+		RandomSource c = RandomSource.seeded(100);
+		boolean differs = false;
+		for (int i = 0; i < 100; i++) {
+			long x = a.nextLong();
+			assertEquals(x, b.nextLong());
+			differs |= x != c.nextLong();
+		}
+		assertTrue(differs);
+	}
+
+	@Test
+	void testSharedSourcesStayInBounds() {
+		for (int i = 0; i < 1000; i++) {
+			int t = RandomSource.threadLocal().nextInt(7);
+			int s = RandomSource.secure().nextInt(7);
+			assertTrue(t >= 0 && t < 7);
+			assertTrue(s >= 0 && s < 7);
+		}
+		assertSame(RandomSource.threadLocal(), RandomSource.threadLocal());
+	}
+
+	@Test
+	void testShuffledBagDealsEachOnce() {
+		RandomSource.ShuffledBag bag = new RandomSource.ShuffledBag(50, RandomSource.seeded(1));
+		for (int round = 0; round < 5; round++) {
+			Set<Integer> seen = new HashSet<>();
+			for (int i = 0; i < bag.size(); i++) assertTrue(seen.add(bag.next()));
+			assertEquals(50, seen.size());
+		}
+	}
+
+	@Test
+	void testHangmanBagRepeatsNoWord() {
+		Hangman game = new Hangman(WordDictionary.of("program", "java", "arrays", "object", "school",
+				"hangman", "university", "copilot", "engineering", "tictactoe"), RandomSource.seeded(5));
+		game.setShuffledBag(true);
+		Set<String> words = new HashSet<>();
+		for (int i = 0; i < 10; i++) {
+			game.startNewGame();
+			assertTrue(words.add(game.getWord()), "repeated " + game.getWord());
+		}
+	}
+
+	@Test
+	void testSeededGamesReplay() {
+		WordDictionary dictionary = WordDictionary.of("alpha", "bravo", "charlie", "delta", "echo", "foxtrot");
+		Hangman first = new Hangman(dictionary, RandomSource.seeded(8));
+		Hangman second = new Hangman(dictionary, RandomSource.seeded(8));
+		for (int i = 0; i < 20; i++) {
+			assertEquals(first.getWord(), second.getWord());
+			first.startNewGame();
+			second.startNewGame();
+		}
+
+		Password p1 = new Password(123456789, RandomSource.seeded(3));
+		Password p2 = new Password(123456789, RandomSource.seeded(3));
+		assertArrayEquals(p1.getEncryptedPIN(), p2.getEncryptedPIN());
+		for (int digit : p1.getEncryptedPIN()) assertTrue(digit >= 1 && digit <= 3);
+	}
+
+}
@@ -1,57 +1,237 @@
 /*
  * Class: TicTacToe
- * -> This class implements the core game logic for a 3x3 TicTacToe game.
+ * -> This class implements the core game logic for an N x N, k-in-a-row TicTacToe game (3x3, 3 in a row by default).
  *    It manages the board state, current player turn, move validation, win/draw detection,
  *    and offers utility functions for resetting and displaying the board.
  * 
  * Exclusive Functions:
- * TicTacToe() - Default constructor that initializes the board and starts a new game.
+ * TicTacToe() - Default constructor that initializes a classic 3x3 board and starts a new game.
  * @param - none, @return - none
  * 
+ * TicTacToe() - Creates a size x size board where winLength marks in a row win (e.g. 15x15, five in a row).
+ * @param - int size, int winLength, @return - none
+ * 
  * addMove() - Attempts to place the current player's mark at the given row and column.
- *             Validates bounds and occupancy; on success stores the mark and switches turn.
+ *             Validates bounds and occupancy; on success stores the mark, checks the four lines
+ *             through that cell for a win, and switches turn.
  * @param - int row, int col, @return - boolean (true if move applied)
  * 
  * getTurn() - Returns whose turn it currently is ('X' or 'O').
  * @param - none, @return - char
  * 
+ * getCell() - Returns the mark at the given row and column ('X', 'O' or ' ').
+ * @param - int row, int col, @return - char
+ * 
  * hasWinner() - Returns whether a winner exists.
  * @param - none, @return - boolean
  * 
  * getWinner() - Returns the winning mark ('X' or 'O') or ' ' if there is no winner.
  * @param - none, @return - char
  * 
- * isBoardFull() - Checks whether the board is full (draw condition).
+ * isBoardFull() - Checks whether the board is full (draw condition) using the running move count.
  * @param - none, @return - boolean
  * 
+ * getSize() - Returns the board width/height.
+ * @param - none, @return - int
+ * 
+ * getWinLength() - Returns how many marks in a row are needed to win.
+ * @param - none, @return - int
+ * 
+ * getMoveCount() - Returns the number of occupied cells.
+ * @param - none, @return - int
+ * 
  * resetGame() - Resets the board to empty and sets the current player to 'X'.
  * @param - none, @return - void
  * 
+ * copyFrom() - Copies the full game state (board, history, hash) from another game of the same size without allocating.
+ * @param - TicTacToe other, @return - void
+ * 
+ * undo() - Takes back the last move and returns its cell (row * size + col), or -1 if there is nothing to undo.
+ * @param - none, @return - int
+ * 
+ * redo() - Replays the last undone move and returns its cell, or -1 if there is nothing to redo.
+ * @param - none, @return - int
+ * 
+ * canUndo() / canRedo() - Return whether undo() / redo() would change the board.
+ * @param - none, @return - boolean
+ * 
+ * getLastMove() - Returns the cell of the most recent move on the board, or -1 if the board is empty.
+ * @param - none, @return - int
+ * 
+ * getMove() - Returns the cell of the move made at the given ply (0 = first move), for ply < getMoveCount().
+ * @param - int ply, @return - int
+ * 
+ * getHash() - Returns the Zobrist hash of the current position (marks plus side to move).
+ * @param - none, @return - long
+ * 
+ * getWinningLine() - Returns the cells (row * size + col) of the winning line, or an empty array if there is no winner.
+ * @param - none, @return - int[]
+ * 
+ * setCellListener() - Registers a listener told about every cell whose mark changes (move, undo, redo, reset).
+ * @param - CellListener listener, @return - void
+ * 
  * displayBoard() - Returns a simple string representation of the board for debugging.
  * @param - none, @return - String
  * 
  * Notes:
- * - The board is a 3x3 char array, using ' ' (space) for empty cells.
+ * - The board is a size x size char array, using ' ' (space) for empty cells.
  * - addMove switches the turn after a successful placement.
- * - getWinner checks rows, columns, and both diagonals.
+ * - Only the last move can create a new line, so a win is found by walking the row, column and both
+ *   diagonals through it: O(winLength) per move instead of rescanning the board.
+ * - The first winner found is kept; getWinner() and hasWinner() just read it.
+ * - Move history is an int[] of cell indexes; making a new move after undo() discards the redo entries.
+ * - The Zobrist hash is XOR-updated on every move, undo and redo, so it can key caches without rehashing.
+ *   Keys come from RandomSource.seeded with a fixed seed, so equal positions on equal-sized boards hash equally across instances.
+ * - resetGame() clears and reports only the cells in the move history. copyFrom() does not notify the listener.
  */
+import java.util.Arrays;
+
 public class TicTacToe {
 	
+	/** Receives a callback for every cell whose mark changes; mark is ' ' when a cell is cleared. */
+	public interface CellListener {
+		void cellChanged(int row, int col, char mark);
+	}
+	
+	/** Row/column steps for the four line directions: horizontal, vertical, diagonal, anti-diagonal. */
+	private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+	
+	/** Seed for the Zobrist keys, fixed so hashes are stable between runs. */
+	private static final long ZOBRIST_SEED = 0x5EED_7AC7_0E5L;
+	
+	private final int size;
+	private final int winLength;
 	private char[][] board;
 	private char currentPlayer;
+	private char winner;
+	private int moveCount;
+	
+	private final int[] history;    // cells in move order; [0, moveCount) is on the board, up to redoLimit can be redone
+	private int redoLimit;
+	private int winningPly = -1;    // move count at which the winner was decided
+	
+	private final long[] zobristX;
+	private final long[] zobristO;
+	private final long zobristSide;
+	private long hash;
+	
+	private int winLineStart;       // first cell of the winning line
+	private int winLineStep;        // cell offset between consecutive cells of the winning line
+	private CellListener listener;
 	
 	/** Initializes a new game with an empty board and X starting. */
 	public TicTacToe() {
-		board = new char[3][3];
+		this(3, 3);
+	}
+	
+	/** Initializes a size x size game where winLength in a row wins. */
+	public TicTacToe(int size, int winLength) {
+		if (size < 1 || winLength < 1 || winLength > size) {
+			throw new IllegalArgumentException("Invalid board: " + size + "x" + size + ", " + winLength + " in a row");
+		}
+		this.size = size;
+		this.winLength = winLength;
+		board = new char[size][size];
+		for (char[] row : board) Arrays.fill(row, ' ');
+		history = new int[size * size];
+		
+		RandomSource keys = RandomSource.seeded(ZOBRIST_SEED);
+		zobristX = new long[size * size];
+		zobristO = new long[size * size];
+		for (int cell = 0; cell < size * size; cell++) {
+			zobristX[cell] = keys.nextLong();
+			zobristO[cell] = keys.nextLong();
+		}
+		zobristSide = keys.nextLong();
 		resetGame();
 	}
 	
 	public boolean addMove(int row, int col) {
-		if (row < 0 || row >=3 || col <0 || col >=3) return false;
+		if (row < 0 || row >= size || col < 0 || col >= size) return false;
 		if (board[row][col] != ' ') return false; // already filled
+		place(row * size + col);
+		redoLimit = moveCount; // a new move ends the redo branch
+		return true;
+	}
+	
+	/** Puts the current player's mark on an empty cell and records it in the history and hash. */
+	private void place(int cell) {
+		int row = cell / size;
+		int col = cell % size;
 		board[row][col] = currentPlayer;
+		hash ^= (currentPlayer == 'X' ? zobristX[cell] : zobristO[cell]) ^ zobristSide;
+		history[moveCount++] = cell;
+		if (winner == ' ' && completesLine(row, col)) {
+			winner = currentPlayer;
+			winningPly = moveCount;
+		}
 		switchTurn();
-		return true;
+		if (listener != null) listener.cellChanged(row, col, board[row][col]);
+	}
+	
+	/** Takes back the last move; returns its cell or -1 if the board is empty. */
+	public int undo() {
+		if (moveCount == 0) return -1;
+		int cell = history[--moveCount];
+		char mark = board[cell / size][cell % size];
+		board[cell / size][cell % size] = ' ';
+		hash ^= (mark == 'X' ? zobristX[cell] : zobristO[cell]) ^ zobristSide;
+		currentPlayer = mark;
+		if (winningPly > moveCount) {
+			winner = ' ';
+			winningPly = -1;
+		}
+		if (listener != null) listener.cellChanged(cell / size, cell % size, ' ');
+		return cell;
+	}
+	
+	/** Replays the last undone move; returns its cell or -1 if there is none. */
+	public int redo() {
+		if (moveCount == redoLimit) return -1;
+		int cell = history[moveCount];
+		place(cell);
+		return cell;
+	}
+	
+	/** Returns whether there is a move to undo. */
+	public boolean canUndo() {
+		return moveCount > 0;
+	}
+	
+	/** Returns whether there is an undone move to redo. */
+	public boolean canRedo() {
+		return moveCount < redoLimit;
+	}
+	
+	/** Returns the cell of the last move on the board, or -1. */
+	public int getLastMove() {
+		return moveCount == 0 ? -1 : history[moveCount - 1];
+	}
+	
+	/** Returns the cell of the move at the given ply. */
+	public int getMove(int ply) {
+		if (ply < 0 || ply >= moveCount) throw new IndexOutOfBoundsException("No move at ply " + ply);
+		return history[ply];
+	}
+	
+	/** Returns the Zobrist hash of the position. */
+	public long getHash() {
+		return hash;
+	}
+	
+	/** Returns the winning line's cells, or an empty array if there is no winner. */
+	public int[] getWinningLine() {
+		if (winner == ' ') return new int[0];
+		int[] line = new int[winLength];
+		for (int i = 0; i < winLength; i++) {
+			line[i] = winLineStart + i * winLineStep;
+		}
+		return line;
+	}
+	
+	/** Sets the listener for cell changes (null to remove). */
+	public void setCellListener(CellListener listener) {
+		this.listener = listener;
 	}
 	
 	/** Returns whose turn it is (X or O). */
@@ -59,6 +239,26 @@ public class TicTacToe {
 		return currentPlayer;
 	}
 	
+	/** Returns the mark at the given cell ('X', 'O' or ' '). */
+	public char getCell(int row, int col) {
+		return board[row][col];
+	}
+	
+	/** Returns the board width/height. */
+	public int getSize() {
+		return size;
+	}
+	
+	/** Returns how many marks in a row win. */
+	public int getWinLength() {
+		return winLength;
+	}
+	
+	/** Returns the number of occupied cells. */
+	public int getMoveCount() {
+		return moveCount;
+	}
+	
 	/** Switches turn between X and O. */
 	private void switchTurn() {
 		currentPlayer = (currentPlayer == 'X') ? 'O' : 'X';
@@ -66,67 +266,90 @@ public class TicTacToe {
 	
 	/** Checks if there is a winner. */
 	public boolean hasWinner() {
-		return getWinner() != ' ';
+		return winner != ' ';
 	}
 	
 	/** Returns the winner ('X' or 'O'), or ' ' if none yet. */
 	public char getWinner() {
-		// Rows
-		for (int i = 0; i < 3; i++) {
-			if (board[i][0] != ' ' &&
-				board[i][0] == board[i][1] &&
-				board[i][1] == board[i][2]) {
-				return board[i][0];
+		return winner;
+	}
+	
+	/** Returns true if the mark at (row, col) is part of winLength in a row, recording where that line starts. */
+	private boolean completesLine(int row, int col) {
+		char mark = board[row][col];
+		for (int[] d : DIRECTIONS) {
+			int back = countFrom(row, col, -d[0], -d[1], mark);
+			int count = 1 + back + countFrom(row, col, d[0], d[1], mark);
+			if (count >= winLength) {
+				winLineStart = (row - back * d[0]) * size + (col - back * d[1]);
+				winLineStep = d[0] * size + d[1];
+				return true;
 			}
 		}
-		
-		// Columns
-		for (int j = 0; j < 3; j++) {
-			if (board[0][j] != ' ' &&
-				board[0][j] == board[1][j] &&
-				board[1][j] == board[2][j]) {
-				return board[0][j];
-			}
+		return false;
+	}
+	
+	/** Counts consecutive marks after (row, col) in one direction, stopping at winLength - 1. */
+	private int countFrom(int row, int col, int dRow, int dCol, char mark) {
+		int count = 0;
+		int r = row + dRow;
+		int c = col + dCol;
+		while (count < winLength - 1 && r >= 0 && r < size && c >= 0 && c < size && board[r][c] == mark) {
+			count++;
+			r += dRow;
+			c += dCol;
 		}
-		
-		// Diagonals
-        if (board[0][0] != ' ' &&
-            board[0][0] == board[1][1] &&
-            board[1][1] == board[2][2]) {
-            return board[0][0];
-        }
-        if (board[0][2] != ' ' &&
-            board[0][2] == board[1][1] &&
-            board[1][1] == board[2][0]) {
-            return board[0][2];
-        }
-        
-        return ' ';
+		return count;
 	}
 	
 	/** Checks if the board is full (draw). */
 	public boolean isBoardFull() {
-		for(int i = 0; i < 3; i++)
-			for(int j = 0; j < 3; j++)
-				if (board[i][j] == ' ') return false;
-		return true;
+		return moveCount == size * size;
 	}
 	
 	/** Resets the game to empty board and X starts. */
 	public void resetGame() {
-		for (int i = 0; i < 3; i++)
-			for (int j = 0; j < 3; j++)
-				board[i][j] = ' ';
+		for (int i = 0; i < moveCount; i++) {
+			int cell = history[i];
+			board[cell / size][cell % size] = ' ';
+			if (listener != null) listener.cellChanged(cell / size, cell % size, ' ');
+		}
 		currentPlayer = 'X';
+		winner = ' ';
+		moveCount = 0;
+		redoLimit = 0;
+		winningPly = -1;
+		hash = 0;
+	}
+	
+	/** Copies board, turn, winner, history and hash from a game with the same dimensions. */
+	public void copyFrom(TicTacToe other) {
+		if (other.size != size || other.winLength != winLength) {
+			throw new IllegalArgumentException("Cannot copy a " + other.size + "x" + other.size + " game into a " + size + "x" + size + " game");
+		}
+		for (int i = 0; i < size; i++) {
+			System.arraycopy(other.board[i], 0, board[i], 0, size);
+		}
+		currentPlayer = other.currentPlayer;
+		winner = other.winner;
+		moveCount = other.moveCount;
+		System.arraycopy(other.history, 0, history, 0, other.redoLimit);
+		redoLimit = other.redoLimit;
+		winningPly = other.winningPly;
+		winLineStart = other.winLineStart;
+		winLineStep = other.winLineStep;
+		hash = other.hash;
 	}
 	
 	/** For debugging: returns board as string. */
     public String displayBoard() {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 3; i++) {
-            sb.append(board[i][0]).append("|")
-              .append(board[i][1]).append("|")
-              .append(board[i][2]).append("\n");
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (j > 0) sb.append("|");
+                sb.append(board[i][j]);
+            }
+            sb.append("\n");
         }
         return sb.toString();
     }
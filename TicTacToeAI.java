@@ -0,0 +1,160 @@
+/*
+ * Class: TicTacToeAI
+ * -> This class implements a perfect-play computer opponent for 3x3 TicTacToe.
+ *    It searches with negamax alpha-beta over TicTacToeBitboard masks and caches every searched position
+ *    in a transposition table. Positions that are rotations or reflections of each other share one entry,
+ *    so the table holds roughly an eighth of the positions a plain table would.
+ *
+ * Exclusive Functions:
+ * TicTacToeAI() - Default constructor that creates an empty transposition table.
+ * @param - none, @return - none
+ *
+ * bestMove() - Returns the best cell (row * 3 + col) for the player whose turn it is, or -1 if the game is over.
+ *              Throws IllegalArgumentException for boards other than 3x3, 3 in a row.
+ * @param - TicTacToe game, @return - int
+ *
+ * bestMove() - Same as above but works directly on bitboard masks of the player to move and the opponent.
+ * @param - int mine, int theirs, @return - int
+ *
+ * evaluate() - Returns the exact game value for the player to move (positive win, 0 draw, negative loss).
+ * @param - int mine, int theirs, @return - int
+ *
+ * canonicalKey() - Returns the smallest base-3 index of the position over all 8 board symmetries.
+ * @param - int xMask, int oMask, @return - int
+ *
+ * Notes:
+ * - Scores are (empty cells + 1) for a win, so faster wins and slower losses are preferred.
+ * - Table entries pack a bound flag and the score into one byte; a 0 byte means "not searched yet".
+ * - The first search from the empty board fills most of the table; later replies are mostly table reads.
+ */
+public class TicTacToeAI {
+
+	/** Cell permutations for the 8 symmetries of the square (rotations and reflections). */
+	private static final int[][] SYMMETRIES = {
+		{0, 1, 2, 3, 4, 5, 6, 7, 8}, // identity
+		{6, 3, 0, 7, 4, 1, 8, 5, 2}, // rotate 90
+		{8, 7, 6, 5, 4, 3, 2, 1, 0}, // rotate 180
+		{2, 5, 8, 1, 4, 7, 0, 3, 6}, // rotate 270
+		{2, 1, 0, 5, 4, 3, 8, 7, 6}, // mirror columns
+		{6, 7, 8, 3, 4, 5, 0, 1, 2}, // mirror rows
+		{0, 3, 6, 1, 4, 7, 2, 5, 8}, // main diagonal
+		{8, 5, 2, 7, 4, 1, 6, 3, 0}  // anti diagonal
+	};
+
+	/** Center first, then corners, then edges: good moves early make alpha-beta cut more. */
+	private static final int[] MOVE_ORDER = {4, 0, 2, 6, 8, 1, 3, 5, 7};
+
+	/** Number of base-3 board indexes (3^9). */
+	public static final int POSITIONS = 19683;
+
+	/** KEY_WEIGHT[s][cell] = 3^(image of cell under symmetry s). */
+	private static final int[][] KEY_WEIGHT = new int[8][9];
+
+	static {
+		for (int s = 0; s < 8; s++) {
+			for (int cell = 0; cell < 9; cell++) {
+				int weight = 1;
+				for (int i = 0; i < SYMMETRIES[s][cell]; i++) weight *= 3;
+				KEY_WEIGHT[s][cell] = weight;
+			}
+		}
+	}
+
+	private static final int EXACT = 1;
+	private static final int LOWER = 2;
+	private static final int UPPER = 3;
+	private static final int SCORE_OFFSET = 16;
+
+	private final byte[] table = new byte[POSITIONS];
+
+	/** Returns the best move for game.getTurn() as row * 3 + col, or -1 if there is none. */
+	public int bestMove(TicTacToe game) {
+		if (game.getSize() != 3 || game.getWinLength() != 3) {
+			throw new IllegalArgumentException("TicTacToeAI only plays the 3x3 board");
+		}
+		int xMask = 0;
+		int oMask = 0;
+		for (int cell = 0; cell < 9; cell++) {
+			char mark = game.getCell(cell / 3, cell % 3);
+			if (mark == 'X') xMask |= 1 << cell;
+			else if (mark == 'O') oMask |= 1 << cell;
+		}
+		return game.getTurn() == 'X' ? bestMove(xMask, oMask) : bestMove(oMask, xMask);
+	}
+
+	/** Returns the best cell for the side owning 'mine', or -1 if the game is already over. */
+	public int bestMove(int mine, int theirs) {
+		if (TicTacToeBitboard.isWin(mine) || TicTacToeBitboard.isWin(theirs)) return -1;
+		int occupied = mine | theirs;
+		if (occupied == TicTacToeBitboard.FULL_MASK) return -1;
+
+		int best = -1;
+		int alpha = -100;
+		for (int cell : MOVE_ORDER) {
+			int bit = 1 << cell;
+			if ((occupied & bit) != 0) continue;
+			int score = -negamax(theirs, mine | bit, -100, -alpha);
+			if (best == -1 || score > alpha) {
+				alpha = score;
+				best = cell;
+			}
+		}
+		return best;
+	}
+
+	/** Returns the exact value of the position for the player to move. */
+	public int evaluate(int mine, int theirs) {
+		return negamax(mine, theirs, -100, 100);
+	}
+
+	/** Negamax with alpha-beta; 'theirs' made the last move. */
+	private int negamax(int mine, int theirs, int alpha, int beta) {
+		int occupied = mine | theirs;
+		int empties = 9 - Integer.bitCount(occupied);
+		if (TicTacToeBitboard.isWin(theirs)) return -(empties + 1);
+		if (empties == 0) return 0;
+
+		int key = (Integer.bitCount(mine) == Integer.bitCount(theirs))
+				? canonicalKey(mine, theirs) : canonicalKey(theirs, mine);
+		int entry = table[key];
+		if (entry != 0) {
+			int flag = (entry >> 5) & 3;
+			int score = (entry & 31) - SCORE_OFFSET;
+			if (flag == EXACT) return score;
+			if (flag == LOWER && score >= beta) return score;
+			if (flag == UPPER && score <= alpha) return score;
+		}
+
+		int originalAlpha = alpha;
+		int best = -100;
+		for (int cell : MOVE_ORDER) {
+			int bit = 1 << cell;
+			if ((occupied & bit) != 0) continue;
+			int score = -negamax(theirs, mine | bit, -beta, -alpha);
+			if (score > best) best = score;
+			if (best > alpha) alpha = best;
+			if (alpha >= beta) break;
+		}
+
+		int flag = best <= originalAlpha ? UPPER : (best >= beta ? LOWER : EXACT);
+		table[key] = (byte) ((flag << 5) | (best + SCORE_OFFSET));
+		return best;
+	}
+
+	/** Returns the minimum base-3 index (X = 1, O = 2) over all 8 symmetries of the position. */
+	public static int canonicalKey(int xMask, int oMask) {
+		int min = Integer.MAX_VALUE;
+		for (int s = 0; s < 8; s++) {
+			int[] weight = KEY_WEIGHT[s];
+			int key = 0;
+			for (int cell = 0; cell < 9; cell++) {
+				int bit = 1 << cell;
+				if ((xMask & bit) != 0) key += weight[cell];
+				else if ((oMask & bit) != 0) key += 2 * weight[cell];
+			}
+			if (key < min) min = key;
+		}
+		return min;
+	}
+
+}
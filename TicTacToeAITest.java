@@ -0,0 +1,107 @@
+/*
+ * Class: TicTacToeAITest
+ * -> This class contains JUnit 5 tests for the TicTacToeAI computer player.
+ *    It checks the alpha-beta values against a plain minimax on every reachable position,
+ *    that the player takes wins and blocks losses, that symmetric positions share a table key,
+ *    and that two perfect players always draw.
+ *
+ * Exclusive Functions:
+ * setUp() - JUnit @BeforeEach method that creates a fresh TicTacToeAI.
+ * @param - none, @return - void
+ *
+ * testEvaluateMatchesPlainMinimax() - Compares evaluate() with an uncached minimax over every reachable position.
+ * @param - none, @return - void
+ *
+ * testTakesImmediateWin() - X has two in a row and must complete it.
+ * @param - none, @return - void
+ *
+ * testBlocksImmediateLoss() - O must block X's open row.
+ * @param - none, @return - void
+ *
+ * testSymmetricPositionsShareKey() - A corner opening and its rotations map to the same canonical key.
+ * @param - none, @return - void
+ *
+ * testPerfectPlayDraws() - AI plays both sides on a TicTacToe model and the game ends in a draw.
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Cell indexes are row * 3 + col, matching TicTacToeBitboard.
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TicTacToeAITest {
+
+	private TicTacToeAI ai;
+
+	@BeforeEach
+	void setUp() {
+		ai = new TicTacToeAI();
+	}
+
+	@Test
+	void testEvaluateMatchesPlainMinimax() {
+		assertEquals(0, checkMinimax(0, 0)); // TicTacToe is a draw with perfect play
+	}
+
+	@Test
+	void testTakesImmediateWin() {
+		TicTacToe game = new TicTacToe();
+		game.addMove(0, 0); // X
+		game.addMove(1, 0); // O
+		game.addMove(0, 1); // X
+		game.addMove(1, 1); // O
+		assertEquals(2, ai.bestMove(game)); // X completes the top row
+	}
+
+	@Test
+	void testBlocksImmediateLoss() {
+		TicTacToe game = new TicTacToe();
+		game.addMove(0, 0); // X
+		game.addMove(1, 1); // O
+		game.addMove(0, 1); // X
+		assertEquals(2, ai.bestMove(game)); // O blocks the top row
+	}
+
+	@Test
+	void testSymmetricPositionsShareKey() {
+		int key = TicTacToeAI.canonicalKey(1 << 0, 1 << 4);
+		assertEquals(key, TicTacToeAI.canonicalKey(1 << 2, 1 << 4));
+		assertEquals(key, TicTacToeAI.canonicalKey(1 << 6, 1 << 4));
+		assertEquals(key, TicTacToeAI.canonicalKey(1 << 8, 1 << 4));
+		assertNotEquals(key, TicTacToeAI.canonicalKey(1 << 1, 1 << 4));
+	}
+
+	@Test
+	void testPerfectPlayDraws() {
+		TicTacToe game = new TicTacToe();
+		while (!game.hasWinner() && !game.isBoardFull()) {
+			int move = ai.bestMove(game);
+			assertTrue(game.addMove(move / 3, move % 3));
+		}
+		assertFalse(game.hasWinner());
+		assertEquals(-1, ai.bestMove(game));
+	}
+
+	/** Plain minimax for the side to move, asserting the AI agrees at every node. */
+	private int checkMinimax(int mine, int theirs) {
+		int occupied = mine | theirs;
+		int empties = 9 - Integer.bitCount(occupied);
+		int value;
+		if (TicTacToeBitboard.isWin(theirs)) {
+			value = -(empties + 1);
+		} else if (empties == 0) {
+			value = 0;
+		} else {
+			value = Integer.MIN_VALUE;
+			for (int cell = 0; cell < 9; cell++) {
+				if ((occupied & (1 << cell)) != 0) continue;
+				value = Math.max(value, -checkMinimax(theirs, mine | (1 << cell)));
+			}
+		}
+		assertEquals(value, ai.evaluate(mine, theirs));
+		return value;
+	}
+
+}
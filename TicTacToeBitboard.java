@@ -0,0 +1,147 @@
+/*
+ * Class: TicTacToeBitboard
+ * -> This class is a second board backend for 3x3 TicTacToe that stores the position as two 9-bit masks,
+ *    one for X and one for O. Cell (row, col) maps to bit (row * 3 + col).
+ *    It exposes the same public API as TicTacToe so either backend can drive the same game loop,
+ *    but win and draw checks are a handful of mask operations instead of board scans.
+ *
+ * Exclusive Functions:
+ * TicTacToeBitboard() - Default constructor that starts a new game with an empty board and X to move.
+ * @param - none, @return - none
+ *
+ * addMove() - Places the current player's mark at the given row and column if the cell is in bounds and empty.
+ * @param - int row, int col, @return - boolean (true if move applied)
+ *
+ * getTurn() - Returns whose turn it currently is ('X' or 'O').
+ * @param - none, @return - char
+ *
+ * hasWinner() - Returns whether a winner exists.
+ * @param - none, @return - boolean
+ *
+ * getWinner() - Returns the winning mark ('X' or 'O') or ' ' if there is no winner.
+ * @param - none, @return - char
+ *
+ * isBoardFull() - Checks whether all nine cells are occupied with a single OR.
+ * @param - none, @return - boolean
+ *
+ * resetGame() - Clears both masks and the winner and sets the current player to 'X'.
+ * @param - none, @return - void
+ *
+ * displayBoard() - Returns the same string representation as TicTacToe.displayBoard().
+ * @param - none, @return - String
+ *
+ * getXMask() / getOMask() - Return the raw 9-bit masks for X and O.
+ * @param - none, @return - int
+ *
+ * isWin() - Returns whether the given mask contains one of the 8 winning lines.
+ * @param - int mask, @return - boolean
+ *
+ * Notes:
+ * - FULL_MASK is 0x1FF; the board is full when (xMask | oMask) == FULL_MASK.
+ * - Like TicTacToe, moves are still accepted after a win and the first winner is kept: addMove checks the
+ *   mover's mask against WIN_MASKS only while there is no winner, and getWinner() just reads the result.
+ */
+public class TicTacToeBitboard {
+
+	/** Mask with all nine cells set. */
+	public static final int FULL_MASK = 0x1FF;
+
+	/** The 8 winning lines: 3 rows, 3 columns and 2 diagonals. */
+	public static final int[] WIN_MASKS = {
+		0b000_000_111, 0b000_111_000, 0b111_000_000, // rows
+		0b001_001_001, 0b010_010_010, 0b100_100_100, // columns
+		0b100_010_001, 0b001_010_100                 // diagonals
+	};
+
+	private int xMask;
+	private int oMask;
+	private char currentPlayer;
+	private char winner;
+
+	/** Initializes a new game with an empty board and X starting. */
+	public TicTacToeBitboard() {
+		resetGame();
+	}
+
+	public boolean addMove(int row, int col) {
+		if (row < 0 || row >= 3 || col < 0 || col >= 3) return false;
+		int bit = 1 << (row * 3 + col);
+		if (((xMask | oMask) & bit) != 0) return false; // already filled
+		if (currentPlayer == 'X') {
+			xMask |= bit;
+			if (winner == ' ' && isWin(xMask)) winner = 'X';
+			currentPlayer = 'O';
+		} else {
+			oMask |= bit;
+			if (winner == ' ' && isWin(oMask)) winner = 'O';
+			currentPlayer = 'X';
+		}
+		return true;
+	}
+
+	/** Returns whose turn it is (X or O). */
+	public char getTurn() {
+		return currentPlayer;
+	}
+
+	/** Checks if there is a winner. */
+	public boolean hasWinner() {
+		return winner != ' ';
+	}
+
+	/** Returns the first winner ('X' or 'O'), or ' ' if none yet. */
+	public char getWinner() {
+		return winner;
+	}
+
+	/** Checks if the board is full (draw). */
+	public boolean isBoardFull() {
+		return (xMask | oMask) == FULL_MASK;
+	}
+
+	/** Resets the game to empty board and X starts. */
+	public void resetGame() {
+		xMask = 0;
+		oMask = 0;
+		currentPlayer = 'X';
+		winner = ' ';
+	}
+
+	/** Returns the 9-bit mask of X's cells. */
+	public int getXMask() {
+		return xMask;
+	}
+
+	/** Returns the 9-bit mask of O's cells. */
+	public int getOMask() {
+		return oMask;
+	}
+
+	/** Returns true if the mask covers any of the 8 winning lines. */
+	public static boolean isWin(int mask) {
+		for (int line : WIN_MASKS) {
+			if ((mask & line) == line) return true;
+		}
+		return false;
+	}
+
+	/** For debugging: returns board as string. */
+	public String displayBoard() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 3; i++) {
+			sb.append(cellAt(i, 0)).append("|")
+			  .append(cellAt(i, 1)).append("|")
+			  .append(cellAt(i, 2)).append("\n");
+		}
+		return sb.toString();
+	}
+
+	/** Returns the mark stored at the given cell. */
+	private char cellAt(int row, int col) {
+		int bit = 1 << (row * 3 + col);
+		if ((xMask & bit) != 0) return 'X';
+		if ((oMask & bit) != 0) return 'O';
+		return ' ';
+	}
+
+}
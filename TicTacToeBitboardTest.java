@@ -0,0 +1,106 @@
+/*
+ * Class: TicTacToeBitboardTest
+ * -> This class contains JUnit 5 tests for the TicTacToeBitboard backend.
+ *    It walks every reachable position of a 3x3 game with both backends side by side and checks that
+ *    the char[][] board and the bitboard always agree.
+ *
+ * Exclusive Functions:
+ * testBackendsAgreeOnEveryReachablePosition() - Depth-first search over all games, asserting identical state after every move.
+ * @param - none, @return - void
+ *
+ * testFullBoardUsesSingleOr() - Fills the board into a draw and checks isBoardFull() and the masks.
+ * @param - none, @return - void
+ *
+ * testOutOfBoundsMoveRejected() - Ensures moves outside the 3x3 grid are rejected.
+ * @param - none, @return - void
+ *
+ * testFirstWinnerIsKept() - Plays on after O wins until X also holds a line; both backends still report O.
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - A game stops being explored as soon as it has a winner or the board is full, matching how LE51View plays.
+ * - 5478 distinct positions are reachable; the search visits each path to them, so the count checked is the number of games.
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TicTacToeBitboardTest {
+
+	private int gamesPlayed;
+
+	@Test
+	void testBackendsAgreeOnEveryReachablePosition() {
+		gamesPlayed = 0;
+		explore(new int[9], 0);
+		assertEquals(255168, gamesPlayed); // every distinct game of TicTacToe
+	}
+
+	@Test
+	void testFullBoardUsesSingleOr() {
+		TicTacToeBitboard game = new TicTacToeBitboard();
+		int[][] draw = {{0, 0}, {0, 1}, {0, 2}, {1, 1}, {1, 0}, {1, 2}, {2, 1}, {2, 0}, {2, 2}};
+		for (int[] move : draw) {
+			assertTrue(game.addMove(move[0], move[1]));
+		}
+		assertTrue(game.isBoardFull());
+		assertFalse(game.hasWinner());
+		assertEquals(TicTacToeBitboard.FULL_MASK, game.getXMask() | game.getOMask());
+	}
+
+	@Test
+	void testOutOfBoundsMoveRejected() {
+		TicTacToeBitboard game = new TicTacToeBitboard();
+		assertFalse(game.addMove(3, 0));
+		assertFalse(game.addMove(0, -1));
+		assertEquals('X', game.getTurn());
+	}
+
+	@Test
+	void testFirstWinnerIsKept() {
+		TicTacToe board = new TicTacToe();
+		TicTacToeBitboard bits = new TicTacToeBitboard();
+		int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {2, 2}, {1, 2}, {0, 2}}; // O takes row 1, then X takes row 0
+		for (int[] move : moves) {
+			assertTrue(board.addMove(move[0], move[1]));
+			assertTrue(bits.addMove(move[0], move[1]));
+		}
+		assertTrue(TicTacToeBitboard.isWin(bits.getXMask()));
+		assertEquals('O', board.getWinner());
+		assertEquals('O', bits.getWinner());
+		bits.resetGame();
+		assertFalse(bits.hasWinner());
+	}
+
+	/** Replays the move prefix on both backends, compares them, then recurses into every legal reply. */
+	private void explore(int[] moves, int depth) {
+		TicTacToe board = new TicTacToe();
+		TicTacToeBitboard bits = new TicTacToeBitboard();
+		for (int i = 0; i < depth; i++) {
+			assertEquals(board.addMove(moves[i] / 3, moves[i] % 3), bits.addMove(moves[i] / 3, moves[i] % 3));
+		}
+		assertEquals(board.getTurn(), bits.getTurn());
+		assertEquals(board.getWinner(), bits.getWinner());
+		assertEquals(board.hasWinner(), bits.hasWinner());
+		assertEquals(board.isBoardFull(), bits.isBoardFull());
+		assertEquals(board.displayBoard(), bits.displayBoard());
+
+		if (board.hasWinner() || board.isBoardFull()) {
+			gamesPlayed++;
+			return;
+		}
+		for (int cell = 0; cell < 9; cell++) {
+			boolean used = false;
+			for (int i = 0; i < depth; i++) {
+				if (moves[i] == cell) used = true;
+			}
+			if (used) {
+				assertFalse(board.addMove(cell / 3, cell % 3)); // occupied cells are rejected by both
+				assertFalse(bits.addMove(cell / 3, cell % 3));
+				continue;
+			}
+			moves[depth] = cell;
+			explore(moves, depth + 1);
+		}
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Class: TicTacToeSimulator
+ * -> This class is a headless self-play engine that plays large batches of TicTacToe games.
+ *    The batch is split with fork/join across all cores; every leaf task owns one TicTacToe that it resets
+ *    between games and one SplittableRandom split from the parent, so a run is reproducible from its seed.
+ *    It reports games per second, X/O/draw ratios and how many games each worker thread played.
+ *
+ * Exclusive Functions:
+ * TicTacToeSimulator() - Creates a simulator for the given board and the move policies for X and O.
+ * @param - int size, int winLength, MovePolicy xPolicy, MovePolicy oPolicy, @return - none
+ *
+ * run() - Plays the given number of games on a ForkJoinPool with the given parallelism and returns the totals.
+ * @param - long games, int workers, long seed, @return - Result
+ *
+ * playGame() - Plays one game to the end on a reset board and returns the winner ('X', 'O' or ' ' for a draw).
+ * @param - TicTacToe game, SplittableRandom rng, @return - char
+ *
+ * main() - Command line: games [size winLength [workers [seed]]], random vs random.
+ * @param - String[] args, @return - void
+ *
+ * Notes:
+ * - MovePolicy returns a cell index (row * size + col); RANDOM picks a uniformly random empty cell.
+ * - Leaf tasks cover LEAF_GAMES games, so the TicTacToe allocation per leaf is negligible next to the games it plays.
+ */
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+public class TicTacToeSimulator {
+
+	/** Chooses the next move for game.getTurn(). */
+	public interface MovePolicy {
+		int chooseMove(TicTacToe game, SplittableRandom rng);
+	}
+
+	/** Picks a uniformly random empty cell. */
+	public static final MovePolicy RANDOM = (game, rng) -> {
+		int size = game.getSize();
+		int pick = rng.nextInt(size * size - game.getMoveCount());
+		for (int cell = 0; cell < size * size; cell++) {
+			if (game.getCell(cell / size, cell % size) == ' ' && pick-- == 0) return cell;
+		}
+		return -1;
+	};
+
+	/** Number of games a leaf task plays before it stops splitting. */
+	private static final long LEAF_GAMES = 1 << 16;
+
+	private final int size;
+	private final int winLength;
+	private final MovePolicy xPolicy;
+	private final MovePolicy oPolicy;
+
+	public TicTacToeSimulator(int size, int winLength, MovePolicy xPolicy, MovePolicy oPolicy) {
+		this.size = size;
+		this.winLength = winLength;
+		this.xPolicy = xPolicy;
+		this.oPolicy = oPolicy;
+	}
+
+	/** Plays the batch and returns win/draw totals, timing and per-worker game counts. */
+	public Result run(long games, int workers, long seed) {
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		try {
+			long start = System.nanoTime();
+			Result result = pool.invoke(new Batch(0, games, new SplittableRandom(seed), workers));
+			result.nanos = System.nanoTime() - start;
+			return result;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/** Resets the board and plays one game to the end; returns the winner or ' ' for a draw. */
+	public char playGame(TicTacToe game, SplittableRandom rng) {
+		game.resetGame();
+		while (!game.hasWinner() && !game.isBoardFull()) {
+			MovePolicy policy = game.getTurn() == 'X' ? xPolicy : oPolicy;
+			int cell = policy.chooseMove(game, rng);
+			if (!game.addMove(cell / size, cell % size)) {
+				throw new IllegalStateException("Policy chose an illegal cell: " + cell);
+			}
+		}
+		return game.getWinner();
+	}
+
+	/** Fork/join task for games [from, to). */
+	private class Batch extends RecursiveTask<Result> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long from;
+		private final long to;
+		private final SplittableRandom rng;
+		private final int workers;
+
+		Batch(long from, long to, SplittableRandom rng, int workers) {
+			this.from = from;
+			this.to = to;
+			this.rng = rng;
+			this.workers = workers;
+		}
+
+		@Override
+		protected Result compute() {
+			if (to - from > LEAF_GAMES) {
+				long mid = (from + to) >>> 1;
+				Batch left = new Batch(from, mid, rng.split(), workers);
+				Batch right = new Batch(mid, to, rng.split(), workers);
+				left.fork();
+				Result result = right.compute();
+				result.add(left.join());
+				return result;
+			}
+
+			Result result = new Result(workers);
+			TicTacToe game = new TicTacToe(size, winLength);
+			for (long i = from; i < to; i++) {
+				char winner = playGame(game, rng);
+				if (winner == 'X') result.xWins++;
+				else if (winner == 'O') result.oWins++;
+				else result.draws++;
+			}
+			Thread thread = Thread.currentThread();
+			int worker = (thread instanceof ForkJoinWorkerThread)
+					? ((ForkJoinWorkerThread) thread).getPoolIndex() % workers : 0;
+			result.perWorker[worker] += to - from;
+			return result;
+		}
+	}
+
+	/** Totals of a simulation run. */
+	public static class Result {
+
+		long xWins;
+		long oWins;
+		long draws;
+		long nanos;
+		final long[] perWorker;
+
+		Result(int workers) {
+			perWorker = new long[workers];
+		}
+
+		void add(Result other) {
+			xWins += other.xWins;
+			oWins += other.oWins;
+			draws += other.draws;
+			for (int i = 0; i < perWorker.length; i++) perWorker[i] += other.perWorker[i];
+		}
+
+		public long getXWins() { return xWins; }
+		public long getOWins() { return oWins; }
+		public long getDraws() { return draws; }
+		public long getGames() { return xWins + oWins + draws; }
+		public long[] getPerWorker() { return perWorker.clone(); }
+
+		public double getGamesPerSecond() {
+			return nanos == 0 ? 0 : getGames() * 1e9 / nanos;
+		}
+
+		@Override
+		public String toString() {
+			double games = Math.max(1, getGames());
+			StringBuilder sb = new StringBuilder();
+			sb.append(String.format("%,d games in %.2f s (%,.0f games/s)%n", getGames(), nanos / 1e9, getGamesPerSecond()));
+			sb.append(String.format("X wins %.2f%%, O wins %.2f%%, draws %.2f%%%n",
+					100 * xWins / games, 100 * oWins / games, 100 * draws / games));
+			for (int i = 0; i < perWorker.length; i++) {
+				sb.append(String.format("worker %d: %,d games%n", i, perWorker[i]));
+			}
+			return sb.toString();
+		}
+	}
+
+	/** Runs random vs random and prints the report. */
+	public static void main(String[] args) {
+		long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+		int size = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		int winLength = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+		int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+		TicTacToeSimulator simulator = new TicTacToeSimulator(size, winLength, RANDOM, RANDOM);
+		System.out.print(simulator.run(games, workers, seed));
+	}
+
+}
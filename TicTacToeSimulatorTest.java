@@ -0,0 +1,64 @@
+/*
+ * Class: TicTacToeSimulatorTest
+ * -> This class contains JUnit 5 tests for the TicTacToeSimulator self-play engine.
+ *    It checks that totals add up, that a seed reproduces a run exactly, and that random play on 3x3
+ *    lands near the known outcome ratios.
+ *
+ * Exclusive Functions:
+ * testTotalsAddUp() - Wins, draws and per-worker counts all sum to the number of games requested.
+ * @param - none, @return - void
+ *
+ * testSeedIsReproducible() - Two runs with the same seed and different parallelism give the same totals.
+ * @param - none, @return - void
+ *
+ * testRandomPlayRatios() - Random vs random on 3x3 gives about 58.5% X wins, 28.8% O wins and 12.7% draws.
+ * @param - none, @return - void
+ *
+ * testPluggablePolicy() - A perfect-play O policy (TicTacToeAI) never loses to random X.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class TicTacToeSimulatorTest {
+
+	private final TicTacToeSimulator random = new TicTacToeSimulator(3, 3,
+			TicTacToeSimulator.RANDOM, TicTacToeSimulator.RANDOM);
+
+	@Test
+	void testTotalsAddUp() {
+		TicTacToeSimulator.Result result = random.run(300_000, 4, 42);
+		assertEquals(300_000, result.getXWins() + result.getOWins() + result.getDraws());
+		long perWorker = 0;
+		for (long count : result.getPerWorker()) perWorker += count;
+		assertEquals(300_000, perWorker);
+	}
+
+	@Test
+	void testSeedIsReproducible() {
+		TicTacToeSimulator.Result first = random.run(200_000, 2, 7);
+		TicTacToeSimulator.Result second = random.run(200_000, 4, 7);
+		assertEquals(first.getXWins(), second.getXWins());
+		assertEquals(first.getOWins(), second.getOWins());
+		assertEquals(first.getDraws(), second.getDraws());
+	}
+
+	@Test
+	void testRandomPlayRatios() {
+		TicTacToeSimulator.Result result = random.run(1_000_000, 4, 1);
+		double games = result.getGames();
+		assertEquals(0.585, result.getXWins() / games, 0.01);
+		assertEquals(0.288, result.getOWins() / games, 0.01);
+		assertEquals(0.127, result.getDraws() / games, 0.01);
+	}
+
+	@Test
+	void testPluggablePolicy() {
+		ThreadLocal<TicTacToeAI> ai = ThreadLocal.withInitial(TicTacToeAI::new);
+		TicTacToeSimulator.MovePolicy perfect = (game, rng) -> ai.get().bestMove(game);
+		TicTacToeSimulator simulator = new TicTacToeSimulator(3, 3, TicTacToeSimulator.RANDOM, perfect);
+		TicTacToeSimulator.Result result = simulator.run(20_000, 2, 3);
+		assertEquals(0, result.getXWins());
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Class: TicTacToeTable
+ * -> This class is a precomputed perfect-play endgame table for 3x3 TicTacToe.
+ *    generate() solves every legal position once with TicTacToeAI and writes one byte per base-3 board index
+ *    to a small binary file. open() memory-maps that file read-only, so a lookup is one indexed read from
+ *    the mapped buffer with no search and no per-position heap objects.
+ *
+ * Exclusive Functions:
+ * generate() - Solves all positions and writes the table file (header + 3^9 entry bytes).
+ * @param - Path file, @return - void
+ *
+ * open() - Memory-maps an existing table file and checks its header.
+ * @param - Path file, @return - TicTacToeTable
+ *
+ * openOrGenerate() - Maps the table file, generating it first if it is missing or invalid.
+ * @param - Path file, @return - TicTacToeTable
+ *
+ * bestMove() - Returns the stored best cell (row * 3 + col) for the side to move, or -1 if the game is over.
+ * @param - TicTacToe game, @return - int
+ *
+ * value() - Returns the stored result for the side to move: WIN, DRAW or LOSS (or -1 if the position is over/illegal).
+ * @param - TicTacToe game, @return - int
+ *
+ * positionIndex() - Returns the base-3 index of a 3x3 board (X = 1, O = 2, cell 0 is the lowest digit).
+ * @param - TicTacToe game, @return - int
+ *
+ * main() - Command-line generator: writes the table to the given path (default tictactoe.tbl).
+ * @param - String[] args, @return - void
+ *
+ * Notes:
+ * - Entry byte layout: low 4 bits = best cell (15 = none), bits 4-5 = value (0 loss, 1 draw, 2 win).
+ * - Illegal positions (bad piece counts or two winners) and finished games are stored as 0xFF.
+ * - The file is HEADER_SIZE + 19683 bytes; 4520 entries are legal positions still in play.
+ * - openOrGenerate() writes to a temporary file and moves it into place, so a reader never maps a half-written table.
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class TicTacToeTable {
+
+	/** File magic: "TTT1". */
+	public static final int MAGIC = 0x54545431;
+	public static final int HEADER_SIZE = 4;
+
+	public static final int LOSS = 0;
+	public static final int DRAW = 1;
+	public static final int WIN = 2;
+
+	private static final int NO_MOVE = 15;
+	private static final byte UNUSED = (byte) 0xFF;
+
+	private final MappedByteBuffer entries;
+
+	private TicTacToeTable(MappedByteBuffer entries) {
+		this.entries = entries;
+	}
+
+	/** Solves every legal position and writes the table to the given file. */
+	public static void generate(Path file) throws IOException {
+		TicTacToeAI ai = new TicTacToeAI();
+		ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + TicTacToeAI.POSITIONS);
+		out.putInt(MAGIC);
+		for (int index = 0; index < TicTacToeAI.POSITIONS; index++) {
+			out.put(solve(ai, index));
+		}
+		out.flip();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (out.hasRemaining()) channel.write(out);
+		}
+	}
+
+	/** Returns the table byte for one base-3 board index. */
+	private static byte solve(TicTacToeAI ai, int index) {
+		int xMask = 0;
+		int oMask = 0;
+		for (int cell = 0, rest = index; cell < 9; cell++, rest /= 3) {
+			if (rest % 3 == 1) xMask |= 1 << cell;
+			else if (rest % 3 == 2) oMask |= 1 << cell;
+		}
+		int xCount = Integer.bitCount(xMask);
+		int oCount = Integer.bitCount(oMask);
+		if (xCount != oCount && xCount != oCount + 1) return UNUSED;
+
+		boolean xWon = TicTacToeBitboard.isWin(xMask);
+		boolean oWon = TicTacToeBitboard.isWin(oMask);
+		if (xWon && oWon) return UNUSED;
+		if (xWon && xCount == oCount) return UNUSED; // X cannot have won with O still to answer
+		if (oWon && xCount != oCount) return UNUSED; // O cannot have won before X moved again
+
+		boolean xToMove = xCount == oCount;
+		int mine = xToMove ? xMask : oMask;
+		int theirs = xToMove ? oMask : xMask;
+		int move = ai.bestMove(mine, theirs);
+		if (move < 0) return UNUSED; // game already over
+
+		int score = ai.evaluate(mine, theirs);
+		int value = score > 0 ? WIN : (score == 0 ? DRAW : LOSS);
+		return (byte) ((value << 4) | move);
+	}
+
+	/** Memory-maps a table written by generate(). */
+	public static TicTacToeTable open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() != HEADER_SIZE + TicTacToeAI.POSITIONS) {
+				throw new IOException("Not a TicTacToe table: " + file);
+			}
+			MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (map.getInt(0) != MAGIC) {
+				throw new IOException("Bad TicTacToe table header: " + file);
+			}
+			return new TicTacToeTable(map); // the mapping stays valid after the channel closes
+		}
+	}
+
+	/** Maps the table, generating the file first if it is missing or unreadable. */
+	public static TicTacToeTable openOrGenerate(Path file) throws IOException {
+		if (Files.isRegularFile(file)) {
+			try {
+				return open(file);
+			} catch (IOException e) {
+				// invalid table: generate it again
+			}
+		}
+		Path parent = file.toAbsolutePath().getParent();
+		Path tmp = Files.createTempFile(parent, "tictactoe", ".tmp");
+		try {
+			generate(tmp);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+		return open(file);
+	}
+
+	/** Returns the best cell for game.getTurn(), or -1 if there is none. */
+	public int bestMove(TicTacToe game) {
+		int entry = entries.get(HEADER_SIZE + positionIndex(game)) & 0xFF;
+		int move = entry & 0x0F;
+		return (entry == 0xFF || move == NO_MOVE) ? -1 : move;
+	}
+
+	/** Returns WIN, DRAW or LOSS for game.getTurn(), or -1 if the game is over. */
+	public int value(TicTacToe game) {
+		int entry = entries.get(HEADER_SIZE + positionIndex(game)) & 0xFF;
+		return entry == 0xFF ? -1 : entry >> 4;
+	}
+
+	/** Returns the base-3 index of a 3x3 board. */
+	public static int positionIndex(TicTacToe game) {
+		if (game.getSize() != 3 || game.getWinLength() != 3) {
+			throw new IllegalArgumentException("TicTacToeTable only covers the 3x3 board");
+		}
+		int index = 0;
+		for (int cell = 8; cell >= 0; cell--) {
+			char mark = game.getCell(cell / 3, cell % 3);
+			index = index * 3 + (mark == 'X' ? 1 : (mark == 'O' ? 2 : 0));
+		}
+		return index;
+	}
+
+	/** Writes the table file so the UI can map it at startup. */
+	public static void main(String[] args) throws IOException {
+		Path file = Paths.get(args.length > 0 ? args[0] : "tictactoe.tbl");
+		generate(file);
+		System.out.println("Wrote " + Files.size(file) + " bytes to " + file);
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Class: TicTacToeTableTest
+ * -> This class contains JUnit 5 tests for the memory-mapped TicTacToeTable.
+ *    It generates the table into a temporary file, maps it, and checks every reachable position
+ *    against a live TicTacToeAI search.
+ *
+ * Exclusive Functions:
+ * setUp() - JUnit @BeforeEach method that generates and opens a fresh table file.
+ * @param - none, @return - void
+ *
+ * testTableMatchesLiveSearch() - For every reachable position, the stored value matches the AI's value
+ *                                and the stored move keeps that value.
+ * @param - none, @return - void
+ *
+ * testFinishedGameHasNoMove() - A won game has no stored move or value.
+ * @param - none, @return - void
+ *
+ * testFileSize() - The file is the header plus one byte per base-3 index.
+ * @param - none, @return - void
+ *
+ * testOpenOrGenerate() - A missing or corrupt file is generated; a valid one is mapped as it is.
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Moves are compared by value, not by cell, because several cells can be equally good.
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TicTacToeTableTest {
+
+	private Path file;
+	private TicTacToeTable table;
+	private final TicTacToeAI ai = new TicTacToeAI();
+	private int positionsChecked;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		file = Files.createTempFile("tictactoe", ".tbl");
+		file.toFile().deleteOnExit();
+		TicTacToeTable.generate(file);
+		table = TicTacToeTable.open(file);
+	}
+
+	@Test
+	void testTableMatchesLiveSearch() {
+		positionsChecked = 0;
+		explore(new TicTacToe(), new int[9], 0);
+		assertTrue(positionsChecked > 0);
+	}
+
+	@Test
+	void testFinishedGameHasNoMove() {
+		TicTacToe game = new TicTacToe();
+		game.addMove(0, 0); // X
+		game.addMove(1, 0); // O
+		game.addMove(0, 1); // X
+		game.addMove(1, 1); // O
+		game.addMove(0, 2); // X wins
+		assertEquals(-1, table.bestMove(game));
+		assertEquals(-1, table.value(game));
+	}
+
+	@Test
+	void testFileSize() throws IOException {
+		assertEquals(TicTacToeTable.HEADER_SIZE + TicTacToeAI.POSITIONS, Files.size(file));
+	}
+
+	/** Checks the current position, then recurses into every legal move. */
+	private void explore(TicTacToe game, int[] moves, int depth) {
+		if (game.hasWinner() || game.isBoardFull()) return;
+		positionsChecked++;
+
+		int mine = 0;
+		int theirs = 0;
+		for (int cell = 0; cell < 9; cell++) {
+			char mark = game.getCell(cell / 3, cell % 3);
+			if (mark == game.getTurn()) mine |= 1 << cell;
+			else if (mark != ' ') theirs |= 1 << cell;
+		}
+		int score = ai.evaluate(mine, theirs);
+		int expected = score > 0 ? TicTacToeTable.WIN : (score == 0 ? TicTacToeTable.DRAW : TicTacToeTable.LOSS);
+		assertEquals(expected, table.value(game));
+
+		int move = table.bestMove(game);
+		assertTrue(move >= 0 && ((mine | theirs) & (1 << move)) == 0);
+		assertEquals(score, -ai.evaluate(theirs, mine | (1 << move)));
+
+		for (int cell = 0; cell < 9; cell++) {
+			TicTacToe next = new TicTacToe();
+			for (int i = 0; i < depth; i++) next.addMove(moves[i] / 3, moves[i] % 3);
+			if (!next.addMove(cell / 3, cell % 3)) continue;
+			moves[depth] = cell;
+			explore(next, moves, depth + 1);
+		}
+	}
+
+	@Test
+	void testOpenOrGenerate() throws IOException {
+		Path dir = Files.createTempDirectory("tictactoe");
+		Path missing = dir.resolve("table.tbl");
+		TicTacToe game = new TicTacToe();
+		game.addMove(1, 1);
+		try {
+			TicTacToeTable generated = TicTacToeTable.openOrGenerate(missing);
+			assertEquals(TicTacToeTable.HEADER_SIZE + TicTacToeAI.POSITIONS, Files.size(missing));
+			assertEquals(table.value(game), generated.value(game));
+
+			Files.write(missing, new byte[] {1, 2, 3});
+			assertThrows(IOException.class, () -> TicTacToeTable.open(missing));
+			assertEquals(table.bestMove(game), TicTacToeTable.openOrGenerate(missing).bestMove(game));
+			assertEquals(TicTacToeTable.HEADER_SIZE + TicTacToeAI.POSITIONS, Files.size(missing));
+		} finally {
+			Files.deleteIfExists(missing);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+}
@@ -23,6 +23,33 @@
  * testResetGame() - Verifies resetGame clears the board and resets the current player to 'X'.
  * @param - none, @return - void
  * 
+ * testFiveInARowDiagonal() - Plays a 15x15, five-in-a-row game where X wins on a diagonal ending at the board edge.
+ * @param - none, @return - void
+ * 
+ * testFourInARowIsNotAWin() - Checks that four in a row does not win when five are required, and a gap breaks the line.
+ * @param - none, @return - void
+ * 
+ * testBoardFullUsesMoveCount() - Fills a 3x3 board to a draw and checks the move count and isBoardFull().
+ * @param - none, @return - void
+ * 
+ * testInvalidConfigurationRejected() - Ensures a win length larger than the board is rejected.
+ * @param - none, @return - void
+ * 
+ * testUndoRedoRestoresState() - Undoes a winning move and redoes it, checking board, turn, winner and hash.
+ * @param - none, @return - void
+ * 
+ * testNewMoveClearsRedo() - A fresh move after undo() discards the redo branch.
+ * @param - none, @return - void
+ * 
+ * testHashIsOrderIndependent() - Two move orders reaching the same position give the same hash.
+ * @param - none, @return - void
+ * 
+ * testWinningLineAntiDiagonal() - The model reports the three anti-diagonal cells of a win, and none after undo.
+ * @param - none, @return - void
+ * 
+ * testCellListenerReportsOnlyChangedCells() - Moves, undo and reset notify exactly the cells they change.
+ * @param - none, @return - void
+ * 
  * Notes:
  * - Tests use JUnit 5 annotations and assertions.
  * - displayBoard() string output is used in some assertions for simplicity.
@@ -77,4 +104,126 @@ public class TicTacToeTest {
         assertEquals(" | | \n | | \n | | \n", game.displayBoard().replaceAll("[^XO|\\n ]", ""));
     }
 
+    @Test
+    void testFiveInARowDiagonal() {
+        TicTacToe big = new TicTacToe(15, 5);
+        for (int i = 10; i < 14; i++) {
+            assertTrue(big.addMove(i, i)); // X
+            assertTrue(big.addMove(0, i)); // O
+        }
+        assertFalse(big.hasWinner());
+        assertTrue(big.addMove(14, 14)); // X completes 10,10 .. 14,14
+        assertEquals('X', big.getWinner());
+    }
+
+    @Test
+    void testFourInARowIsNotAWin() {
+        TicTacToe big = new TicTacToe(15, 5);
+        int[] xCols = {0, 1, 2, 3, 5};
+        for (int c : xCols) {
+            big.addMove(7, c);  // X
+            big.addMove(14, c); // O
+        }
+        assertFalse(big.hasWinner()); // gap at column 4
+        big.addMove(7, 4); // X fills the gap: columns 0..5
+        assertEquals('X', big.getWinner());
+    }
+
+    @Test
+    void testBoardFullUsesMoveCount() {
+        int[][] draw = {{0, 0}, {0, 1}, {0, 2}, {1, 1}, {1, 0}, {1, 2}, {2, 1}, {2, 0}, {2, 2}};
+        for (int[] move : draw) {
+            assertFalse(game.isBoardFull());
+            game.addMove(move[0], move[1]);
+        }
+        assertEquals(9, game.getMoveCount());
+        assertTrue(game.isBoardFull());
+        assertFalse(game.hasWinner());
+    }
+
+    @Test
+    void testInvalidConfigurationRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TicTacToe(3, 4));
+    }
+
+    @Test
+    void testUndoRedoRestoresState() {
+        game.addMove(0, 0); // X
+        game.addMove(1, 0); // O
+        game.addMove(0, 1); // X
+        game.addMove(1, 1); // O
+        long before = game.getHash();
+        game.addMove(0, 2); // X wins
+        long after = game.getHash();
+        assertEquals('X', game.getWinner());
+
+        assertEquals(2, game.undo());
+        assertFalse(game.hasWinner());
+        assertEquals('X', game.getTurn());
+        assertEquals(before, game.getHash());
+        assertEquals(' ', game.getCell(0, 2));
+
+        assertEquals(2, game.redo());
+        assertEquals('X', game.getWinner());
+        assertEquals(after, game.getHash());
+        assertFalse(game.canRedo());
+    }
+
+    @Test
+    void testNewMoveClearsRedo() {
+        game.addMove(0, 0);
+        game.addMove(1, 1);
+        game.undo();
+        assertTrue(game.canRedo());
+        game.addMove(2, 2);
+        assertFalse(game.canRedo());
+        assertEquals(-1, game.redo());
+        assertEquals(8, game.getLastMove());
+        game.undo();
+        game.undo();
+        assertEquals(-1, game.undo());
+        assertEquals(0L, game.getHash());
+    }
+
+    @Test
+    void testHashIsOrderIndependent() {
+        TicTacToe other = new TicTacToe();
+        game.addMove(0, 0); // X
+        game.addMove(1, 1); // O
+        game.addMove(2, 2); // X
+        other.addMove(2, 2); // X
+        other.addMove(1, 1); // O
+        other.addMove(0, 0); // X
+        assertEquals(game.getHash(), other.getHash());
+        assertEquals(game.displayBoard(), other.displayBoard());
+        game.undo();
+        assertNotEquals(game.getHash(), other.getHash());
+    }
+
+    @Test
+    void testWinningLineAntiDiagonal() {
+        game.addMove(2, 0); // X
+        game.addMove(0, 0); // O
+        game.addMove(0, 2); // X
+        game.addMove(1, 0); // O
+        assertEquals(0, game.getWinningLine().length);
+        game.addMove(1, 1); // X wins on the anti-diagonal
+        assertArrayEquals(new int[] {2, 4, 6}, game.getWinningLine());
+        game.undo();
+        assertEquals(0, game.getWinningLine().length);
+    }
+
+    @Test
+    void testCellListenerReportsOnlyChangedCells() {
+        StringBuilder events = new StringBuilder();
+        game.setCellListener((row, col, mark) -> events.append(row).append(col).append(mark).append(';'));
+        game.addMove(0, 1);
+        game.addMove(2, 2);
+        game.undo();
+        assertEquals("01X;22O;22 ;", events.toString());
+        events.setLength(0);
+        game.resetGame();
+        assertEquals("01 ;", events.toString());
+    }
+
 }
@@ -0,0 +1,181 @@
+/*
+ * Class: ViewCache
+ * -> This class keeps the exercise views of App alive across navigation, so each view and its scene graph are
+ *    built once and a game in progress is still there when the user comes back to it.
+ *    Views are built lazily on first get(), or ahead of time by preload(). At most maxLive views are held strongly
+ *    (least recently used first out); the rest are held by SoftReference, so the GC can free them under memory
+ *    pressure. A view leaving the strong set saves a snapshot of its state first, and a view rebuilt after being
+ *    freed is restored from that snapshot, so freeing a view never loses its game.
+ *
+ * Exclusive Functions:
+ * ViewCache() - Creates a cache for one view per slot, holding at most maxLive views strongly.
+ * @param - int maxLive, int recordBytes, List<Supplier<? extends View<N>>> factories, @return - none
+ *
+ * get() - Returns the slot's content, building (and restoring) the view if it is not alive.
+ * @param - int slot, @return - N
+ *
+ * restore() - Sets the state a slot's view is restored from when it is first built (e.g. the saved session).
+ * @param - int slot, byte[] record, @return - void
+ *
+ * preload() - Builds the next slot that is not alive while fewer than maxLive views are held; returns whether it built one.
+ * @param - none, @return - boolean
+ *
+ * snapshots() - The current state of every slot: saved from the view if it is alive, else its last snapshot (or null).
+ * @param - none, @return - byte[][]
+ *
+ * isAlive() / getBuilds() - Whether the slot's view is built and not freed / how many views have been built.
+ * @param - int slot / none, @return - boolean / int
+ *
+ * Notes:
+ * - A View is anything with getContent(), saveState() and restoreState() (the LE5x views); N is the content
+ *   type (VBox in App). getContent() is called once per build and the same content is returned afterwards.
+ * - A snapshot that fails to restore (RuntimeException) is dropped and the slot starts with a fresh view.
+ * - Not thread-safe: call it from the JavaFX thread only.
+ */
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class ViewCache<N> {
+
+	/** A view whose content can be built once and whose state can be saved and restored. */
+	public interface View<N> {
+		N getContent();
+		void saveState(ByteBuffer out);
+		void restoreState(ByteBuffer in);
+	}
+
+	private final int maxLive;
+	private final List<Supplier<? extends View<N>>> factories;
+	private final ByteBuffer buf;
+	private final Built<N>[] strong;
+	private final List<SoftReference<Built<N>>> soft;
+	private final byte[][] snapshots;
+	private final LinkedHashMap<Integer, Built<N>> recent;
+	private int builds;
+
+	@SuppressWarnings("unchecked")
+	public ViewCache(int maxLive, int recordBytes, List<Supplier<? extends View<N>>> factories) {
+		if (maxLive < 1) throw new IllegalArgumentException("Need at least one live view");
+		this.maxLive = maxLive;
+		this.factories = new ArrayList<>(factories);
+		this.buf = ByteBuffer.allocate(recordBytes);
+		this.strong = (Built<N>[]) new Built<?>[factories.size()];
+		this.soft = new ArrayList<>(factories.size());
+		for (int i = 0; i < factories.size(); i++) soft.add(null);
+		this.snapshots = new byte[factories.size()][];
+		this.recent = new LinkedHashMap<>(16, 0.75f, true) { // access order: eldest is least recently used
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Built<N>> eldest) {
+				if (size() <= ViewCache.this.maxLive) return false;
+				demote(eldest.getKey(), eldest.getValue());
+				return true;
+			}
+		};
+	}
+
+	/** Returns the slot's content, building the view if needed. */
+	public N get(int slot) {
+		Built<N> built = alive(slot);
+		if (built == null) built = build(slot);
+		recent.put(slot, built);
+		strong[slot] = built;
+		return built.content;
+	}
+
+	/** Sets the state the slot's view starts from when it is next built. */
+	public void restore(int slot, byte[] record) {
+		snapshots[slot] = record;
+	}
+
+	/** Builds one missing view if there is room among the live views. */
+	public boolean preload() {
+		if (recent.size() >= maxLive) return false;
+		for (int slot = 0; slot < strong.length; slot++) {
+			if (alive(slot) == null) {
+				Built<N> built = build(slot);
+				recent.put(slot, built);
+				strong[slot] = built;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** The current state of every slot, for saving the session. */
+	public byte[][] snapshots() {
+		byte[][] records = Arrays.copyOf(snapshots, snapshots.length);
+		for (int slot = 0; slot < records.length; slot++) {
+			Built<N> built = alive(slot);
+			if (built != null) records[slot] = save(built.view);
+		}
+		return records;
+	}
+
+	public boolean isAlive(int slot) {
+		return alive(slot) != null;
+	}
+
+	public int getBuilds() {
+		return builds;
+	}
+
+	/** Clears every soft reference, as the GC would under memory pressure (for tests). */
+	void dropSoftReferences() {
+		for (SoftReference<Built<N>> ref : soft) {
+			if (ref != null) ref.clear();
+		}
+	}
+
+	private Built<N> alive(int slot) {
+		if (strong[slot] != null) return strong[slot];
+		SoftReference<Built<N>> ref = soft.get(slot);
+		return ref == null ? null : ref.get();
+	}
+
+	private Built<N> build(int slot) {
+		View<N> view = factories.get(slot).get();
+		byte[] record = snapshots[slot];
+		if (record != null) {
+			try {
+				view.restoreState(ByteBuffer.wrap(record));
+			} catch (RuntimeException e) {
+				view = factories.get(slot).get(); // unreadable state: start fresh
+			}
+			snapshots[slot] = null;
+		}
+		builds++;
+		Built<N> built = new Built<>(view, view.getContent());
+		soft.set(slot, new SoftReference<>(built));
+		return built;
+	}
+
+	/** Moves a view out of the strong set, keeping a snapshot in case the GC frees it. */
+	private void demote(int slot, Built<N> built) {
+		snapshots[slot] = save(built.view);
+		strong[slot] = null;
+	}
+
+	private byte[] save(View<N> view) {
+		buf.clear();
+		view.saveState(buf);
+		return Arrays.copyOf(buf.array(), buf.position());
+	}
+
+	/** A view and the content built from it, freed together. */
+	private static final class Built<N> {
+		final View<N> view;
+		final N content;
+
+		Built(View<N> view, N content) {
+			this.view = view;
+			this.content = content;
+		}
+	}
+
+}
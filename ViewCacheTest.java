@@ -0,0 +1,122 @@
+/*
+ * Class: ViewCacheTest
+ * -> This class contains JUnit 5 tests for ViewCache.
+ *    A small counter view stands in for the LE5x views, with a String as its content.
+ *
+ * Exclusive Functions:
+ * testBuildsOnce() - A slot's view is built once and its content reused on every get().
+ * @param - none, @return - void
+ *
+ * testLruKeepsState() - A view pushed out of the live set and freed by the GC comes back with its state.
+ * @param - none, @return - void
+ *
+ * testPreload() - preload() builds missing views only while there is room among the live views.
+ * @param - none, @return - void
+ *
+ * testSnapshotsAndBadState() - snapshots() reports live and saved state; an unreadable record gives a fresh view.
+ * @param - none, @return - void
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class ViewCacheTest {
+
+	/** A view whose state is one counter. */
+	private static final class Counter implements ViewCache.View<String> {
+		int count;
+
+		@Override
+		public String getContent() {
+			return "count " + count;
+		}
+
+		@Override
+		public void saveState(ByteBuffer out) {
+			out.putInt(count);
+		}
+
+		@Override
+		public void restoreState(ByteBuffer in) {
+			count = in.getInt();
+			if (count < 0) throw new IllegalArgumentException("Bad count");
+		}
+	}
+
+	private final List<Counter> created = new ArrayList<>();
+
+	private ViewCache<String> cache(int maxLive) {
+		List<Supplier<? extends ViewCache.View<String>>> factories = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			factories.add(() -> {
+				Counter view = new Counter();
+				created.add(view);
+				return view;
+			});
+		}
+		return new ViewCache<>(maxLive, 4, factories);
+	}
+
+	@Test
+	void testBuildsOnce() {
+		ViewCache<String> cache = cache(3);
+		String first = cache.get(0);
+		cache.get(1);
+		assertSame(first, cache.get(0));
+		assertSame(first, cache.get(0));
+		assertEquals(2, cache.getBuilds());
+		assertTrue(cache.isAlive(0));
+		assertFalse(cache.isAlive(2));
+	}
+
+	@Test
+	void testLruKeepsState() {
+		ViewCache<String> cache = cache(2);
+		cache.get(0);
+		created.get(0).count = 7;
+		cache.get(1);
+		cache.get(2); // slot 0 is least recently used: demoted to a soft reference
+		assertEquals(3, cache.getBuilds());
+		assertTrue(cache.isAlive(0));
+
+		cache.dropSoftReferences(); // memory pressure frees slot 0 only
+		assertFalse(cache.isAlive(0));
+		assertTrue(cache.isAlive(1));
+		assertTrue(cache.isAlive(2));
+
+		assertEquals("count 7", cache.get(0));
+		assertEquals(4, cache.getBuilds());
+	}
+
+	@Test
+	void testPreload() {
+		ViewCache<String> cache = cache(2);
+		cache.get(1);
+		assertTrue(cache.preload());
+		assertTrue(cache.isAlive(0));
+		assertFalse(cache.preload()); // two live views: no room
+		assertFalse(cache.isAlive(2));
+		assertEquals(2, cache.getBuilds());
+		cache.get(0);
+		assertEquals(2, cache.getBuilds());
+	}
+
+	@Test
+	void testSnapshotsAndBadState() {
+		ViewCache<String> cache = cache(3);
+		cache.restore(0, ByteBuffer.allocate(4).putInt(5).array());
+		cache.restore(1, ByteBuffer.allocate(4).putInt(-1).array());
+		assertEquals("count 5", cache.get(0));
+		assertEquals("count 0", cache.get(1)); // unreadable: fresh view
+		created.get(0).count = 9;
+
+		byte[][] records = cache.snapshots();
+		assertEquals(9, ByteBuffer.wrap(records[0]).getInt());
+		assertEquals(0, ByteBuffer.wrap(records[1]).getInt());
+		assertNull(records[2]);
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Class: WordDictionary
+ * -> This class is a read-only word list for Hangman that can hold hundreds of thousands of words
+ *    without keeping them as Strings. A word file (one word per line) is memory-mapped, and loading only
+ *    builds primitive indexes over the mapped bytes: each word's offset, its length, and a 26-bit mask of
+ *    the letters it contains. Words are grouped by length, so picking a random word of a given length
+ *    (or length range) is O(1). A word becomes a String only when wordAt() is called.
+ *
+ * Exclusive Functions:
+ * load() - Memory-maps a word file and indexes it.
+ * @param - Path file, @return - WordDictionary
+ *
+ * of() - Builds a dictionary from words already in memory (used for the built-in list and tests).
+ * @param - String... words, @return - WordDictionary
+ *
+ * size() - Returns the number of indexed words.
+ * @param - none, @return - int
+ *
+ * wordAt() - Decodes word i into a String.
+ * @param - int i, @return - String
+ *
+ * length() - Returns the length of word i.
+ * @param - int i, @return - int
+ *
+ * charAt() - Returns the lowercase letter at a position of word i without decoding the word.
+ * @param - int i, int pos, @return - char
+ *
+ * letterMask() - Returns the 26-bit mask of letters in word i (bit 0 = 'a').
+ * @param - int i, @return - int
+ *
+ * firstOfLength() / endOfLength() - Return the index range [first, end) of words with the given length.
+ * @param - int length, @return - int
+ *
+ * randomIndex() - Returns a uniformly random word index with length in [minLength, maxLength], or -1 if there is none.
+ * @param - int minLength, int maxLength, RandomSource random, @return - int
+ *
+ * getMaxLength() - Returns the longest indexed word length.
+ * @param - none, @return - int
+ *
+ * Notes:
+ * - Lines may end in \n or \r\n; letters are lowercased; blank lines, lines with non-letters and
+ *   words longer than MAX_WORD_LENGTH are skipped.
+ * - Word indexes are positions in the length-grouped order, not line numbers.
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class WordDictionary {
+
+	/** Longest word indexed; letter positions must fit in a long mask. */
+	public static final int MAX_WORD_LENGTH = 63;
+
+	private final ByteBuffer data;
+	private final int[] offsets;
+	private final byte[] lengths;
+	private final int[] letterMasks;
+	private final int[] lengthStart; // words of length L are [lengthStart[L], lengthStart[L + 1])
+	private final int maxLength;
+
+	private WordDictionary(ByteBuffer data) {
+		this.data = data;
+		int limit = data.limit();
+
+		// Pass 1: count valid words per length
+		int[] counts = new int[MAX_WORD_LENGTH + 2];
+		for (int pos = 0; pos < limit; ) {
+			int end = lineEnd(pos, limit);
+			int length = wordLength(pos, end);
+			if (length > 0) counts[length]++;
+			pos = end + 1;
+		}
+
+		lengthStart = new int[MAX_WORD_LENGTH + 2];
+		int total = 0;
+		int longest = 0;
+		for (int length = 0; length <= MAX_WORD_LENGTH; length++) {
+			lengthStart[length] = total;
+			total += counts[length];
+			if (counts[length] > 0) longest = length;
+		}
+		lengthStart[MAX_WORD_LENGTH + 1] = total;
+		maxLength = longest;
+
+		// Pass 2: place each word in its length group
+		offsets = new int[total];
+		lengths = new byte[total];
+		letterMasks = new int[total];
+		int[] next = lengthStart.clone();
+		for (int pos = 0; pos < limit; ) {
+			int end = lineEnd(pos, limit);
+			int length = wordLength(pos, end);
+			if (length > 0) {
+				int i = next[length]++;
+				offsets[i] = pos;
+				lengths[i] = (byte) length;
+				int mask = 0;
+				for (int p = pos; p < pos + length; p++) mask |= 1 << (lower(data.get(p)) - 'a');
+				letterMasks[i] = mask;
+			}
+			pos = end + 1;
+		}
+	}
+
+	/** Memory-maps and indexes a word file. */
+	public static WordDictionary load(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) throw new IOException("Word file too large: " + file);
+			return new WordDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/** Builds a dictionary from in-memory words. */
+	public static WordDictionary of(String... words) {
+		return new WordDictionary(ByteBuffer.wrap(String.join("\n", words).getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	public int size() {
+		return offsets.length;
+	}
+
+	public String wordAt(int i) {
+		char[] chars = new char[lengths[i]];
+		for (int p = 0; p < chars.length; p++) chars[p] = charAt(i, p);
+		return new String(chars);
+	}
+
+	public int length(int i) {
+		return lengths[i];
+	}
+
+	public char charAt(int i, int pos) {
+		return lower(data.get(offsets[i] + pos));
+	}
+
+	public int letterMask(int i) {
+		return letterMasks[i];
+	}
+
+	public int firstOfLength(int length) {
+		return lengthStart[Math.max(0, Math.min(length, MAX_WORD_LENGTH + 1))];
+	}
+
+	public int endOfLength(int length) {
+		return lengthStart[Math.max(0, Math.min(length + 1, MAX_WORD_LENGTH + 1))];
+	}
+
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	/** Picks a random word index with a length in [minLength, maxLength]; -1 if the range is empty. */
+	public int randomIndex(int minLength, int maxLength, RandomSource random) {
+		int first = firstOfLength(minLength);
+		int end = endOfLength(maxLength);
+		if (end <= first) return -1;
+		return first + random.nextInt(end - first);
+	}
+
+	/** Returns the index of the '\n' ending the line at pos, or limit. */
+	private int lineEnd(int pos, int limit) {
+		while (pos < limit && data.get(pos) != '\n') pos++;
+		return pos;
+	}
+
+	/** Returns the word length of [pos, end) ignoring a trailing '\r', or 0 if it is not a valid word. */
+	private int wordLength(int pos, int end) {
+		if (end > pos && data.get(end - 1) == '\r') end--;
+		int length = end - pos;
+		if (length == 0 || length > MAX_WORD_LENGTH) return 0;
+		for (int p = pos; p < end; p++) {
+			char c = lower(data.get(p));
+			if (c < 'a' || c > 'z') return 0;
+		}
+		return length;
+	}
+
+	private static char lower(byte b) {
+		return (b >= 'A' && b <= 'Z') ? (char) (b + ('a' - 'A')) : (char) b;
+	}
+
+}
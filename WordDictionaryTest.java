@@ -0,0 +1,112 @@
+/*
+ * Class: WordDictionaryTest
+ * -> This class contains JUnit 5 tests for WordDictionary and the Hangman word selection built on it.
+ *    It writes a small word file with mixed case, CRLF endings and invalid lines, maps it, and checks
+ *    the length index, letter masks and random selection.
+ *
+ * Exclusive Functions:
+ * setUp() - JUnit @BeforeEach method that writes and loads a temporary word file.
+ * @param - none, @return - void
+ *
+ * testInvalidLinesSkipped() - Blank lines, words with non-letters and CR endings are handled; words are lowercased.
+ * @param - none, @return - void
+ *
+ * testLengthIndex() - Every word in a length range has that length and every word is in exactly one range.
+ * @param - none, @return - void
+ *
+ * testLetterMask() - The mask of each word has exactly the bits of its letters.
+ * @param - none, @return - void
+ *
+ * testRandomIndexRespectsLength() - Random picks stay inside the requested length range; empty ranges return -1.
+ * @param - none, @return - void
+ *
+ * testHangmanLengthAndDifficulty() - Hangman picks words of the requested length or difficulty from the dictionary.
+ * @param - none, @return - void
+ *
+ * Notes:
+ * - Dictionary indexes follow length order, so tests compare word sets rather than line order.
+ */
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WordDictionaryTest {
+
+	private WordDictionary dictionary;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		Path file = Files.createTempFile("words", ".txt");
+		file.toFile().deleteOnExit();
+		String text = "Java\r\nprogram\n\nhello world\ncat\nDOG\nit's\nuniversity\nbanana\nengineering\n";
+		Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+		dictionary = WordDictionary.load(file);
+	}
+
+	@Test
+	void testInvalidLinesSkipped() {
+		Set<String> words = new HashSet<>();
+		for (int i = 0; i < dictionary.size(); i++) words.add(dictionary.wordAt(i));
+		assertEquals(Set.of("java", "program", "cat", "dog", "university", "banana", "engineering"), words);
+		assertEquals(11, dictionary.getMaxLength());
+	}
+
+	@Test
+	void testLengthIndex() {
+		int covered = 0;
+		for (int length = 0; length <= WordDictionary.MAX_WORD_LENGTH; length++) {
+			for (int i = dictionary.firstOfLength(length); i < dictionary.endOfLength(length); i++) {
+				assertEquals(length, dictionary.length(i));
+				assertEquals(length, dictionary.wordAt(i).length());
+				covered++;
+			}
+		}
+		assertEquals(dictionary.size(), covered);
+		assertEquals(2, dictionary.endOfLength(3) - dictionary.firstOfLength(3));
+	}
+
+	@Test
+	void testLetterMask() {
+		for (int i = 0; i < dictionary.size(); i++) {
+			int expected = 0;
+			for (char c : dictionary.wordAt(i).toCharArray()) expected |= 1 << (c - 'a');
+			assertEquals(expected, dictionary.letterMask(i));
+		}
+	}
+
+	@Test
+	void testRandomIndexRespectsLength() {
+		RandomSource random = RandomSource.seeded(1);
+		for (int n = 0; n < 200; n++) {
+			int i = dictionary.randomIndex(6, 7, random);
+			assertTrue(dictionary.length(i) >= 6 && dictionary.length(i) <= 7);
+		}
+		assertEquals(-1, dictionary.randomIndex(5, 5, random));
+	}
+
+	@Test
+	void testHangmanLengthAndDifficulty() {
+		Hangman game = new Hangman(dictionary);
+		game.startNewGame(10);
+		assertEquals("university", game.getWord());
+		assertEquals("university", dictionary.wordAt(game.getWordIndex()));
+		assertEquals("**********", game.getDisplayWord());
+
+		for (int n = 0; n < 50; n++) {
+			game.startNewGame(Hangman.Difficulty.EASY);
+			assertTrue(game.getWord().length() <= 5);
+			game.startNewGame(Hangman.Difficulty.HARD);
+			assertTrue(game.getWord().length() >= 9);
+		}
+
+		game.startNewGame("custom");
+		assertEquals(-1, game.getWordIndex());
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Class: HangmanBenchmark
+ * -> This class is a JMH benchmark for the Hangman guess path.
+ *    It plays a full round (new game, all 26 letters, a completion check after each guess) on the
+ *    bitmask-based Hangman and on a copy of the original list-based implementation, so the two can be
+ *    compared side by side.
+ *
+ * Exclusive Functions:
+ * bitmaskRound() - Plays one round on Hangman.
+ * @param - Blackhole bh, @return - int
+ *
+ * baselineRound() - Plays the same round on ListHangman, the original ArrayList<Character> implementation.
+ * @param - Blackhole bh, @return - int
+ *
+ * Notes:
+ * - This file lives in jmh/, outside the main sources, so a plain "javac *.java" build does not need JMH.
+ *   To run it, compile the main classes, then compile this directory against them and the JMH jars with
+ *   annotation processing, e.g. "javac -cp out:jmh-core.jar:jmh-generator-annprocess.jar -d out-jmh jmh/*.java",
+ *   and start "java -cp out:out-jmh:jmh-core.jar:<jmh deps> org.openjdk.jmh.Main HangmanBenchmark -prof gc".
+ * - The gc profiler reports the allocation per operation of each version (gc.alloc.rate.norm).
+ * - Letters are guessed in a shuffled order fixed by the seed so both versions do the same work.
+ */
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HangmanBenchmark {
+
+	@Param({"java", "engineering"})
+	public String word;
+
+	private final char[] letters = new char[26];
+	private Hangman hangman;
+	private ListHangman baseline;
+
+	@Setup
+	public void setUp() {
+		for (int l = 0; l < 26; l++) letters[l] = (char) ('a' + l);
+		Random rand = new Random(42);
+		for (int i = letters.length - 1; i > 0; i--) {
+			int j = rand.nextInt(i + 1);
+			char t = letters[i];
+			letters[i] = letters[j];
+			letters[j] = t;
+		}
+		hangman = new Hangman();
+		baseline = new ListHangman();
+	}
+
+	@Benchmark
+	public int bitmaskRound(Blackhole bh) {
+		hangman.startNewGame(word);
+		for (char c : letters) {
+			bh.consume(hangman.guessLetter(c));
+			if (hangman.isWordComplete()) break;
+		}
+		return hangman.getMisses();
+	}
+
+	@Benchmark
+	public int baselineRound(Blackhole bh) {
+		baseline.startNewGame(word);
+		for (char c : letters) {
+			bh.consume(baseline.guessLetter(c));
+			if (baseline.isWordComplete()) break;
+		}
+		return baseline.getMisses();
+	}
+
+	/** The original Hangman guess path, kept here as the baseline. */
+	static class ListHangman {
+		private String currentWord;
+		private char[] displayWord;
+		private int misses;
+		private ArrayList<Character> guessedLetters;
+
+		void startNewGame(String word) {
+			currentWord = word.toLowerCase();
+			displayWord = new char[currentWord.length()];
+			for (int i = 0; i < displayWord.length; i++) displayWord[i] = '*';
+			misses = 0;
+			guessedLetters = new ArrayList<>();
+		}
+
+		int getMisses() {
+			return misses;
+		}
+
+		boolean isWordComplete() {
+			return currentWord.equals(new String(displayWord));
+		}
+
+		String guessLetter(char c) {
+			c = Character.toLowerCase(c);
+			if (guessedLetters.contains(c)) {
+				return c + " is already guessed.";
+			}
+			guessedLetters.add(c);
+
+			boolean found = false;
+			for (int i = 0; i < currentWord.length(); i++) {
+				if (currentWord.charAt(i) == c) {
+					displayWord[i] = c;
+					found = true;
+				}
+			}
+
+			if (!found) {
+				misses++;
+				return c + " is not in the word.";
+			}
+			return "Good guess!";
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Class: PinVerifierBenchmark
+ * -> This class is a JMH benchmark for PinVerifier.
+ *    It reports verifications per second at several iteration counts, once on the calling thread and once
+ *    through the worker pool, so the cost of each level and the overhead of the pool can be read side by side.
+ *
+ * Exclusive Functions:
+ * verifyDirect() - Verifies the PIN on the benchmark thread.
+ * @param - none, @return - boolean
+ *
+ * verifyPooled() - Submits the verification to the pool and waits for the result.
+ * @param - none, @return - boolean
+ *
+ * Notes:
+ * - This file lives in jmh/, outside the main sources, and is built and run like jmh/HangmanBenchmark.java
+ *   (main classes, then jmh/ with the JMH jars and annotation processing, then org.openjdk.jmh.Main).
+ * - Run with "-t 4" to see how the pooled throughput scales with callers; with more callers than workers the
+ *   queue fills and calls are rejected.
+ * - Iteration counts: 10,000 is fast and weak, 100,000 is PinVerifier.DEFAULT_ITERATIONS, 600,000 is
+ *   OWASP's recommendation for PBKDF2-HMAC-SHA256.
+ */
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PinVerifierBenchmark {
+
+	@Param({"10000", "100000", "600000"})
+	public int iterations;
+
+	private PinVerifier verifier;
+	private byte[] record;
+
+	@Setup
+	public void setUp() {
+		int cores = Runtime.getRuntime().availableProcessors();
+		verifier = new PinVerifier(iterations, cores, 4 * cores);
+		record = verifier.hash(123456789);
+	}
+
+	@TearDown
+	public void tearDown() {
+		verifier.close();
+	}
+
+	@Benchmark
+	public boolean verifyDirect() {
+		return verifier.verify(123456789, record);
+	}
+
+	@Benchmark
+	public boolean verifyPooled() throws InterruptedException, ExecutionException {
+		return verifier.verifyAsync(123456789, record).get();
+	}
+
+}